@@ -0,0 +1,122 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Views a region of bytes as a {@link CharSequence} of ISO-8859-1, so that specifications parse bytes directly.
+ *
+ * <p>Each byte is viewed as a {@code char} from {@code 0} to {@code 255}. ASCII bytes are viewed as-is. Non-ASCII texts in
+ * UTF-8 are viewed as their encoded bytes, and then they are matched with {@link #encode(String)}.
+ *
+ * <p>A view is mutable to be reused for each thread. It does not keep bytes after {@link #clear()}.
+ */
+abstract class ByteSequence implements CharSequence {
+    /**
+     * Encodes a string into UTF-8, and returns the encoded bytes as a string viewed in the same way.
+     */
+    static String encode(final String string) {
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) >= 0x80) {
+                return new String(string.getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+            }
+        }
+        // ASCII is the same in UTF-8.
+        return string;
+    }
+
+    abstract void clear();
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return this.toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        final char[] chars = new char[this.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = this.charAt(i);
+        }
+        return new String(chars);
+    }
+
+    static final class OfArray extends ByteSequence {
+        OfArray reset(final byte[] bytes, final int start, final int end) {
+            this.bytes = bytes;
+            this.start = start;
+            this.length = end - start;
+            return this;
+        }
+
+        @Override
+        void clear() {
+            this.bytes = null;
+        }
+
+        @Override
+        public int length() {
+            return this.length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= this.length) {
+                throw new IndexOutOfBoundsException("index " + index + " is out of length " + this.length);
+            }
+            return (char) (this.bytes[this.start + index] & 0xff);
+        }
+
+        private byte[] bytes;
+        private int start;
+        private int length;
+    }
+
+    static final class OfBuffer extends ByteSequence {
+        OfBuffer reset(final ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.start = buffer.position();
+            this.length = buffer.remaining();
+            return this;
+        }
+
+        @Override
+        void clear() {
+            this.buffer = null;
+        }
+
+        @Override
+        public int length() {
+            return this.length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= this.length) {
+                throw new IndexOutOfBoundsException("index " + index + " is out of length " + this.length);
+            }
+            // The absolute get works both for heap and direct buffers without changing the position.
+            return (char) (this.buffer.get(this.start + index) & 0xff);
+        }
+
+        private ByteBuffer buffer;
+        private int start;
+        private int length;
+    }
+}
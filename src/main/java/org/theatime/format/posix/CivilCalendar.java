@@ -0,0 +1,285 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+/**
+ * Converts between epoch days and dates in the proleptic Gregorian calendar only with integer arithmetic.
+ *
+ * <p>It is the calendar kernel shared by direct formatting and parsing instead of {@link java.time.LocalDate}.
+ * A date decomposed from an epoch day is returned as a "packed" {@code long} so that it does not allocate.
+ * Use {@link #year(long)}, {@link #month(long)}, {@link #dayOfMonth(long)}, and {@link #dayOfYear(long)} to
+ * unpack it.
+ *
+ * <p>The arithmetic shifts years to start from March 1st so that the leap day comes at the end of a year.
+ * Then, it needs almost no branch.
+ *
+ * @see <a href="https://howardhinnant.github.io/date_algorithms.html">chrono-Compatible Low-Level Date Algorithms</a>
+ */
+final class CivilCalendar {
+    private CivilCalendar() {
+        // No instantiation.
+    }
+
+    /**
+     * Converts a date into an epoch day, the number of days from 1970-01-01.
+     *
+     * <p>It does not validate the date. The month must be in [1,12]. The day of the month can overflow into
+     * the next months, or underflow into the previous months.
+     */
+    static long toEpochDay(final long year, final int month, final int dayOfMonth) {
+        final long y = (month <= 2) ? year - 1 : year;
+        final long era = (y >= 0 ? y : y - 399) / 400;
+        final long yearOfEra = y - era * 400;  // [0, 399]
+        final int dayOfMarchYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;  // [0, 365]
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfMarchYear;  // [0, 146096]
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Converts an ordinal date (a year and a day of the year) into an epoch day.
+     *
+     * <p>It does not validate the date. The day of the year can overflow into the next years.
+     */
+    static long toEpochDayFromOrdinal(final long year, final int dayOfYear) {
+        return toEpochDayOfYearStart(year) + dayOfYear - 1;
+    }
+
+    /**
+     * Converts the first day of the year (January 1st) into an epoch day.
+     */
+    static long toEpochDayOfYearStart(final long year) {
+        final long y = year - 1;
+        final long era = (y >= 0 ? y : y - 399) / 400;
+        final long yearOfEra = y - era * 400;
+        return era * DAYS_PER_ERA + yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + 306 - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Decomposes an epoch day into a packed date.
+     */
+    static long toPackedDate(final long epochDay) {
+        final long z = epochDay + DAYS_0000_TO_1970;
+        final long era = (z >= 0 ? z : z - (DAYS_PER_ERA - 1)) / DAYS_PER_ERA;
+        final int dayOfEra = (int) (z - era * DAYS_PER_ERA);  // [0, 146096]
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;  // [0, 399]
+        final int dayOfMarchYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);  // [0, 365]
+        final int monthOfMarchYear = (5 * dayOfMarchYear + 2) / 153;  // [0, 11]
+        final int dayOfMonth = dayOfMarchYear - (153 * monthOfMarchYear + 2) / 5 + 1;  // [1, 31]
+
+        final boolean isJanuaryOrFebruary = monthOfMarchYear >= 10;
+        final int month = isJanuaryOrFebruary ? monthOfMarchYear - 9 : monthOfMarchYear + 3;
+        final long year = yearOfEra + era * 400 + (isJanuaryOrFebruary ? 1 : 0);
+
+        // Days from January 1st to February 28th are 59. The leap day is at the end of the March-based year.
+        final int dayOfYear = isJanuaryOrFebruary
+                ? dayOfMarchYear - 305
+                : dayOfMarchYear + 60 + (isLeapYear(year) ? 1 : 0);
+
+        return pack(year, month, dayOfMonth, dayOfYear);
+    }
+
+    /**
+     * Returns the ISO day of the week of an epoch day, from 1 (Monday) to 7 (Sunday).
+     */
+    static int dayOfWeek(final long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7L) + 1;  // 1970-01-01 is Thursday.
+    }
+
+    static boolean isLeapYear(final long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int lengthOfYear(final long year) {
+        return isLeapYear(year) ? 366 : 365;
+    }
+
+    static int lengthOfMonth(final long year, final int month) {
+        if (month == 2) {
+            return isLeapYear(year) ? 29 : 28;
+        }
+        return 30 + ((month + (month >> 3)) & 1);
+    }
+
+    /**
+     * Returns the number of ISO 8601 weeks in a week-based year, 52 or 53.
+     *
+     * <p>A week-based year has 53 weeks if January 1st is Thursday, or if January 1st is Wednesday in a leap year.
+     */
+    static int weeksInWeekBasedYear(final long year) {
+        final int dayOfWeekOfJanuary1st = dayOfWeek(toEpochDayOfYearStart(year));
+        return (dayOfWeekOfJanuary1st == 4 || (dayOfWeekOfJanuary1st == 3 && isLeapYear(year))) ? 53 : 52;
+    }
+
+    /**
+     * Returns the epoch day of Monday in ISO 8601 week 1 of a week-based year, which is the week with January 4th.
+     *
+     * @param yearStart  the epoch day of January 1st of the year
+     */
+    static long toEpochDayOfWeekBasedYearStart(final long yearStart) {
+        final int dayOfWeekOfJanuary1st = dayOfWeek(yearStart);
+        return yearStart - (dayOfWeekOfJanuary1st - 1) + (dayOfWeekOfJanuary1st > 4 ? 7 : 0);
+    }
+
+    /**
+     * Returns the day of the year of a date, from 1 to 366.
+     */
+    static int dayOfYear(final long year, final int month, final int dayOfMonth) {
+        return DAYS_BEFORE_MONTH[isLeapYear(year) ? 1 : 0][month] + dayOfMonth;
+    }
+
+    static long pack(final long year, final int month, final int dayOfMonth, final int dayOfYear) {
+        return (year << 18) | (dayOfYear << 9) | (month << 5) | dayOfMonth;
+    }
+
+    static int year(final long packedDate) {
+        return (int) (packedDate >> 18);
+    }
+
+    static int month(final long packedDate) {
+        return (int) (packedDate >> 5) & 0xf;
+    }
+
+    static int dayOfMonth(final long packedDate) {
+        return (int) packedDate & 0x1f;
+    }
+
+    static int dayOfYear(final long packedDate) {
+        return (int) (packedDate >> 9) & 0x1ff;
+    }
+
+    /**
+     * Returns the precomputed window from 1970 to 2100.
+     */
+    static Window defaultWindow() {
+        return DefaultWindow.WINDOW;
+    }
+
+    /**
+     * Precomputed packed dates for a window of years.
+     *
+     * <p>Epoch days in the window are decomposed just by an array lookup. Epoch days out of the window fall back to
+     * the arithmetic in {@link CivilCalendar}. A window of 131 years (1970-2100) consumes about 190 KB.
+     */
+    static final class Window {
+        private Window(final int firstYear, final int lastYear) {
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+            this.firstEpochDay = CivilCalendar.toEpochDayOfYearStart(firstYear);
+            this.lastEpochDay = CivilCalendar.toEpochDayOfYearStart(lastYear + 1L) - 1;
+
+            this.yearStarts = new long[lastYear - firstYear + 2];
+            for (int i = 0; i < this.yearStarts.length; i++) {
+                this.yearStarts[i] = CivilCalendar.toEpochDayOfYearStart((long) firstYear + i);
+            }
+
+            this.week53Years = new long[(lastYear - firstYear + 1 + 63) / 64];
+            for (int i = 0; i <= lastYear - firstYear; i++) {
+                if (CivilCalendar.weeksInWeekBasedYear((long) firstYear + i) == 53) {
+                    this.week53Years[i >>> 6] |= 1L << i;
+                }
+            }
+
+            // Each entry has the year relative to the first year in the upper bits, instead of the absolute year.
+            this.packedDates = new int[(int) (this.lastEpochDay - this.firstEpochDay + 1)];
+            for (int i = 0; i < this.packedDates.length; i++) {
+                final long packed = CivilCalendar.toPackedDate(this.firstEpochDay + i);
+                this.packedDates[i] = (int) (((year(packed) - firstYear) << 18) | (packed & LOWER_MASK));
+            }
+        }
+
+        static Window of(final int firstYear, final int lastYear) {
+            if (firstYear > lastYear) {
+                throw new IllegalArgumentException("The first year " + firstYear + " is after the last year " + lastYear + ".");
+            }
+            if (lastYear - firstYear >= MAX_YEARS) {
+                throw new IllegalArgumentException("A window cannot contain more than " + MAX_YEARS + " years.");
+            }
+            return new Window(firstYear, lastYear);
+        }
+
+        long toPackedDate(final long epochDay) {
+            final long index = epochDay - this.firstEpochDay;
+            if (index < 0 || index >= this.packedDates.length) {
+                return CivilCalendar.toPackedDate(epochDay);
+            }
+            final int entry = this.packedDates[(int) index];
+            return ((long) (this.firstYear + (entry >>> 18)) << 18) | (entry & LOWER_MASK);
+        }
+
+        long toEpochDay(final long year, final int month, final int dayOfMonth) {
+            if (year < this.firstYear || year > this.lastYear) {
+                return CivilCalendar.toEpochDay(year, month, dayOfMonth);
+            }
+            final long yearStart = this.yearStarts[(int) (year - this.firstYear)];
+            return yearStart + DAYS_BEFORE_MONTH[isLeapYear(year) ? 1 : 0][month] + dayOfMonth - 1;
+        }
+
+        long toEpochDayOfYearStart(final long year) {
+            if (year < this.firstYear || year > this.lastYear + 1L) {
+                return CivilCalendar.toEpochDayOfYearStart(year);
+            }
+            return this.yearStarts[(int) (year - this.firstYear)];
+        }
+
+        /**
+         * Returns the number of ISO 8601 weeks in a week-based year, 52 or 53, by a bit for each year in the window.
+         */
+        int weeksInWeekBasedYear(final long year) {
+            if (year < this.firstYear || year > this.lastYear) {
+                return CivilCalendar.weeksInWeekBasedYear(year);
+            }
+            final int index = (int) (year - this.firstYear);
+            return ((this.week53Years[index >>> 6] >>> index) & 1L) != 0L ? 53 : 52;
+        }
+
+        int firstYear() {
+            return this.firstYear;
+        }
+
+        int lastYear() {
+            return this.lastYear;
+        }
+
+        private static final int MAX_YEARS = 1 << 13;
+
+        private final int firstYear;
+        private final int lastYear;
+        private final long firstEpochDay;
+        private final long lastEpochDay;
+        private final long[] yearStarts;
+
+        // A bit for each year in the window, which is set if the week-based year has 53 weeks.
+        private final long[] week53Years;
+        private final int[] packedDates;
+    }
+
+    private static class DefaultWindow {  // Initialization-on-demand holder idiom.
+        static final Window WINDOW = Window.of(1970, 2100);
+    }
+
+    private static final long DAYS_PER_ERA = 146097L;  // Days in 400 years.
+
+    private static final long DAYS_0000_TO_1970 = 719468L;  // Days from 0000-03-01 to 1970-01-01.
+
+    private static final int LOWER_MASK = (1 << 18) - 1;
+
+    // Indexed by [0 for a common year or 1 for a leap year][month]. The element at 0 is unused.
+    private static final int[][] DAYS_BEFORE_MONTH = {
+        { 0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334 },
+        { 0, 0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335 },
+    };
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Caches compiled formats keyed by a format string, and options.
+ *
+ * <p>A format is compiled from its canonical form, and cached with the canonical form. Another spelling of the format is
+ * cached as an alias, which shares the parts compiled from the canonical form, and depends on the canonical entry. An
+ * alias is evicted together with its canonical entry, so that an alias does not keep the parts of an evicted entry
+ * alive while the canonical form is compiled again. An alias is not cached if its canonical entry is not cached.
+ *
+ * <p>A hit is a plain read of {@link ConcurrentHashMap} without a lock. A miss puts a pending entry first, and then
+ * compiles the format out of the map, so that a slow compilation does not block other keys. Other threads which miss
+ * the same key at the same time wait for the pending entry, then a format is compiled only once. A format which fails
+ * to be compiled is not cached. The oldest entries are evicted first when the number of entries exceeds the bound, so
+ * that formats given by users, which may be unlimited, do not grow the cache unlimitedly. The entry just added is never
+ * evicted by itself.
+ *
+ * <p>It is thread-safe.
+ */
+final class CompileCache {
+    CompileCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.cache = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+    }
+
+    PosixTimeFormat get(final String format, final Options options, final Function<Key, PosixTimeFormat> compiler) {
+        final Key key = new Key(format, options);
+        final Entry cached = this.cache.get(key);
+        if (cached != null) {
+            return cached.await();
+        }
+
+        final Entry entry = new Entry(key);
+        final Entry existing = this.cache.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing.await();
+        }
+        this.insertionOrder.add(entry);
+
+        final PosixTimeFormat compiled;
+        try {
+            compiled = compiler.apply(key);
+        } catch (final RuntimeException | Error ex) {
+            this.cache.remove(key, entry);
+            this.insertionOrder.remove(entry);
+            entry.future.completeExceptionally(ex);
+            throw ex;
+        }
+        entry.future.complete(compiled);
+        final String sharedForm = compiled.sharedForm();
+        if (!sharedForm.equals(format)) {
+            this.dependOn(new Key(sharedForm, options), entry);
+        }
+        this.evict();
+        return compiled;
+    }
+
+    /**
+     * Returns the format cached with the format string and the options, or {@code null}.
+     */
+    PosixTimeFormat getIfPresent(final String format, final Options options) {
+        final Entry cached = this.cache.get(new Key(format, options));
+        return (cached == null) ? null : cached.await();
+    }
+
+    /**
+     * Makes an alias entry depend on the canonical entry to be evicted together, or removes the alias if not cached.
+     */
+    private void dependOn(final Key canonicalKey, final Entry alias) {
+        final Entry canonical = this.cache.get(canonicalKey);
+        if (canonical != null) {
+            canonical.dependents.add(alias);
+            if (this.cache.get(canonicalKey) == canonical) {
+                return;
+            }
+            // The canonical entry has been evicted meanwhile, and may not have seen the alias.
+        }
+        this.cache.remove(alias.key, alias);
+        this.insertionOrder.remove(alias);
+    }
+
+    int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Evicts the oldest entries while the number of entries exceeds the bound.
+     */
+    private void evict() {
+        while (this.cache.size() > this.maximumSize) {
+            final Entry oldest = this.insertionOrder.poll();
+            if (oldest == null) {
+                return;
+            }
+            if (this.cache.remove(oldest.key, oldest)) {
+                for (Entry dependent = oldest.dependents.poll(); dependent != null; dependent = oldest.dependents.poll()) {
+                    this.cache.remove(dependent.key, dependent);
+                }
+            }
+        }
+    }
+
+    static final class Key {
+        private Key(final String format, final Options options) {
+            this.format = format;
+            this.options = options;
+        }
+
+        String format() {
+            return this.format;
+        }
+
+        Options options() {
+            return this.options;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject) {
+                return true;
+            }
+            if (!(otherObject instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) otherObject;
+            return this.format.equals(other.format) && this.options.equals(other.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.format, this.options);
+        }
+
+        private final String format;
+        private final Options options;
+    }
+
+    /**
+     * An entry which is pending until the format is compiled.
+     */
+    private static final class Entry {
+        private Entry(final Key key) {
+            this.key = key;
+            this.future = new CompletableFuture<>();
+            this.dependents = new ConcurrentLinkedQueue<>();
+        }
+
+        /**
+         * Waits for the format to be compiled, and throws the exception thrown in compiling as-is if failed.
+         */
+        private PosixTimeFormat await() {
+            try {
+                return this.future.join();
+            } catch (final CompletionException ex) {
+                final Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw ex;
+            }
+        }
+
+        private final Key key;
+        private final CompletableFuture<PosixTimeFormat> future;
+
+        // The aliases in other spellings, which are evicted together with this entry.
+        private final ConcurrentLinkedQueue<Entry> dependents;
+    }
+
+    private final int maximumSize;
+
+    private final ConcurrentHashMap<Key, Entry> cache;
+
+    // The entries in the order of insertion, which are evicted from the oldest.
+    private final ConcurrentLinkedQueue<Entry> insertionOrder;
+}
@@ -16,7 +16,12 @@
 
 package org.theatime.format.posix;
 
-enum ConversionType {
+/**
+ * Types of conversion specifications, which are identified by their terminating conversion specifier characters.
+ *
+ * @see FormatTraits#conversionTypes()
+ */
+public enum ConversionType {
     POSIX_LOWER_A('a'),
 
     POSIX_UPPER_A('A'),
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Caches {@link DateTimeFormatter}s converted from formats in the process, keyed by a format string, options, a
+ * {@link ResolverStyle}, a {@link PaddingStyle}, and a locale.
+ *
+ * <p>The key is the format string as given, not its canonical form, because equivalent spellings, such as {@code %T}
+ * and {@code %H:%M:%S}, are converted into formatters which parse differently. Formats compiled separately from the
+ * same format string share the formatters, then {@code compile(...).toDateTimeFormatter()} for each request converts
+ * the format only once. A hit is a plain read of {@link ConcurrentHashMap} without a lock. Two threads may convert the
+ * same key at the same time, and then one of the equivalent formatters is cached. A conversion which throws an
+ * exception is not cached. The oldest entries are evicted first when the number of entries exceeds the bound.
+ *
+ * <p>It is thread-safe.
+ */
+final class DateTimeFormatterCache {
+    DateTimeFormatterCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.cache = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+    }
+
+    DateTimeFormatter get(
+            final String format,
+            final Options options,
+            final ResolverStyle resolverStyle,
+            final PaddingStyle paddingStyle,
+            final Optional<Locale> locale,
+            final Supplier<DateTimeFormatter> converter) {
+        final Key key = new Key(format, options, resolverStyle, paddingStyle, locale);
+        final DateTimeFormatter cached = this.cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final DateTimeFormatter converted = converter.get();
+        final DateTimeFormatter existing = this.cache.putIfAbsent(key, converted);
+        if (existing != null) {
+            return existing;
+        }
+        this.insertionOrder.add(key);
+        while (this.cache.size() > this.maximumSize) {
+            final Key oldest = this.insertionOrder.poll();
+            if (oldest == null) {
+                break;
+            }
+            this.cache.remove(oldest);
+        }
+        return converted;
+    }
+
+    int size() {
+        return this.cache.size();
+    }
+
+    private static final class Key {
+        private Key(
+                final String format,
+                final Options options,
+                final ResolverStyle resolverStyle,
+                final PaddingStyle paddingStyle,
+                final Optional<Locale> locale) {
+            this.format = format;
+            this.options = options;
+            this.resolverStyle = resolverStyle;
+            this.paddingStyle = paddingStyle;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject) {
+                return true;
+            }
+            if (!(otherObject instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) otherObject;
+            return this.format.equals(other.format)
+                    && this.options.equals(other.options)
+                    && this.resolverStyle == other.resolverStyle
+                    && this.paddingStyle == other.paddingStyle
+                    && this.locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.format, this.options, this.resolverStyle, this.paddingStyle, this.locale);
+        }
+
+        private final String format;
+        private final Options options;
+        private final ResolverStyle resolverStyle;
+        private final PaddingStyle paddingStyle;
+        private final Optional<Locale> locale;
+    }
+
+    private final int maximumSize;
+
+    private final ConcurrentHashMap<Key, DateTimeFormatter> cache;
+
+    // The keys in the order of insertion, which are evicted from the oldest.
+    private final ConcurrentLinkedQueue<Key> insertionOrder;
+}
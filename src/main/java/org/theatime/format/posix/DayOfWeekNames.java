@@ -29,20 +29,53 @@ class DayOfWeekNames {
         return ShortTitleCase.NAMES;
     }
 
+    static String shortTitleCase(final int dayOfWeek) {
+        return ShortTitleCase.ARRAY[dayOfWeek];
+    }
+
     public static Map<Long, String> shortUpperCase() {
         return ShortUpperCase.NAMES;
     }
 
+    static String shortUpperCase(final int dayOfWeek) {
+        return ShortUpperCase.ARRAY[dayOfWeek];
+    }
+
     public static Map<Long, String> fullTitleCase() {
         return FullTitleCase.NAMES;
     }
 
+    static String fullTitleCase(final int dayOfWeek) {
+        return FullTitleCase.ARRAY[dayOfWeek];
+    }
+
     public static Map<Long, String> fullUpperCase() {
         return FullUpperCase.NAMES;
     }
 
+    static String fullUpperCase(final int dayOfWeek) {
+        return FullUpperCase.ARRAY[dayOfWeek];
+    }
+
+    /**
+     * Returns a trie which matches both abbreviated and full names case-insensitively.
+     */
+    static NameTrie trie() {
+        return Trie.TRIE;
+    }
+
+    // Indexed by the day of the week. The element at 0 is unused.
+    private static String[] toArray(final Map<Long, String> names) {
+        final String[] array = new String[8];
+        for (final Map.Entry<Long, String> entry : names.entrySet()) {
+            array[entry.getKey().intValue()] = entry.getValue();
+        }
+        return array;
+    }
+
     private static class ShortTitleCase {  // Initialization-on-demand holder idiom.
         static final Map<Long, String> NAMES;
+        static final String[] ARRAY;
 
         static {
             final HashMap<Long, String> names = new HashMap<>();
@@ -54,11 +87,13 @@ class DayOfWeekNames {
             names.put(6L, "Sat");
             names.put(7L, "Sun");
             NAMES = Collections.unmodifiableMap(names);
+            ARRAY = toArray(names);
         }
     }
 
     private static class ShortUpperCase {  // Initialization-on-demand holder idiom.
         static final Map<Long, String> NAMES;
+        static final String[] ARRAY;
 
         static {
             final HashMap<Long, String> names = new HashMap<>();
@@ -70,11 +105,13 @@ class DayOfWeekNames {
             names.put(6L, "SAT");
             names.put(7L, "SUN");
             NAMES = Collections.unmodifiableMap(names);
+            ARRAY = toArray(names);
         }
     }
 
     private static class FullTitleCase {  // Initialization-on-demand holder idiom.
         static final Map<Long, String> NAMES;
+        static final String[] ARRAY;
 
         static {
             final HashMap<Long, String> names = new HashMap<>();
@@ -86,11 +123,13 @@ class DayOfWeekNames {
             names.put(6L, "Saturday");
             names.put(7L, "Sunday");
             NAMES = Collections.unmodifiableMap(names);
+            ARRAY = toArray(names);
         }
     }
 
     private static class FullUpperCase {  // Initialization-on-demand holder idiom.
         static final Map<Long, String> NAMES;
+        static final String[] ARRAY;
 
         static {
             final HashMap<Long, String> names = new HashMap<>();
@@ -102,6 +141,11 @@ class DayOfWeekNames {
             names.put(6L, "SATURDAY");
             names.put(7L, "SUNDAY");
             NAMES = Collections.unmodifiableMap(names);
+            ARRAY = toArray(names);
         }
     }
+
+    private static class Trie {  // Initialization-on-demand holder idiom.
+        static final NameTrie TRIE = NameTrie.of(ShortTitleCase.ARRAY, FullTitleCase.ARRAY);
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Parses a stream of texts with a format, such as timestamps in consecutive lines of a log, reusing the previous text.
+ *
+ * <p>Consecutive timestamps in a time-ordered stream usually share a prefix, such as {@code "2023-04-17 12:"}. It
+ * remembers the previous text, and the parsed fields at literals in the format. A text which shares a prefix with the
+ * previous text is parsed only from the last literal in the shared prefix. The date is not resolved again if the
+ * parsed date fields are the same as the previous ones, and then only the time is resolved.
+ *
+ * <p>The result is always the same as {@link PosixTimeFormat#parse(CharSequence, int, int, PosixTm)}. It is mutable,
+ * and not thread-safe. Create one for each stream by {@link PosixTimeFormat#newDeltaParser()}.
+ */
+public final class DeltaParser {
+    DeltaParser(final ParsePlan parsePlan, final ResolverStyle resolverStyle) {
+        this.parsePlan = parsePlan;
+        this.resolverStyle = resolverStyle;
+
+        final boolean[] checkpoints = new boolean[parsePlan.size()];
+        for (int i = 0; i < checkpoints.length; i++) {
+            checkpoints[i] = isCheckpoint(parsePlan, i);
+        }
+        this.checkpoints = checkpoints;
+        this.trace = new ParsePlan.Trace(checkpoints);
+        this.previousText = new char[64];
+        this.previousParsed = new int[PosixTm.SNAPSHOT_SIZE];
+        this.previousDate = new PosixTm();
+        this.hasPrevious = false;
+    }
+
+    /**
+     * Parses a text into a {@link PosixTm} without throwing an exception for a text which cannot be parsed.
+     *
+     * @return {@code true} if parsed, or {@code false} if the text cannot be parsed entirely
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public boolean tryParse(final CharSequence text, final PosixTm target) {
+        return this.tryParse(text, 0, text.length(), target);
+    }
+
+    /**
+     * Parses a region of a text into a {@link PosixTm} without throwing an exception for a text which cannot be parsed.
+     *
+     * <p>The previous text is reused even if {@code target} is another instance than the previous call, or has been
+     * modified since then. The parsed fields and the resolved date of the previous text are kept in this parser.
+     *
+     * @return {@code true} if parsed, or {@code false} if the region cannot be parsed entirely
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the text
+     */
+    public boolean tryParse(final CharSequence text, final int start, final int end, final PosixTm target) {
+        if (start < 0 || start > end || end > text.length()) {
+            throw new IndexOutOfBoundsException(
+                    "Region [" + start + ", " + end + ") is out of the length " + text.length());
+        }
+
+        final int resumed = this.hasPrevious ? this.findResumed(text, start, end) : -1;
+        this.hasPrevious = false;
+        this.trace.origin = start;
+
+        final int parsedEnd;
+        if (resumed >= 0) {
+            target.restoreParsed(this.trace.snapshots[resumed]);
+            parsedEnd = this.parsePlan.parse(text, start + this.trace.ends[resumed], end, target, resumed + 1, this.trace);
+        } else {
+            target.clear();
+            parsedEnd = this.parsePlan.parse(text, start, end, target, 0, this.trace);
+        }
+        if (parsedEnd != end) {
+            return false;
+        }
+
+        // The date resolved from the previous text is reused if the parsed date fields are the same. It is kept before
+        // resolving the time, which may add days to the date.
+        if (resumed >= 0 && target.hasSameParsedDate(this.previousParsed)) {
+            target.copyDate(this.previousDate);
+        } else if (target.resolveDate(this.resolverStyle)) {
+            this.previousDate.copyDate(target);
+        } else {
+            return false;
+        }
+        if (!target.resolveTime(this.resolverStyle)) {
+            return false;
+        }
+
+        this.remember(text, start, end, target);
+        return true;
+    }
+
+    /**
+     * Parses a text into seconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param text  the text to parse
+     * @param defaultOffset  the offset from UTC used if the text does not contain an offset
+     * @throws DateTimeParseException  if the text cannot be parsed entirely
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public long parseEpochSecond(final CharSequence text, final ZoneOffset defaultOffset) {
+        if (!this.tryParse(text, 0, text.length(), this.scratch)) {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed", text, 0);
+        }
+        return this.scratch.toEpochSecond(defaultOffset.getTotalSeconds());
+    }
+
+    /**
+     * Forgets the previous text.
+     */
+    public void reset() {
+        this.hasPrevious = false;
+        this.previousLength = 0;
+    }
+
+    /**
+     * Finds the last checkpoint to resume from in the prefix shared with the previous text, or returns {@code -1}.
+     */
+    private int findResumed(final CharSequence text, final int start, final int end) {
+        final int length = Math.min(end - start, this.previousLength);
+        int shared = 0;
+        while (shared < length && text.charAt(start + shared) == this.previousText[shared]) {
+            shared++;
+        }
+
+        int resumed = -1;
+        // A specification may look at one character after its end, such as a digit after a number.
+        for (int i = 0; i < this.checkpoints.length && this.trace.ends[i] < shared; i++) {
+            if (this.checkpoints[i]) {
+                resumed = i;
+            }
+        }
+        return resumed;
+    }
+
+    private void remember(final CharSequence text, final int start, final int end, final PosixTm target) {
+        final int length = end - start;
+        if (this.previousText.length < length) {
+            this.previousText = new char[Math.max(length, this.previousText.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            this.previousText[i] = text.charAt(start + i);
+        }
+        this.previousLength = length;
+        target.saveParsed(this.previousParsed);
+        this.hasPrevious = true;
+    }
+
+    /**
+     * Returns {@code true} if parsing can resume just after the specification at {@code index}.
+     *
+     * <p>It is a literal which does not start with a digit, which cannot be a part of a number before it. It does not
+     * start with a letter unless it is after a number, which cannot be a part of a name before it.
+     */
+    private static boolean isCheckpoint(final ParsePlan parsePlan, final int index) {
+        final Specification specification = parsePlan.specification(index);
+        if (!(specification instanceof Literal)) {
+            return false;
+        }
+        final String literal = ((Literal) specification).literal();
+        if (literal.isEmpty() || specification.precision > literal.length()) {
+            return false;
+        }
+        final char first = literal.charAt(0);
+        if ('0' <= first && first <= '9') {
+            return false;
+        }
+        if (('A' <= first && first <= 'Z') || ('a' <= first && first <= 'z')) {
+            return index > 0
+                    && (parsePlan.specification(index - 1).fixedDigits() > 0 || parsePlan.specification(index - 1).parsesVariableDigits());
+        }
+        return true;
+    }
+
+    private final ParsePlan parsePlan;
+
+    private final ResolverStyle resolverStyle;
+
+    // Whether parsing can resume just after each specification.
+    private final boolean[] checkpoints;
+
+    // The ends and the snapshots at checkpoints of the previous text.
+    private final ParsePlan.Trace trace;
+
+    // The parsed fields of the previous text, to compare the date fields.
+    private final int[] previousParsed;
+
+    // The holder for the date resolved from the previous text.
+    private final PosixTm previousDate;
+
+    // The holder for the epoch values.
+    private final PosixTm scratch = new PosixTm();
+
+    private char[] previousText;
+    private int previousLength;
+
+    // Whether the previous text has been parsed successfully, and is reusable.
+    private boolean hasPrevious;
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.util.ArrayList;
+
+/**
+ * Parses a run of fixed-width digits and short ASCII literals, such as {@code %Y%m%d%H%M%S} or {@code %Y-%m-%d}, up to
+ * 8 characters at a time in a {@code long}, SWAR (SIMD within a register) style.
+ *
+ * <p>A run is detected at compile time from adjacent specifications. It is split into windows of up to 8 characters
+ * so that no number crosses windows. Each window is validated with a few bit operations, and then every pair of digits
+ * is converted at once. A plain {@code %Y} or {@code %G} at the beginning of a run is assumed to have 4 digits.
+ *
+ * <p>It is only a fast path. It gives up if the text does not fit in the run exactly, and then the specifications
+ * in the run parse the text one by one so that errors are reported in the same way.
+ */
+final class DigitRun {
+    private DigitRun(
+            final int size,
+            final int length,
+            final int[] specificationEnds,
+            final boolean checksFollowingDigit,
+            final int[] windowStarts,
+            final int[] windowLengths,
+            final long[] literalMasks,
+            final long[] literalBytes,
+            final long[] digitMasks,
+            final int[] fieldWindows,
+            final int[] fieldShifts,
+            final int[] fieldWidths,
+            final int[] fields) {
+        this.size = size;
+        this.length = length;
+        this.specificationEnds = specificationEnds;
+        this.checksFollowingDigit = checksFollowingDigit;
+        this.windowStarts = windowStarts;
+        this.windowLengths = windowLengths;
+        this.literalMasks = literalMasks;
+        this.literalBytes = literalBytes;
+        this.digitMasks = digitMasks;
+        this.fieldWindows = fieldWindows;
+        this.fieldShifts = fieldShifts;
+        this.fieldWidths = fieldWidths;
+        this.fields = fields;
+    }
+
+    /**
+     * Detects a run from {@code from} in the specifications.
+     *
+     * @return the run, or {@code null} if the specifications from {@code from} do not make a run of two or more numbers
+     */
+    static DigitRun of(final Specification[] specifications, final int from) {
+        final ArrayList<Integer> windowStarts = new ArrayList<>();
+        final ArrayList<Long> literalMasks = new ArrayList<>();
+        final ArrayList<Long> literalBytes = new ArrayList<>();
+        final ArrayList<Long> digitMasks = new ArrayList<>();
+        final ArrayList<int[]> fields = new ArrayList<>();  // {window, offset in the window, width, field}
+        final ArrayList<Integer> specificationEnds = new ArrayList<>();
+
+        final boolean leadingYear = (specifications[from] instanceof UpperY || specifications[from] instanceof UpperG) && specifications[from].isPlain();
+        boolean hasLiteralAfterYear = false;
+        int offset = 0;
+        int i = from;
+        for (; i < specifications.length; i++) {
+            final Specification specification = specifications[i];
+            final String literal;
+            final int width;
+            final int field;
+            if (i == from && leadingYear) {
+                literal = null;
+                width = 4;
+                field = (specification instanceof UpperG) ? PosixTm.ISO_WEEK_BASED_YEAR : PosixTm.YEAR;
+            } else if (specification.fixedDigits() > 0 && specification.fixedDigits() <= WINDOW && specification.fixedDigitsField() >= 0) {
+                literal = null;
+                width = specification.fixedDigits();
+                field = specification.fixedDigitsField();
+            } else if (isShortAsciiLiteral(specification) && !endsWithOpenWhitespace(specifications, i)) {
+                literal = ((Literal) specification).literal();
+                width = literal.length();
+                field = -1;
+                hasLiteralAfterYear = true;
+            } else {
+                break;
+            }
+
+            if (windowStarts.isEmpty() || offset + width - windowStarts.get(windowStarts.size() - 1) > WINDOW) {
+                windowStarts.add(offset);
+                literalMasks.add(0L);
+                literalBytes.add(0L);
+                digitMasks.add(0L);
+            }
+            final int window = windowStarts.size() - 1;
+            final int offsetInWindow = offset - windowStarts.get(window);
+            for (int k = 0; k < width; k++) {
+                final long mask = 0xffL << shiftOf(offsetInWindow + k);
+                if (literal != null) {
+                    literalMasks.set(window, literalMasks.get(window) | mask);
+                    literalBytes.set(window, literalBytes.get(window) | ((long) literal.charAt(k) << shiftOf(offsetInWindow + k)));
+                } else {
+                    digitMasks.set(window, digitMasks.get(window) | mask);
+                }
+            }
+            if (literal == null) {
+                fields.add(new int[] { window, offsetInWindow, width, field });
+            }
+            offset += width;
+            specificationEnds.add(offset);
+        }
+
+        if (fields.size() < 2) {
+            return null;
+        }
+
+        final int windows = windowStarts.size();
+        final int[] windowStartsArray = new int[windows];
+        final int[] windowLengthsArray = new int[windows];
+        final long[] literalMasksArray = new long[windows];
+        final long[] literalBytesArray = new long[windows];
+        final long[] digitMasksArray = new long[windows];
+        for (int w = 0; w < windows; w++) {
+            windowStartsArray[w] = windowStarts.get(w);
+            windowLengthsArray[w] = ((w + 1 < windows) ? windowStarts.get(w + 1) : offset) - windowStarts.get(w);
+            literalMasksArray[w] = literalMasks.get(w);
+            literalBytesArray[w] = literalBytes.get(w);
+            digitMasksArray[w] = digitMasks.get(w);
+        }
+        final int[] fieldWindows = new int[fields.size()];
+        final int[] fieldShifts = new int[fields.size()];
+        final int[] fieldWidths = new int[fields.size()];
+        final int[] fieldsArray = new int[fields.size()];
+        for (int f = 0; f < fields.size(); f++) {
+            fieldWindows[f] = fields.get(f)[0];
+            fieldShifts[f] = shiftOf(fields.get(f)[1]);
+            fieldWidths[f] = fields.get(f)[2];
+            fieldsArray[f] = fields.get(f)[3];
+        }
+
+        final int[] specificationEndsArray = new int[specificationEnds.size()];
+        for (int k = 0; k < specificationEndsArray.length; k++) {
+            specificationEndsArray[k] = specificationEnds.get(k);
+        }
+
+        return new DigitRun(
+                i - from,
+                offset,
+                specificationEndsArray,
+                // "%Y" leaves digits for the following fixed digits. It would take more digits if the text has more digits.
+                leadingYear && !hasLiteralAfterYear,
+                windowStartsArray,
+                windowLengthsArray,
+                literalMasksArray,
+                literalBytesArray,
+                digitMasksArray,
+                fieldWindows,
+                fieldShifts,
+                fieldWidths,
+                fieldsArray);
+    }
+
+    /**
+     * Returns the number of specifications in the run.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the end of the {@code index}-th specification in the run, relative to the start of the run.
+     */
+    int endOf(final int index) {
+        return this.specificationEnds[index];
+    }
+
+    /**
+     * Parses the run in {@code text} from {@code pos} into {@code tm}.
+     *
+     * @return the position after the run, or {@code -1} if the text does not fit in the run, then to fall back
+     */
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final int runEnd = pos + this.length;
+        if (runEnd > end) {
+            return -1;
+        }
+        if (this.checksFollowingDigit && runEnd < end && '0' <= text.charAt(runEnd) && text.charAt(runEnd) <= '9') {
+            return -1;
+        }
+
+        int f = 0;
+        for (int w = 0; w < this.windowStarts.length; w++) {
+            final int start = pos + this.windowStarts[w];
+            final int windowLength = this.windowLengths[w];
+
+            long word = 0L;
+            int ored = 0;
+            for (int k = 0; k < windowLength; k++) {
+                final char c = text.charAt(start + k);
+                ored |= c;
+                word = (word << 8) | (c & 0xff);
+            }
+            if (ored >= 0x80) {
+                return -1;
+            }
+            word <<= (WINDOW - windowLength) * 8;
+
+            if (((word ^ this.literalBytes[w]) & this.literalMasks[w]) != 0L) {
+                return -1;
+            }
+            // Non-digit positions are filled with '0' so that all the 8 bytes can be validated at once.
+            final long ascii = (word & this.digitMasks[w]) | (ZEROS & ~this.digitMasks[w]);
+            if (((ascii & 0xf0f0f0f0f0f0f0f0L) | (((ascii + 0x0606060606060606L) & 0xf0f0f0f0f0f0f0f0L) >>> 4)) != 0x3333333333333333L) {
+                return -1;
+            }
+            final long digits = ascii - ZEROS;
+            // Each byte has the two-digit number starting at the byte, such as 12 from "12" -- up to 99, without carries.
+            final long pairs = digits * 10 + (digits << 8);
+
+            for (; f < this.fields.length && this.fieldWindows[f] == w; f++) {
+                int shift = this.fieldShifts[f];
+                int remaining = this.fieldWidths[f];
+                int value = 0;
+                for (; remaining >= 2; remaining -= 2, shift -= 16) {
+                    value = value * 100 + (int) ((pairs >>> shift) & 0xff);
+                }
+                if (remaining == 1) {
+                    value = value * 10 + (int) ((digits >>> shift) & 0xff);
+                }
+                tm.set(this.fields[f], value);
+            }
+        }
+        return runEnd;
+    }
+
+    private static boolean isShortAsciiLiteral(final Specification specification) {
+        if (!(specification instanceof Literal)) {
+            return false;
+        }
+        final String literal = ((Literal) specification).literal();
+        if (literal.isEmpty() || literal.length() > WINDOW || specification.precision > literal.length()) {
+            return false;
+        }
+        for (int k = 0; k < literal.length(); k++) {
+            if (literal.charAt(k) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the literal at {@code index} ends with white space which is not closed by a number next.
+     *
+     * <p>White space in a format matches any amount of white space. The run matches exactly the white space in the
+     * format, which is the same only if a digit follows it.
+     */
+    private static boolean endsWithOpenWhitespace(final Specification[] specifications, final int index) {
+        final String literal = ((Literal) specifications[index]).literal();
+        if (!Literal.isWhitespace(literal.charAt(literal.length() - 1))) {
+            return false;
+        }
+        return index + 1 >= specifications.length
+                || specifications[index + 1].fixedDigits() <= 0
+                || specifications[index + 1].fixedDigits() > WINDOW
+                || specifications[index + 1].fixedDigitsField() < 0;
+    }
+
+    /**
+     * Returns the shift of the byte at {@code offset} in a window, where the first character is in the most significant byte.
+     */
+    private static int shiftOf(final int offset) {
+        return (WINDOW - 1 - offset) * 8;
+    }
+
+    private static final int WINDOW = 8;
+
+    private static final long ZEROS = 0x3030303030303030L;
+
+    private final int size;
+
+    // The number of characters in the run.
+    private final int length;
+
+    // The end of each specification in the run, relative to the start of the run.
+    private final int[] specificationEnds;
+
+    private final boolean checksFollowingDigit;
+
+    private final int[] windowStarts;
+    private final int[] windowLengths;
+    private final long[] literalMasks;
+    private final long[] literalBytes;
+    private final long[] digitMasks;
+
+    // Numbers in the run, in the order of appearance.
+    private final int[] fieldWindows;
+    private final int[] fieldShifts;
+    private final int[] fieldWidths;
+    private final int[] fields;
+}
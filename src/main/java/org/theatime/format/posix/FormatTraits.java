@@ -0,0 +1,469 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Holds traits of a format analyzed at compile time, to choose strategies for the format, such as caching and indexing.
+ *
+ * <p>Traits about the output are of {@link PosixTimeFormat#format(long, int, java.time.ZoneOffset)} for years from 1000
+ * to 9999. A trait is reported only if it is known to hold. For example, {@code "%_5d"} may have a fixed width, but it is
+ * not analyzed precisely, then {@link #isFixedWidth()} is {@code false}.
+ *
+ * <p>It is immutable, and thread-safe.
+ */
+public final class FormatTraits {
+    private FormatTraits(
+            final int width,
+            final boolean sortable,
+            final boolean roundTrips,
+            final ChronoUnit finestUnit,
+            final Set<ConversionType> conversionTypes,
+            final boolean dependsOnZone,
+            final boolean dependsOnLocale) {
+        this.width = width;
+        this.sortable = sortable;
+        this.roundTrips = roundTrips;
+        this.finestUnit = finestUnit;
+        this.conversionTypes = conversionTypes;
+        this.dependsOnZone = dependsOnZone;
+        this.dependsOnLocale = dependsOnLocale;
+    }
+
+    static FormatTraits of(final List<Specification> specifications, final boolean acceptedForParsing) {
+        int width = 0;
+        int fields = 0;
+        int previousField = -1;
+        boolean sortable = true;
+        ChronoUnit finestUnit = ChronoUnit.FOREVER;
+        final EnumSet<ConversionType> conversionTypes = EnumSet.noneOf(ConversionType.class);
+        boolean dependsOnZone = false;
+        boolean dependsOnLocale = false;
+
+        for (final Specification specification : specifications) {
+            final int specificationWidth = widthOf(specification);
+            width = (width < 0 || specificationWidth < 0) ? -1 : width + specificationWidth;
+
+            if (!(specification instanceof ConversionSpecification)) {
+                continue;
+            }
+            final ConversionType type = ((ConversionSpecification) specification).terminatingConversionSpecifier;
+            conversionTypes.add(type);
+
+            for (final int field : fieldsOf(type)) {
+                fields |= 1 << field;
+                sortable &= isSortableType(type) && isSortableNext(previousField, field);
+                previousField = field;
+            }
+            final ChronoUnit unit = unitOf(type);
+            if (unit.compareTo(finestUnit) < 0) {
+                finestUnit = unit;
+            }
+            dependsOnZone |= type == ConversionType.POSIX_LOWER_Z || type == ConversionType.POSIX_UPPER_Z;
+            dependsOnLocale |= type == ConversionType.POSIX_LOWER_A
+                    || type == ConversionType.POSIX_LOWER_B
+                    || type == ConversionType.POSIX_LOWER_H
+                    || type == ConversionType.POSIX_LOWER_P
+                    // %r formats AM/PM in the locale of the formatter, even without a locale given.
+                    || type == ConversionType.POSIX_LOWER_R;
+        }
+
+        return new FormatTraits(
+                width,
+                width >= 0 && sortable && previousField >= 0,
+                acceptedForParsing && isComplete(fields, finestUnit),
+                finestUnit,
+                Collections.unmodifiableSet(conversionTypes),
+                dependsOnZone,
+                dependsOnLocale);
+    }
+
+    /**
+     * Returns {@code true} if all the formatted texts have the same width in characters.
+     */
+    public boolean isFixedWidth() {
+        return this.width >= 0;
+    }
+
+    /**
+     * Returns the width of formatted texts in characters if {@link #isFixedWidth()}, or {@code -1}.
+     */
+    public int width() {
+        return this.width;
+    }
+
+    /**
+     * Returns {@code true} if formatted texts are sorted lexicographically in the order of time, at the same offset.
+     *
+     * <p>It is for formats of zero-padded or space-padded numbers from the year down to a finer unit in the order, with
+     * a fixed width, such as {@code "%Y-%m-%dT%H:%M:%S"}, {@code "%Y%j"}, and {@code "%G-W%V-%u"}.
+     */
+    public boolean isSortable() {
+        return this.sortable;
+    }
+
+    /**
+     * Returns {@code true} if a formatted text is parsed back into the same date and time down to {@link #finestUnit()},
+     * at the same offset.
+     *
+     * <p>The format must be accepted for parsing, and it must determine the year, the date, and the time down to the
+     * finest unit. For example, {@code "%Y-%m-%d %H:%M"} round-trips, but {@code "%y-%m-%d %H:%M"} does not for the
+     * century, and {@code "%Y-%m-%d %M"} does not for the hour.
+     */
+    public boolean roundTrips() {
+        return this.roundTrips;
+    }
+
+    /**
+     * Returns the finest unit of the date and time which formatted texts depend on, such as {@link ChronoUnit#SECONDS}
+     * for {@code %S}, or {@link ChronoUnit#FOREVER} if the format does not depend on the date and time.
+     */
+    public ChronoUnit finestUnit() {
+        return this.finestUnit;
+    }
+
+    /**
+     * Returns the types of the conversion specifications in the format, except for {@code %n}, {@code %t}, and {@code %%}.
+     */
+    public Set<ConversionType> conversionTypes() {
+        return this.conversionTypes;
+    }
+
+    /**
+     * Returns {@code true} if the format contains the offset or the time zone, {@code %z} or {@code %Z}.
+     */
+    public boolean dependsOnZone() {
+        return this.dependsOnZone;
+    }
+
+    /**
+     * Returns {@code true} if {@link PosixTimeFormat#toDateTimeFormatter(java.util.Optional, PaddingStyle)} depends on
+     * the locale, for names of days of the week, months, or AM/PM.
+     */
+    public boolean dependsOnLocale() {
+        return this.dependsOnLocale;
+    }
+
+    @Override
+    public String toString() {
+        return "FormatTraits(width=" + this.width
+                + ", sortable=" + this.sortable
+                + ", roundTrips=" + this.roundTrips
+                + ", finestUnit=" + this.finestUnit
+                + ", conversionTypes=" + this.conversionTypes
+                + ", dependsOnZone=" + this.dependsOnZone
+                + ", dependsOnLocale=" + this.dependsOnLocale
+                + ")";
+    }
+
+    /**
+     * Returns the width of a specification formatted, or {@code -1} if it may vary, or if it is not analyzed.
+     */
+    private static int widthOf(final Specification specification) {
+        if (specification instanceof Literal) {
+            return Math.max(((Literal) specification).literal().length(), specification.precision);
+        }
+        if (!(specification instanceof ConversionSpecification)) {
+            return -1;
+        }
+        final ConversionType type = ((ConversionSpecification) specification).terminatingConversionSpecifier;
+        switch (type) {
+            case POSIX_LOWER_A:
+            case POSIX_LOWER_B:
+            case POSIX_LOWER_H:
+                return Math.max(3, specification.precision);
+            case POSIX_LOWER_P:
+                return Math.max(2, specification.precision);
+            case POSIX_LOWER_C:
+                return specification.isPlain() ? 24 : -1;
+            case POSIX_UPPER_D:
+            case POSIX_LOWER_X:
+            case POSIX_UPPER_T:
+            case POSIX_UPPER_X:
+                return specification.isPlain() ? 8 : -1;
+            case POSIX_UPPER_F:
+                return specification.isPlain() ? 10 : -1;
+            case POSIX_LOWER_R:
+                return specification.isPlain() ? 11 : -1;
+            case POSIX_UPPER_R:
+                return specification.isPlain() ? 5 : -1;
+            case POSIX_UPPER_Y:
+            case POSIX_UPPER_G:
+                return widthOfNumber(specification, 4, 0);
+            case POSIX_LOWER_J:
+                return widthOfNumber(specification, 1, 3);
+            case POSIX_LOWER_U:
+            case POSIX_LOWER_W:
+                return widthOfNumber(specification, 1, 1);
+            case POSIX_UPPER_C:
+                return widthOfNumber(specification, 2, 2);
+            case POSIX_LOWER_D:
+            case POSIX_LOWER_E:
+            case POSIX_LOWER_G:
+            case POSIX_UPPER_H:
+            case POSIX_UPPER_I:
+            case POSIX_LOWER_M:
+            case POSIX_UPPER_M:
+            case POSIX_UPPER_S:
+            case POSIX_UPPER_U:
+            case POSIX_UPPER_V:
+            case POSIX_UPPER_W:
+            case POSIX_LOWER_Y:
+                return widthOfNumber(specification, 1, 2);
+            default:
+                // %A and %B vary, and %z and %Z are not formatted directly.
+                return -1;
+        }
+    }
+
+    /**
+     * Returns the width of a number formatted, whose value has at least {@code minDigits} digits, and is padded to
+     * {@code defaultWidth} by default.
+     */
+    private static int widthOfNumber(final Specification specification, final int minDigits, final int defaultWidth) {
+        final int width;
+        if (specification.isPlain()) {
+            width = defaultWidth;
+        } else if (specification.effectivePadWithDefault('0') == '0') {
+            width = Math.max(specification.precision, defaultWidth);
+        } else {
+            return -1;
+        }
+        return (minDigits >= width) ? minDigits : width;
+    }
+
+    /**
+     * Returns the fields of {@link PosixTm} which a type of conversion specification formats, in the order.
+     */
+    private static int[] fieldsOf(final ConversionType type) {
+        switch (type) {
+            case POSIX_LOWER_A:
+            case POSIX_UPPER_A:
+            case POSIX_LOWER_U:
+            case POSIX_LOWER_W:
+                return new int[] { PosixTm.DAY_OF_WEEK };
+            case POSIX_LOWER_B:
+            case POSIX_UPPER_B:
+            case POSIX_LOWER_H:
+            case POSIX_LOWER_M:
+                return new int[] { PosixTm.MONTH };
+            case POSIX_LOWER_C:
+                return new int[] {
+                    PosixTm.DAY_OF_WEEK, PosixTm.MONTH, PosixTm.DAY_OF_MONTH, PosixTm.HOUR, PosixTm.MINUTE, PosixTm.SECOND, PosixTm.YEAR };
+            case POSIX_UPPER_C:
+                return new int[] { PosixTm.CENTURY };
+            case POSIX_LOWER_D:
+            case POSIX_LOWER_E:
+                return new int[] { PosixTm.DAY_OF_MONTH };
+            case POSIX_UPPER_D:
+            case POSIX_LOWER_X:
+                return new int[] { PosixTm.MONTH, PosixTm.DAY_OF_MONTH, PosixTm.YEAR_OF_CENTURY };
+            case POSIX_UPPER_F:
+                return new int[] { PosixTm.YEAR, PosixTm.MONTH, PosixTm.DAY_OF_MONTH };
+            case POSIX_LOWER_G:
+                return new int[] { PosixTm.ISO_WEEK_BASED_YEAR_OF_CENTURY };
+            case POSIX_UPPER_G:
+                return new int[] { PosixTm.ISO_WEEK_BASED_YEAR };
+            case POSIX_UPPER_H:
+                return new int[] { PosixTm.HOUR };
+            case POSIX_UPPER_I:
+                return new int[] { PosixTm.CLOCK_HOUR };
+            case POSIX_LOWER_J:
+                return new int[] { PosixTm.DAY_OF_YEAR };
+            case POSIX_UPPER_M:
+                return new int[] { PosixTm.MINUTE };
+            case POSIX_LOWER_P:
+                return new int[] { PosixTm.AMPM };
+            case POSIX_LOWER_R:
+                return new int[] { PosixTm.CLOCK_HOUR, PosixTm.MINUTE, PosixTm.SECOND, PosixTm.AMPM };
+            case POSIX_UPPER_R:
+                return new int[] { PosixTm.HOUR, PosixTm.MINUTE };
+            case POSIX_UPPER_S:
+                return new int[] { PosixTm.SECOND };
+            case POSIX_UPPER_T:
+            case POSIX_UPPER_X:
+                return new int[] { PosixTm.HOUR, PosixTm.MINUTE, PosixTm.SECOND };
+            case POSIX_UPPER_U:
+                return new int[] { PosixTm.WEEK_OF_YEAR_STARTING_FROM_SUNDAY };
+            case POSIX_UPPER_V:
+                return new int[] { PosixTm.ISO_WEEK_OF_WEEK_BASED_YEAR };
+            case POSIX_UPPER_W:
+                return new int[] { PosixTm.WEEK_OF_YEAR_STARTING_FROM_MONDAY };
+            case POSIX_LOWER_Y:
+                return new int[] { PosixTm.YEAR_OF_CENTURY };
+            case POSIX_UPPER_Y:
+                return new int[] { PosixTm.YEAR };
+            case POSIX_LOWER_Z:
+                return new int[] { PosixTm.OFFSET_SECONDS };
+            default:
+                return new int[0];
+        }
+    }
+
+    private static ChronoUnit unitOf(final ConversionType type) {
+        switch (type) {
+            case POSIX_LOWER_C:
+            case POSIX_LOWER_R:
+            case POSIX_UPPER_S:
+            case POSIX_UPPER_T:
+            case POSIX_UPPER_X:
+                return ChronoUnit.SECONDS;
+            case POSIX_UPPER_M:
+            case POSIX_UPPER_R:
+                return ChronoUnit.MINUTES;
+            case POSIX_UPPER_H:
+            case POSIX_UPPER_I:
+                return ChronoUnit.HOURS;
+            case POSIX_LOWER_P:
+                return ChronoUnit.HALF_DAYS;
+            case POSIX_LOWER_A:
+            case POSIX_UPPER_A:
+            case POSIX_LOWER_D:
+            case POSIX_UPPER_D:
+            case POSIX_LOWER_E:
+            case POSIX_UPPER_F:
+            case POSIX_LOWER_J:
+            case POSIX_LOWER_U:
+            case POSIX_LOWER_W:
+            case POSIX_LOWER_X:
+                return ChronoUnit.DAYS;
+            case POSIX_UPPER_U:
+            case POSIX_UPPER_V:
+            case POSIX_UPPER_W:
+                return ChronoUnit.WEEKS;
+            case POSIX_LOWER_B:
+            case POSIX_UPPER_B:
+            case POSIX_LOWER_H:
+            case POSIX_LOWER_M:
+                return ChronoUnit.MONTHS;
+            case POSIX_LOWER_G:
+            case POSIX_UPPER_G:
+            case POSIX_LOWER_Y:
+            case POSIX_UPPER_Y:
+                return ChronoUnit.YEARS;
+            case POSIX_UPPER_C:
+                return ChronoUnit.CENTURIES;
+            default:
+                return ChronoUnit.FOREVER;
+        }
+    }
+
+    /**
+     * Returns {@code true} if a type of conversion specification formats only numbers which are ordered as the values.
+     *
+     * <p>Names are not ordered. {@code %w} starts a week from Sunday, which is not in the order of ISO weeks of {@code %V}.
+     */
+    private static boolean isSortableType(final ConversionType type) {
+        switch (type) {
+            case POSIX_UPPER_C:
+            case POSIX_LOWER_D:
+            case POSIX_LOWER_E:
+            case POSIX_UPPER_F:
+            case POSIX_UPPER_G:
+            case POSIX_UPPER_H:
+            case POSIX_LOWER_J:
+            case POSIX_LOWER_M:
+            case POSIX_UPPER_M:
+            case POSIX_UPPER_R:
+            case POSIX_UPPER_S:
+            case POSIX_UPPER_T:
+            case POSIX_LOWER_U:
+            case POSIX_UPPER_V:
+            case POSIX_UPPER_X:
+            case POSIX_LOWER_Y:
+            case POSIX_UPPER_Y:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns {@code true} if a field can follow the previous field, or the start for {@code -1}, in a sortable format.
+     */
+    private static boolean isSortableNext(final int previousField, final int field) {
+        switch (previousField) {
+            case -1:
+                return field == PosixTm.YEAR || field == PosixTm.CENTURY || field == PosixTm.ISO_WEEK_BASED_YEAR;
+            case PosixTm.CENTURY:
+                return field == PosixTm.YEAR_OF_CENTURY;
+            case PosixTm.YEAR:
+            case PosixTm.YEAR_OF_CENTURY:
+                return field == PosixTm.MONTH || field == PosixTm.DAY_OF_YEAR;
+            case PosixTm.MONTH:
+                return field == PosixTm.DAY_OF_MONTH;
+            case PosixTm.ISO_WEEK_BASED_YEAR:
+                return field == PosixTm.ISO_WEEK_OF_WEEK_BASED_YEAR;
+            case PosixTm.ISO_WEEK_OF_WEEK_BASED_YEAR:
+                return field == PosixTm.DAY_OF_WEEK;
+            case PosixTm.DAY_OF_MONTH:
+            case PosixTm.DAY_OF_YEAR:
+            case PosixTm.DAY_OF_WEEK:
+                return field == PosixTm.HOUR;
+            case PosixTm.HOUR:
+                return field == PosixTm.MINUTE;
+            case PosixTm.MINUTE:
+                return field == PosixTm.SECOND;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the fields determine the date and time down to the unit.
+     */
+    private static boolean isComplete(final int fields, final ChronoUnit finestUnit) {
+        final boolean year = has(fields, PosixTm.YEAR) || (has(fields, PosixTm.CENTURY) && has(fields, PosixTm.YEAR_OF_CENTURY));
+        final boolean date = (year && has(fields, PosixTm.MONTH) && has(fields, PosixTm.DAY_OF_MONTH))
+                || (year && has(fields, PosixTm.DAY_OF_YEAR))
+                || (has(fields, PosixTm.ISO_WEEK_BASED_YEAR) && has(fields, PosixTm.ISO_WEEK_OF_WEEK_BASED_YEAR) && has(fields, PosixTm.DAY_OF_WEEK));
+        final boolean hour = has(fields, PosixTm.HOUR) || (has(fields, PosixTm.CLOCK_HOUR) && has(fields, PosixTm.AMPM));
+        switch (finestUnit) {
+            case SECONDS:
+                return date && hour && has(fields, PosixTm.MINUTE) && has(fields, PosixTm.SECOND);
+            case MINUTES:
+                return date && hour && has(fields, PosixTm.MINUTE);
+            case HOURS:
+                return date && hour;
+            case DAYS:
+                return date;
+            case MONTHS:
+                return year && has(fields, PosixTm.MONTH);
+            case YEARS:
+                return year;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean has(final int fields, final int field) {
+        return (fields & (1 << field)) != 0;
+    }
+
+    private final int width;
+    private final boolean sortable;
+    private final boolean roundTrips;
+    private final ChronoUnit finestUnit;
+    private final Set<ConversionType> conversionTypes;
+    private final boolean dependsOnZone;
+    private final boolean dependsOnLocale;
+}
@@ -25,6 +25,8 @@ final class Literal extends Specification {
     private Literal(final String literal, final Context context) {
         super(context);
         this.literal = literal;
+        this.literalInBytes = ByteSequence.encode(literal);
+        this.hasWhitespace = hasWhitespace(literal);
     }
 
     static Literal of(final String immediate, final Context context) {
@@ -57,6 +59,78 @@ final class Literal extends Specification {
         return formatter;
     }
 
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        appendTextPadded(builder, this.literal, this.precision, this.effectivePadWithDefault(' '));
+    }
+
+    /**
+     * Parses the literal.
+     *
+     * <p>White space in the literal, including {@code %n} and {@code %t}, matches any amount of white space in the text,
+     * including none, as POSIX {@code strptime} does.
+     */
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        int next = pos;
+        if (this.precision > this.literal.length()) {
+            final char pad = this.effectivePadWithDefault(' ');
+            // Padding with white space is matched by the white space in the literal.
+            if (!(this.hasWhitespace && isWhitespace(pad))) {
+                for (int i = this.literal.length(); i < this.precision; i++) {
+                    next = parseChar(text, next, end, pad);
+                }
+            }
+        }
+        // Bytes are matched with the literal pre-encoded in UTF-8.
+        final String expected = (text instanceof ByteSequence) ? this.literalInBytes : this.literal;
+        if (!this.hasWhitespace) {
+            return parseLiteral(text, next, end, expected);
+        }
+        return parseWithWhitespace(text, next, end, expected);
+    }
+
+    String literal() {
+        return this.literal;
+    }
+
+    /**
+     * Returns {@code true} if {@code c} is white space in the POSIX locale: space, tab, newline, vertical tab, form
+     * feed, or carriage return.
+     */
+    static boolean isWhitespace(final char c) {
+        return c == ' ' || ('\t' <= c && c <= '\r');
+    }
+
+    private static int parseWithWhitespace(final CharSequence text, final int pos, final int end, final String literal) {
+        if (pos < 0) {
+            return pos;
+        }
+        int next = pos;
+        for (int i = 0; i < literal.length(); i++) {
+            final char c = literal.charAt(i);
+            if (isWhitespace(c)) {
+                while (next < end && isWhitespace(text.charAt(next))) {
+                    next++;
+                }
+            } else if (next < end && text.charAt(next) == c) {
+                next++;
+            } else {
+                return ~next;
+            }
+        }
+        return next;
+    }
+
+    private static boolean hasWhitespace(final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (isWhitespace(literal.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean equals(final Object otherObject) {
         if (this == otherObject) {
@@ -81,4 +155,10 @@ final class Literal extends Specification {
     }
 
     private final String literal;
+
+    // The literal encoded in UTF-8, viewed in the same way as ByteSequence.
+    private final String literalInBytes;
+
+    // Whether the literal contains white space, which matches any amount of white space in parsing.
+    private final boolean hasWhitespace;
 }
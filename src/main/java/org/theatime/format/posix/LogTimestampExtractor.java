@@ -0,0 +1,370 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracts timestamps from lines of a large log file in parallel.
+ *
+ * <p>The file is split into chunks at line boundaries. Each chunk is memory-mapped with {@link FileChannel#map}, and
+ * its lines are parsed on a {@link ForkJoinPool}. A line ends with {@code '\n'}, and a trailing {@code '\r'} is not a
+ * part of the line. The timestamp in each line is located by a {@link TimestampLocator}, and parsed entirely with the
+ * format, in the same way as {@link PosixTimeFormat#parseBatch(byte[], int[], int, ZoneOffset, TimeUnit, long[], long[])}.
+ *
+ * <p>It is immutable, and thread-safe.
+ */
+public final class LogTimestampExtractor {
+    private LogTimestampExtractor(
+            final PosixTimeFormat format,
+            final TimestampLocator locator,
+            final ZoneOffset defaultOffset,
+            final TimeUnit unit) {
+        this.format = format;
+        this.locator = locator;
+        this.defaultOffsetSeconds = defaultOffset.getTotalSeconds();
+        this.unit = unit;
+    }
+
+    /**
+     * Creates an extractor.
+     *
+     * @param format  the format of timestamps
+     * @param locator  the locator of a timestamp in a line
+     * @param defaultOffset  the offset from UTC used for timestamps which do not contain an offset
+     * @param unit  the unit of the epoch values, from {@link TimeUnit#NANOSECONDS} to {@link TimeUnit#SECONDS}
+     * @throws IllegalArgumentException  if {@code unit} is coarser than seconds
+     */
+    public static LogTimestampExtractor of(
+            final PosixTimeFormat format,
+            final TimestampLocator locator,
+            final ZoneOffset defaultOffset,
+            final TimeUnit unit) {
+        if (unit.toNanos(1L) > TimeUnit.SECONDS.toNanos(1L)) {
+            throw new IllegalArgumentException("Unit coarser than seconds is not accepted for epoch values: " + unit);
+        }
+        return new LogTimestampExtractor(format, locator, defaultOffset, unit);
+    }
+
+    /**
+     * Extracts timestamps from all the lines in a file on the common pool.
+     *
+     * @throws IOException  if failed to read the file, or a line is longer than {@link Integer#MAX_VALUE} bytes
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public Result extract(final Path file) throws IOException {
+        return this.extract(file, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Extracts timestamps from all the lines in a file on a pool.
+     *
+     * @throws IOException  if failed to read the file, or a line is longer than {@link Integer#MAX_VALUE} bytes
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public Result extract(final Path file, final ForkJoinPool pool) throws IOException {
+        return this.extract(file, pool, -1L);
+    }
+
+    /**
+     * Extracts timestamps with chunks of about {@code chunkSize} bytes, or of the size by the parallelism if negative.
+     */
+    Result extract(final Path file, final ForkJoinPool pool, final long chunkSize) throws IOException {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long[] boundaries = splitAtLines(channel, size, (chunkSize > 0) ? chunkSize : chunkSizeFor(size, pool));
+            final Chunk chunk;
+            try {
+                chunk = pool.invoke(new ChunkTask(channel, boundaries, 0, boundaries.length - 1));
+            } catch (final UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            return chunk.toResult();
+        }
+    }
+
+    /**
+     * The epoch values of lines in a file, and the offsets of the lines.
+     *
+     * <p>The arrays are returned as-is without copying. They must not be modified.
+     */
+    public static final class Result {
+        private Result(final int lines, final long[] epochValues, final long[] lineOffsets, final long[] validity, final int validLines) {
+            this.lines = lines;
+            this.epochValues = epochValues;
+            this.lineOffsets = lineOffsets;
+            this.validity = validity;
+            this.validLines = validLines;
+        }
+
+        /**
+         * Returns the number of lines.
+         */
+        public int lines() {
+            return this.lines;
+        }
+
+        /**
+         * Returns the epoch values of lines, whose length is at least {@link #lines()}. The values of invalid lines are {@code 0}.
+         */
+        public long[] epochValues() {
+            return this.epochValues;
+        }
+
+        /**
+         * Returns the byte offsets of the starts of lines in the file, whose length is at least {@link #lines()}.
+         */
+        public long[] lineOffsets() {
+            return this.lineOffsets;
+        }
+
+        /**
+         * Returns the validity bitmap of lines in the same way as
+         * {@link PosixTimeFormat#parseBatch(CharSequence[], ZoneOffset, TimeUnit, long[], long[])}.
+         */
+        public long[] validity() {
+            return this.validity;
+        }
+
+        public boolean isValid(final int line) {
+            return ((this.validity[line >>> 6] >>> line) & 1L) != 0L;
+        }
+
+        /**
+         * Returns the number of lines whose timestamps are extracted.
+         */
+        public int validLines() {
+            return this.validLines;
+        }
+
+        private final int lines;
+        private final long[] epochValues;
+        private final long[] lineOffsets;
+        private final long[] validity;
+        private final int validLines;
+    }
+
+    private static long chunkSizeFor(final long size, final ForkJoinPool pool) {
+        final long bySize = size / (pool.getParallelism() * 4L);
+        return Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, bySize));
+    }
+
+    /**
+     * Splits a file into chunks of about {@code chunkSize} bytes, each of which ends just after {@code '\n'}, or at the end.
+     *
+     * @return the boundaries of chunks, from {@code 0} to {@code size}
+     */
+    private static long[] splitAtLines(final FileChannel channel, final long size, final long chunkSize) throws IOException {
+        final ArrayList<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long boundary = 0L;
+        while (size - boundary > chunkSize) {
+            final long next = nextLine(channel, boundary + chunkSize, size, buffer);
+            if (next - boundary > Integer.MAX_VALUE) {
+                throw new IOException("Too long line to map from the offset " + boundary);
+            }
+            boundaries.add(next);
+            boundary = next;
+        }
+        if (size - boundary > Integer.MAX_VALUE) {
+            throw new IOException("Too long line to map from the offset " + boundary);
+        }
+        if (boundary < size) {
+            boundaries.add(size);
+        }
+
+        final long[] array = new long[boundaries.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = boundaries.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Finds the start of the next line at or after {@code from}, or returns {@code size} if not found.
+     */
+    private static long nextLine(final FileChannel channel, final long from, final long size, final ByteBuffer buffer) throws IOException {
+        long position = from - 1;  // A line starts at "from" if the previous byte is '\n'.
+        while (position < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private final class ChunkTask extends RecursiveTask<Chunk> {
+        ChunkTask(final FileChannel channel, final long[] boundaries, final int first, final int last) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        protected Chunk compute() {
+            if (this.last - this.first <= 0) {
+                return new Chunk(0);
+            }
+            if (this.last - this.first == 1) {
+                try {
+                    return parseChunk(this.channel, this.boundaries[this.first], this.boundaries[this.last]);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+            final int middle = (this.first + this.last) >>> 1;
+            final ChunkTask left = new ChunkTask(this.channel, this.boundaries, this.first, middle);
+            final ChunkTask right = new ChunkTask(this.channel, this.boundaries, middle, this.last);
+            left.fork();
+            final Chunk rightChunk = right.compute();
+            return left.join().append(rightChunk);
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final int first;
+        private final int last;
+    }
+
+    private Chunk parseChunk(final FileChannel channel, final long start, final long end) throws IOException {
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        final ByteSequence.OfBuffer view = new ByteSequence.OfBuffer().reset(buffer);
+        final PosixTm tm = new PosixTm();
+        final Chunk chunk = new Chunk(64);
+
+        final int length = view.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            final int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            final int line = chunk.addLine(start + lineStart);
+            final long located = this.locator.locate(view, lineStart, lineEnd);
+            if (located >= 0
+                    && this.format.parsesEntirely(view, TimestampLocator.start(located), TimestampLocator.end(located), tm)) {
+                try {
+                    chunk.setValid(line, PosixTimeFormat.toEpochValue(tm, this.defaultOffsetSeconds, this.unit));
+                } catch (final ArithmeticException ex) {
+                    // Left invalid.
+                }
+            }
+            lineStart = next;
+        }
+        return chunk;
+    }
+
+    /**
+     * Lines parsed in a chunk, which grow by doubling the arrays.
+     */
+    private static final class Chunk {
+        Chunk(final int capacity) {
+            this.epochValues = new long[capacity];
+            this.lineOffsets = new long[capacity];
+            this.validity = new long[(capacity + 63) / 64];
+        }
+
+        int addLine(final long offset) {
+            if (this.lines == this.lineOffsets.length) {
+                this.ensureCapacity(Math.max(64, this.lines * 2));
+            }
+            this.lineOffsets[this.lines] = offset;
+            return this.lines++;
+        }
+
+        void setValid(final int line, final long value) {
+            this.epochValues[line] = value;
+            this.validity[line >>> 6] |= 1L << line;
+            this.validLines++;
+        }
+
+        Chunk append(final Chunk other) {
+            if (other.lines == 0) {
+                return this;
+            }
+            final int base = this.lines;
+            this.ensureCapacity(base + other.lines);
+            System.arraycopy(other.epochValues, 0, this.epochValues, base, other.lines);
+            System.arraycopy(other.lineOffsets, 0, this.lineOffsets, base, other.lines);
+            for (int line = 0; line < other.lines; line++) {
+                if (((other.validity[line >>> 6] >>> line) & 1L) != 0L) {
+                    this.validity[(base + line) >>> 6] |= 1L << (base + line);
+                }
+            }
+            this.lines += other.lines;
+            this.validLines += other.validLines;
+            return this;
+        }
+
+        Result toResult() {
+            return new Result(this.lines, this.epochValues, this.lineOffsets, this.validity, this.validLines);
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity <= this.lineOffsets.length) {
+                return;
+            }
+            this.epochValues = Arrays.copyOf(this.epochValues, capacity);
+            this.lineOffsets = Arrays.copyOf(this.lineOffsets, capacity);
+            this.validity = Arrays.copyOf(this.validity, (capacity + 63) / 64);
+        }
+
+        private long[] epochValues;
+        private long[] lineOffsets;
+        private long[] validity;
+        private int lines;
+        private int validLines;
+    }
+
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    private final PosixTimeFormat format;
+    private final TimestampLocator locator;
+    private final int defaultOffsetSeconds;
+    private final TimeUnit unit;
+}
@@ -29,20 +29,53 @@ class MonthOfYearNames {
         return ShortTitleCase.NAMES;
     }
 
+    static String shortTitleCase(final int month) {
+        return ShortTitleCase.ARRAY[month];
+    }
+
     public static Map<Long, String> shortUpperCase() {
         return ShortUpperCase.NAMES;
     }
 
+    static String shortUpperCase(final int month) {
+        return ShortUpperCase.ARRAY[month];
+    }
+
     public static Map<Long, String> fullTitleCase() {
         return FullTitleCase.NAMES;
     }
 
+    static String fullTitleCase(final int month) {
+        return FullTitleCase.ARRAY[month];
+    }
+
     public static Map<Long, String> fullUpperCase() {
         return FullUpperCase.NAMES;
     }
 
+    static String fullUpperCase(final int month) {
+        return FullUpperCase.ARRAY[month];
+    }
+
+    /**
+     * Returns a trie which matches both abbreviated and full names case-insensitively.
+     */
+    static NameTrie trie() {
+        return Trie.TRIE;
+    }
+
+    // Indexed by the month. The element at 0 is unused.
+    private static String[] toArray(final Map<Long, String> names) {
+        final String[] array = new String[13];
+        for (final Map.Entry<Long, String> entry : names.entrySet()) {
+            array[entry.getKey().intValue()] = entry.getValue();
+        }
+        return array;
+    }
+
     private static class ShortTitleCase {  // Initialization-on-demand holder idiom.
         static final Map<Long, String> NAMES;
+        static final String[] ARRAY;
 
         static {
             final HashMap<Long, String> names = new HashMap<>();
@@ -59,11 +92,13 @@ class MonthOfYearNames {
             names.put(11L, "Nov");
             names.put(12L, "Dec");
             NAMES = Collections.unmodifiableMap(names);
+            ARRAY = toArray(names);
         }
     }
 
     private static class ShortUpperCase {  // Initialization-on-demand holder idiom.
         static final Map<Long, String> NAMES;
+        static final String[] ARRAY;
 
         static {
             final HashMap<Long, String> names = new HashMap<>();
@@ -80,11 +115,13 @@ class MonthOfYearNames {
             names.put(11L, "NOV");
             names.put(12L, "DEC");
             NAMES = Collections.unmodifiableMap(names);
+            ARRAY = toArray(names);
         }
     }
 
     private static class FullTitleCase {  // Initialization-on-demand holder idiom.
         static final Map<Long, String> NAMES;
+        static final String[] ARRAY;
 
         static {
             final HashMap<Long, String> names = new HashMap<>();
@@ -101,11 +138,13 @@ class MonthOfYearNames {
             names.put(11L, "November");
             names.put(12L, "December");
             NAMES = Collections.unmodifiableMap(names);
+            ARRAY = toArray(names);
         }
     }
 
     private static class FullUpperCase {  // Initialization-on-demand holder idiom.
         static final Map<Long, String> NAMES;
+        static final String[] ARRAY;
 
         static {
             final HashMap<Long, String> names = new HashMap<>();
@@ -122,6 +161,11 @@ class MonthOfYearNames {
             names.put(11L, "NOVEMBER");
             names.put(12L, "DECEMBER");
             NAMES = Collections.unmodifiableMap(names);
+            ARRAY = toArray(names);
         }
     }
+
+    private static class Trie {  // Initialization-on-demand holder idiom.
+        static final NameTrie TRIE = NameTrie.of(ShortTitleCase.ARRAY, FullTitleCase.ARRAY);
+    }
 }
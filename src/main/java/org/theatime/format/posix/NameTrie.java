@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Matches ASCII names, such as day-of-week and month names, case-insensitively in one pass.
+ *
+ * <p>It is a trie of case-folded ASCII letters in a flat array. Case is folded with a table, not with {@link java.util.Locale}.
+ * Both abbreviated and full names can be in the same trie, so that the longest matching name is found in one pass,
+ * as {@code strptime} accepts either of them.
+ *
+ * <p>It is immutable, and thread-safe.
+ */
+final class NameTrie {
+    private NameTrie(final int[] children, final int[] values) {
+        this.children = children;
+        this.values = values;
+    }
+
+    /**
+     * Builds a trie from arrays of names, each of which is indexed by the values of the names.
+     *
+     * @param namesIndexedByValue  arrays of names, whose elements are {@code null} for values without names
+     * @throws IllegalArgumentException  if a name contains a character other than ASCII letters
+     */
+    static NameTrie of(final String[]... namesIndexedByValue) {
+        final ArrayList<int[]> nodeChildren = new ArrayList<>();
+        final ArrayList<Integer> nodeValues = new ArrayList<>();
+        nodeChildren.add(newChildren());
+        nodeValues.add(-1);
+
+        for (final String[] names : namesIndexedByValue) {
+            for (int value = 0; value < names.length; value++) {
+                if (names[value] == null) {
+                    continue;
+                }
+                int node = 0;
+                for (int i = 0; i < names[value].length(); i++) {
+                    final int letter = fold(names[value].charAt(i));
+                    if (letter < 0) {
+                        throw new IllegalArgumentException("Not an ASCII letter in a name: \"" + names[value] + "\"");
+                    }
+                    if (nodeChildren.get(node)[letter] < 0) {
+                        nodeChildren.get(node)[letter] = nodeChildren.size();
+                        nodeChildren.add(newChildren());
+                        nodeValues.add(-1);
+                    }
+                    node = nodeChildren.get(node)[letter];
+                }
+                nodeValues.set(node, value);
+            }
+        }
+
+        final int[] children = new int[nodeChildren.size() * LETTERS];
+        final int[] valuesArray = new int[nodeValues.size()];
+        for (int node = 0; node < nodeChildren.size(); node++) {
+            System.arraycopy(nodeChildren.get(node), 0, children, node * LETTERS, LETTERS);
+            valuesArray[node] = nodeValues.get(node);
+        }
+        return new NameTrie(children, valuesArray);
+    }
+
+    /**
+     * Parses the longest matching name in {@code text} from {@code pos} into {@code field} of {@code tm}.
+     *
+     * @return the position after the name, or the bitwise complement ({@code ~}) of {@code pos} if no name matches
+     */
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm, final int field) {
+        if (pos < 0) {
+            return pos;
+        }
+        int node = 0;
+        int matchedEnd = -1;
+        int matchedValue = 0;
+        for (int i = pos; i < end; i++) {
+            final int letter = fold(text.charAt(i));
+            if (letter < 0) {
+                break;
+            }
+            node = this.children[node * LETTERS + letter];
+            if (node < 0) {
+                break;
+            }
+            if (this.values[node] >= 0) {
+                matchedEnd = i + 1;
+                matchedValue = this.values[node];
+            }
+        }
+        if (matchedEnd < 0) {
+            return ~pos;
+        }
+        tm.set(field, matchedValue);
+        return matchedEnd;
+    }
+
+    /**
+     * Folds an ASCII letter into 0-25, or returns {@code -1} for other characters.
+     */
+    private static int fold(final char c) {
+        return (c < FOLD.length) ? FOLD[c] : -1;
+    }
+
+    private static int[] newChildren() {
+        final int[] children = new int[LETTERS];
+        Arrays.fill(children, -1);
+        return children;
+    }
+
+    private static final int LETTERS = 26;
+
+    private static final byte[] FOLD;
+
+    static {
+        final byte[] fold = new byte[128];
+        Arrays.fill(fold, (byte) -1);
+        for (int i = 0; i < LETTERS; i++) {
+            fold['A' + i] = (byte) i;
+            fold['a' + i] = (byte) i;
+        }
+        FOLD = fold;
+    }
+
+    // The children of node n are at [n * 26, n * 26 + 26), indexed by folded letters. -1 if no child.
+    private final int[] children;
+
+    // The value of each node if a name ends at the node, or -1.
+    private final int[] values;
+}
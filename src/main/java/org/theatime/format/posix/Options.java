@@ -127,5 +127,26 @@ final class Options {
         return this.options.getOrDefault(PosixTimeFormat.Option.UPPERCASE_N_AS_TERMINATING_CONVERSION_SPECIFIER, false);
     }
 
+    public boolean usesPrecomputedTimeOfDay() {
+        return this.options.getOrDefault(PosixTimeFormat.Option.PRECOMPUTED_TIME_OF_DAY, false);
+    }
+
+    @Override
+    public boolean equals(final Object otherObject) {
+        if (this == otherObject) {
+            return true;
+        }
+        if (!(otherObject instanceof Options)) {
+            return false;
+        }
+        final Options other = (Options) otherObject;
+        return this.options.equals(other.options);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.options.hashCode();
+    }
+
     private final Map<PosixTimeFormat.Option, Boolean> options;
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.DateTimeException;
+import java.util.List;
+
+/**
+ * Parses texts directly by running specifications, which is planned at compile time.
+ *
+ * <p>It is immutable, and thread-safe. All the states in parsing are in {@link PosixTm}.
+ */
+final class ParsePlan {
+    private ParsePlan(
+            final Specification[] specifications,
+            final int[] reservedDigits,
+            final int[] digitsTerminators,
+            final DigitRun[] digitRuns,
+            final Specification unsupported) {
+        this.specifications = specifications;
+        this.reservedDigits = reservedDigits;
+        this.digitsTerminators = digitsTerminators;
+        this.digitRuns = digitRuns;
+        this.unsupported = unsupported;
+    }
+
+    static ParsePlan of(final List<Specification> specifications, final Options options) {
+        final Specification[] array = specifications.toArray(new Specification[0]);
+
+        Specification unsupported = null;
+        for (final Specification specification : array) {
+            if (!specification.parsesWith(options)) {
+                unsupported = specification;
+                break;
+            }
+        }
+
+        // A variable number of digits, such as "%Y" in "%Y%m%d", leaves digits for the following zero-padded numbers
+        // in their full widths, but takes its usual digits at least, such as 4 of "%Y". A zero-padded number, such as
+        // "%m" in "%m%d", is parsed greedily up to its width, and leaves at least one digit for each of the following
+        // zero-padded numbers if the digits end where the zero-padded numbers are followed.
+        final int[] reservedDigits = new int[array.length];
+        final int[] digitsTerminators = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            int j = i + 1;
+            if (array[i].parsesVariableDigits()) {
+                int reserved = 0;
+                for (; j < array.length && array[j].fixedDigits() > 0; j++) {
+                    reserved += array[j].fixedDigits();
+                }
+                reservedDigits[i] = reserved;
+            } else if (array[i].fixedDigits() > 0) {
+                int reserved = 0;
+                for (; j < array.length && array[j].fixedDigits() > 0; j++) {
+                    reserved++;
+                }
+                reservedDigits[i] = reserved;
+            }
+            digitsTerminators[i] = (j < array.length) ? digitsTerminatorOf(array[j]) : END_OF_TEXT;
+        }
+
+        // Runs of zero-padded numbers in their full widths, such as "%Y%m%d%H%M%S" or "%Y-%m-%d", are parsed at once in
+        // the fast path.
+        final DigitRun[] digitRuns = new DigitRun[array.length];
+        int runStart = 0;
+        while (runStart < array.length) {
+            final DigitRun digitRun = DigitRun.of(array, runStart);
+            if (digitRun != null) {
+                digitRuns[runStart] = digitRun;
+                runStart += digitRun.size();
+            } else {
+                runStart++;
+            }
+        }
+
+        return new ParsePlan(array, reservedDigits, digitsTerminators, digitRuns, unsupported);
+    }
+
+    /**
+     * Parses {@code text} from {@code start} into {@code tm} without resolving.
+     *
+     * <p>It may stop before {@code end}. The caller checks if it has parsed up to the end if needed.
+     *
+     * @return the position after the parsed text, or the bitwise complement ({@code ~}) of the error position if failed
+     * @throws DateTimeException  if the format contains a specification which is not accepted for parsing
+     */
+    int parse(final CharSequence text, final int start, final int end, final PosixTm tm) {
+        return this.parse(text, start, end, tm, 0, null);
+    }
+
+    /**
+     * Parses {@code text} from {@code start} into {@code tm} with the specifications from {@code from}, and records
+     * the end of each specification in {@code trace} if not {@code null}.
+     *
+     * @return the position after the parsed text, or the bitwise complement ({@code ~}) of the error position if failed
+     * @throws DateTimeException  if the format contains a specification which is not accepted for parsing
+     */
+    int parse(final CharSequence text, final int start, final int end, final PosixTm tm, final int from, final Trace trace) {
+        this.checkAccepted();
+
+        int pos = start;
+        int i = from;
+        while (i < this.specifications.length) {
+            if (this.digitRuns[i] != null) {
+                final int next = this.digitRuns[i].parse(text, pos, end, tm);
+                if (next >= 0) {
+                    if (trace != null) {
+                        // The fields after a specification in the run are in the snapshot, but they are parsed again after it.
+                        for (int k = 0; k < this.digitRuns[i].size(); k++) {
+                            trace.record(i + k, pos + this.digitRuns[i].endOf(k), tm);
+                        }
+                    }
+                    pos = next;
+                    i += this.digitRuns[i].size();
+                    continue;
+                }
+                // Falls back to parse the specifications in the run one by one.
+            }
+            final int limit = (this.reservedDigits[i] > 0) ? this.limitForReservedDigits(i, text, pos, end) : end;
+            final int next = this.specifications[i].parse(text, pos, limit, tm);
+            if (next < 0) {
+                tm.failedSpecification = i;
+                return next;
+            }
+            if (trace != null) {
+                trace.record(i, next, tm);
+            }
+            pos = next;
+            i++;
+        }
+        return pos;
+    }
+
+    /**
+     * Checks that all the specifications are accepted for parsing.
+     *
+     * @throws DateTimeException  if the format contains a specification which is not accepted for parsing
+     */
+    void checkAccepted() {
+        if (this.unsupported != null) {
+            throw new DateTimeException("\"" + this.unsupported.original() + "\" is not accepted for parsing.");
+        }
+    }
+
+    boolean isAccepted() {
+        return this.unsupported == null;
+    }
+
+    int size() {
+        return this.specifications.length;
+    }
+
+    Specification specification(final int index) {
+        return this.specifications[index];
+    }
+
+    /**
+     * Records the end of each specification in parsing, and snapshots of the parsed fields at some specifications.
+     */
+    static final class Trace {
+        Trace(final boolean[] snapshotted) {
+            this.ends = new int[snapshotted.length];
+            this.snapshots = new int[snapshotted.length][];
+            for (int i = 0; i < snapshotted.length; i++) {
+                if (snapshotted[i]) {
+                    this.snapshots[i] = new int[PosixTm.SNAPSHOT_SIZE];
+                }
+            }
+        }
+
+        void record(final int index, final int end, final PosixTm tm) {
+            this.ends[index] = end - this.origin;
+            if (this.snapshots[index] != null) {
+                tm.saveParsed(this.snapshots[index]);
+            }
+        }
+
+        // The position which the ends are relative to.
+        int origin;
+
+        // The end of each specification, relative to the origin.
+        final int[] ends;
+
+        // The parsed fields just after each specification, or null if not snapshotted.
+        final int[][] snapshots;
+    }
+
+    /**
+     * Returns the end of the region for the specification at {@code index} which leaves digits for the following ones.
+     *
+     * <p>Digits which are too short for the following specifications are not left. The specification takes the digits
+     * available, and a following one fails at its own position.
+     */
+    private int limitForReservedDigits(final int index, final CharSequence text, final int pos, final int end) {
+        int digitsStart = pos;
+        if (digitsStart < end && (text.charAt(digitsStart) == '-' || text.charAt(digitsStart) == '+')) {
+            digitsStart++;
+        }
+        int digitsEnd = digitsStart;
+        while (digitsEnd < end && '0' <= text.charAt(digitsEnd) && text.charAt(digitsEnd) <= '9') {
+            digitsEnd++;
+        }
+        final Specification specification = this.specifications[index];
+        if (specification.parsesVariableDigits()) {
+            return Math.max(digitsEnd - this.reservedDigits[index], Math.min(digitsEnd, digitsStart + specification.usualDigits()));
+        }
+        final int terminator = this.digitsTerminators[index];
+        final boolean terminated;
+        if (terminator == END_OF_TEXT) {
+            terminated = digitsEnd == end;
+        } else if (terminator == ANY_CHARACTER) {
+            terminated = true;
+        } else {
+            terminated = digitsEnd < end && text.charAt(digitsEnd) == terminator;
+        }
+        if (!terminated) {
+            // The digits do not end where the following zero-padded numbers are followed, then they are parsed greedily.
+            return end;
+        }
+        return Math.max(pos, digitsEnd - this.reservedDigits[index]);
+    }
+
+    /**
+     * Returns the character which a specification after digits starts with, or {@link #ANY_CHARACTER} if unknown.
+     */
+    private static int digitsTerminatorOf(final Specification specification) {
+        if (!(specification instanceof Literal) || specification.precision > 0) {
+            return ANY_CHARACTER;
+        }
+        final String literal = ((Literal) specification).literal();
+        // White space matches any white space, and a character out of ASCII is in multiple bytes in UTF-8.
+        if (literal.isEmpty() || Literal.isWhitespace(literal.charAt(0)) || literal.charAt(0) >= 0x80) {
+            return ANY_CHARACTER;
+        }
+        return literal.charAt(0);
+    }
+
+    // The terminator of digits which must be followed by the end of the text.
+    private static final int END_OF_TEXT = -1;
+
+    // The terminator of digits which may be followed by any character.
+    private static final int ANY_CHARACTER = -2;
+
+    private final Specification[] specifications;
+
+    // The number of digits to be left for the following specifications, indexed in the same way as specifications.
+    private final int[] reservedDigits;
+
+    // The character which the digits end with for each specification, or END_OF_TEXT, or ANY_CHARACTER.
+    private final int[] digitsTerminators;
+
+    // The runs of fixed digits starting at the specifications, indexed in the same way as specifications, or null.
+    private final DigitRun[] digitRuns;
+
+    private final Specification unsupported;
+}
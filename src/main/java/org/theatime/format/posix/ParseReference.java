@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.ZoneOffset;
+
+/**
+ * Holds a reference instant to fill fields missing in parsed texts, such as the year of {@code "%b %e %H:%M:%S"} in
+ * syslog, or the date of {@code "%H:%M"}.
+ *
+ * <p>A date without a year is in the year nearest to the reference, which is one of the year of the reference, and the
+ * years before and after it. For example, {@code "Dec 31 23:59:59"} is in 2023 with a reference at 2024-01-01T00:00:10.
+ * A time without a date is on the day nearest to the reference in the same way. The local date and year of the
+ * reference are computed once when created, so that a reference can be reused for a large number of texts.
+ *
+ * <p>It is immutable, and thread-safe.
+ */
+public final class ParseReference {
+    private ParseReference(final long epochSecond, final ZoneOffset offset) {
+        this.epochSecond = epochSecond;
+        this.offset = offset;
+        this.localSecond = epochSecond + offset.getTotalSeconds();
+        this.epochDay = Math.floorDiv(this.localSecond, 86400L);
+        this.year = CivilCalendar.year(CivilCalendar.defaultWindow().toPackedDate(this.epochDay));
+    }
+
+    /**
+     * Creates a reference at an instant in seconds from the epoch of 1970-01-01T00:00:00Z, seen at an offset from UTC.
+     *
+     * <p>The offset is also the default offset of texts which do not contain an offset.
+     */
+    public static ParseReference of(final long epochSecond, final ZoneOffset offset) {
+        return new ParseReference(epochSecond, offset);
+    }
+
+    public long epochSecond() {
+        return this.epochSecond;
+    }
+
+    public ZoneOffset offset() {
+        return this.offset;
+    }
+
+    @Override
+    public String toString() {
+        return "ParseReference(" + this.epochSecond + ", " + this.offset + ")";
+    }
+
+    private final long epochSecond;
+    private final ZoneOffset offset;
+
+    // The local date and time of the reference in seconds from 1970-01-01T00:00:00 at the offset.
+    final long localSecond;
+
+    // The local date of the reference.
+    final long epochDay;
+
+    // The year of the local date of the reference.
+    final int year;
+}
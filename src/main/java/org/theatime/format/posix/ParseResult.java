@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+/**
+ * Holds a result of parsing without throwing an exception, such as by {@link PosixTimeFormat#tryParse(CharSequence, PosixTm, ParseResult)}.
+ *
+ * <p>It is mutable, and not thread-safe. It is overwritten by each parsing so that it can be reused for a large number
+ * of texts without allocation.
+ */
+public final class ParseResult {
+    public ParseResult() {
+        this.succeed(0);
+    }
+
+    public enum Status {
+        /**
+         * The text is parsed, and resolved successfully.
+         */
+        SUCCESS,
+
+        /**
+         * The text does not match with the format at {@link ParseResult#errorIndex()}.
+         */
+        MISMATCH,
+
+        /**
+         * The format is matched, but the text has unparsed text from {@link ParseResult#errorIndex()}.
+         */
+        TRAILING_TEXT,
+
+        /**
+         * The text is matched with the format, but the parsed date and time are invalid or conflicting.
+         */
+        INVALID,
+
+        ;
+    }
+
+    public Status status() {
+        return this.status;
+    }
+
+    public boolean isSuccess() {
+        return this.status == Status.SUCCESS;
+    }
+
+    /**
+     * Returns the index in the text where an error is found, or {@code -1} if succeeded.
+     */
+    public int errorIndex() {
+        return this.errorIndex;
+    }
+
+    /**
+     * Returns the index in the text after parsing if succeeded, or {@code -1} if failed.
+     */
+    public int endIndex() {
+        return this.endIndex;
+    }
+
+    /**
+     * Returns the original conversion specification or literal in the format which failed to match, such as {@code "%m"}.
+     *
+     * @return the original specification, or {@code null} if not failed with {@link Status#MISMATCH}
+     */
+    public String failedSpecification() {
+        return this.failedSpecification == null ? null : this.failedSpecification.original();
+    }
+
+    /**
+     * Returns the index in the format of the conversion specification or literal which failed to match.
+     *
+     * @return the index in the format, or {@code -1} if not failed with {@link Status#MISMATCH}
+     */
+    public int failedSpecificationIndex() {
+        return this.failedSpecification == null ? -1 : this.failedSpecification.start;
+    }
+
+    @Override
+    public String toString() {
+        switch (this.status) {
+            case SUCCESS:
+                return "Parsed up to index " + this.endIndex;
+            case MISMATCH:
+                return "Not matched with \"" + this.failedSpecification.original() + "\" at index " + this.errorIndex;
+            case TRAILING_TEXT:
+                return "Unparsed text found at index " + this.errorIndex;
+            case INVALID:
+                return "Invalid or conflicting date and time";
+            default:
+                throw new IllegalStateException("Unknown status: " + this.status);
+        }
+    }
+
+    boolean succeed(final int endIndex) {
+        this.status = Status.SUCCESS;
+        this.errorIndex = -1;
+        this.endIndex = endIndex;
+        this.failedSpecification = null;
+        return true;
+    }
+
+    boolean fail(final Status status, final int errorIndex, final Specification failedSpecification) {
+        this.status = status;
+        this.errorIndex = errorIndex;
+        this.endIndex = -1;
+        this.failedSpecification = failedSpecification;
+        return false;
+    }
+
+    private Status status;
+    private int errorIndex;
+    private int endIndex;
+    private Specification failedSpecification;
+}
@@ -16,15 +16,59 @@
 
 package org.theatime.format.posix;
 
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public final class PosixTimeFormat {
-    private PosixTimeFormat(final List<Specification> formatSpecifications) {
+    private PosixTimeFormat(final String format, final List<Specification> formatSpecifications, final Options options) {
+        this.format = format;
         this.formatSpecifications = formatSpecifications;
+        this.options = options;
+        this.resolverStyle = ResolverStyle.SMART;
+
+        final List<Specification> directSpecifications =
+                options.usesPrecomputedTimeOfDay() ? TimeOfDaySegment.fuse(formatSpecifications) : formatSpecifications;
+        this.directSpecifications = directSpecifications.toArray(new Specification[0]);
+
+        this.failedSpecifications = null;
+        this.base = this;
+        this.engine = this;
+    }
+
+    private PosixTimeFormat(final PosixTimeFormat engine, final String format, final List<Specification> formatSpecifications) {
+        this.format = format;
+        this.formatSpecifications = formatSpecifications;
+        this.options = engine.options;
+        this.resolverStyle = ResolverStyle.SMART;
+        this.directSpecifications = engine.directSpecifications;
+        this.failedSpecifications = failedSpecificationsOf(formatSpecifications, engine.formatSpecifications, engine.options);
+        this.base = this;
+        this.engine = engine.engine;
+    }
+
+    private PosixTimeFormat(final PosixTimeFormat base, final ResolverStyle resolverStyle) {
+        this.format = base.format;
+        this.formatSpecifications = base.formatSpecifications;
+        this.options = base.options;
+        this.resolverStyle = resolverStyle;
+        this.directSpecifications = base.directSpecifications;
+        this.failedSpecifications = base.failedSpecifications;
+        this.base = base.base;
+        this.engine = base.engine;
     }
 
     public enum Option {
@@ -118,11 +162,1007 @@ public final class PosixTimeFormat {
          * Ruby extension.
          */
         UPPERCASE_N_AS_TERMINATING_CONVERSION_SPECIFIER,
+
+        /**
+         * Formats times of day by looking up precomputed tables in {@link #format(long, int, ZoneOffset)}.
+         *
+         * <p>Segments of {@code %T}, {@code %X}, {@code %H:%M:%S}, {@code %R}, {@code %H:%M}, {@code %r}, and
+         * {@code %I:%M:%S %p} are fused into a single lookup at compile time. A table is built lazily when a format
+         * with its shape is formatted at first, and shared in the process. The table for {@code "HH:MM:SS"} consumes
+         * about 700 KB, and the table for {@code %r} consumes about 350 KB.
+         *
+         * <p>It does not change {@link #toDateTimeFormatter()}.
+         */
+        PRECOMPUTED_TIME_OF_DAY,
         ;
     }
 
     public static PosixTimeFormat compile(final String format, final Option... options) {
-        return new PosixTimeFormat(Tokenizer.tokenize(format, options));
+        final Options optionsObject = Options.of(options);
+        return new PosixTimeFormat(format, Tokenizer.tokenize(format, optionsObject), optionsObject);
+    }
+
+    /**
+     * Compiles a format, or returns the format compiled before with an equivalent format string and the same options.
+     *
+     * <p>The compiled formats are cached in the process, up to 1024 pairs of format strings and
+     * options. It is useful to compile formats given for each request, such as by users, without compiling them again
+     * and again. A format is compiled only once even if many threads compile it at the same time.
+     *
+     * <p>Format strings which differ only in spelling, such as {@code "%T"} and {@code "%H:%M:%S"}, share the parts
+     * for parsing and formatting compiled from their {@link #canonicalForm()}. Each spelling still has its own
+     * conversion specifications, so that its traits, failures in parsing, and {@link DateTimeFormatter} are of the
+     * format string as given.
+     *
+     * @param format  the format string
+     * @param options  the options
+     * @return the compiled format, which may be shared with other callers
+     */
+    public static PosixTimeFormat compileCached(final String format, final Option... options) {
+        return compileCached(COMPILE_CACHE, format, Options.of(options));
+    }
+
+    /**
+     * Compiles a format in a cache, sharing the parts compiled from its canonical form in the same cache.
+     *
+     * <p>The format string is tokenized only by the thread which compiles it.
+     */
+    static PosixTimeFormat compileCached(final CompileCache cache, final String format, final Options options) {
+        return cache.get(format, options, key -> {
+            final List<Specification> specifications = Tokenizer.tokenize(format, options);
+            final String canonicalForm = canonicalFormOf(specifications, options);
+            if (canonicalForm.equals(format)) {
+                return new PosixTimeFormat(format, specifications, options);
+            }
+            return new PosixTimeFormat(compileCached(cache, canonicalForm, options), format, specifications);
+        });
+    }
+
+    /**
+     * Returns a copy of this format with a resolver style to resolve parsed fields.
+     *
+     * <p>It is used both in parsing directly into {@link PosixTm}, and in {@link #toDateTimeFormatter()}. The default
+     * is {@link ResolverStyle#SMART}.
+     *
+     * @param resolverStyle  the resolver style
+     * @return a format with the resolver style, or this format if the style is the same
+     */
+    public PosixTimeFormat withResolverStyle(final ResolverStyle resolverStyle) {
+        if (resolverStyle == this.resolverStyle) {
+            return this;
+        }
+        return new PosixTimeFormat(this, resolverStyle);
+    }
+
+    public ResolverStyle getResolverStyle() {
+        return this.resolverStyle;
+    }
+
+    /**
+     * Returns the traits of this format analyzed at compile time, such as whether formatted texts have a fixed width.
+     */
+    public FormatTraits traits() {
+        FormatTraits traits = this.base.traits;
+        if (traits == null) {
+            traits = FormatTraits.of(this.formatSpecifications, this.parsePlan().isAccepted());
+            this.base.traits = traits;
+        }
+        return traits;
+    }
+
+    /**
+     * Returns the canonical form of the format string, which formats and parses in the same way as the format string.
+     *
+     * <p>Composite conversion specifications without flags are expanded, such as {@code %T} into {@code %H:%M:%S},
+     * {@code %R} into {@code %H:%M}, and {@code %F} into {@code %Y-%m-%d} if {@code %F} is accepted for parsing.
+     * {@code %h} is spelled as {@code %b}. A composite next to a conversion specification parsing digits is not
+     * expanded, as the digits would be parsed differently. {@code %D} is not expanded as it does not resolve a
+     * two-digit year in the same way as {@code %y}.
+     *
+     * @return the canonical form of the format string
+     */
+    public String canonicalForm() {
+        String canonicalForm = this.base.canonicalForm;
+        if (canonicalForm == null) {
+            canonicalForm = canonicalFormOf(this.formatSpecifications, this.options);
+            this.base.canonicalForm = canonicalForm;
+        }
+        return canonicalForm;
+    }
+
+    /**
+     * Formats an instant with an offset from UTC directly, without building a {@link DateTimeFormatter}.
+     *
+     * <p>It formats in the same way as {@link #toDateTimeFormatter()} for the conversion specifications which
+     * {@link #toDateTimeFormatter()} accepts, except that {@code %z} is formatted as the offset, such as {@code +0900},
+     * while {@link #toDateTimeFormatter()} formats no characters for {@code %z}.
+     *
+     * @param epochSecond  seconds from the epoch of 1970-01-01T00:00:00Z
+     * @param nanoOfSecond  the nanosecond within the second, from 0 to 999,999,999
+     * @param offset  the offset from UTC to format in
+     * @return the formatted string
+     */
+    public String format(final long epochSecond, final int nanoOfSecond, final ZoneOffset offset) {
+        return this.formatTo(new StringBuilder(), epochSecond, nanoOfSecond, offset).toString();
+    }
+
+    /**
+     * Formats an instant with an offset from UTC directly into a {@link StringBuilder}.
+     *
+     * @param builder  the builder to append to
+     * @param epochSecond  seconds from the epoch of 1970-01-01T00:00:00Z
+     * @param nanoOfSecond  the nanosecond within the second, from 0 to 999,999,999
+     * @param offset  the offset from UTC to format in
+     * @return the builder
+     */
+    public StringBuilder formatTo(final StringBuilder builder, final long epochSecond, final int nanoOfSecond, final ZoneOffset offset) {
+        final PosixTm tm = new PosixTm().setEpochSecond(epochSecond, nanoOfSecond, offset.getTotalSeconds());
+        for (final Specification specification : this.directSpecifications) {
+            specification.formatTo(builder, tm);
+        }
+        return builder;
+    }
+
+    /**
+     * Parses a text directly into a {@link PosixTm}, without building a {@link DateTimeFormatter}.
+     *
+     * <p>It does not allocate for each text except for errors. Reuse the target for a large number of texts.
+     *
+     * <p>Numeric fields are parsed greedily up to the widths which {@link #format(long, int, ZoneOffset)} formats, and
+     * leading zeros are not required as {@code strptime}. White space in the format matches any amount of white space
+     * in the text. Parsed fields are resolved in the resolver style, which is {@link ResolverStyle#SMART} by default.
+     * Fields missing in the text are filled from 1970-01-01T00:00:00.
+     *
+     * @param text  the text to parse
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the target
+     * @throws DateTimeParseException  if the text cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing, such as {@code %z}
+     *     without {@link Option#LOWERCASE_Z_FOR_PARSING}
+     */
+    public PosixTm parse(final CharSequence text, final PosixTm target) {
+        return this.parse(text, 0, text.length(), target);
+    }
+
+    /**
+     * Parses a region of a text directly into a {@link PosixTm}, without copying the region out of the text.
+     *
+     * <p>The entire region from {@code start} to {@code end} must be parsed. Error indexes are in the entire text.
+     *
+     * @param text  the text which contains the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the target
+     * @throws DateTimeParseException  if the region cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the text
+     */
+    public PosixTm parse(final CharSequence text, final int start, final int end, final PosixTm target) {
+        checkRegion(text.length(), start, end);
+        final int parsedEnd = this.parseUnresolved(text, start, end, target);
+        if (parsedEnd < end) {
+            throw new DateTimeParseException(
+                    "Text '" + text + "' could not be parsed, unparsed text found at index " + parsedEnd, text, parsedEnd);
+        }
+        return this.resolve(text, start, target);
+    }
+
+    /**
+     * Parses a text from a position directly into a {@link PosixTm}, and updates the position to the end of parsing.
+     *
+     * <p>The text does not have to be parsed up to its end, so that a date and time embedded in a larger text, such as
+     * a log line, can be parsed in place. The error index of the position is updated if the text cannot be parsed, in
+     * the same way as {@link DateTimeFormatter#parse(CharSequence, ParsePosition)}.
+     *
+     * @param text  the text to parse
+     * @param position  the position to parse from, which is updated
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the target
+     * @throws DateTimeParseException  if the text cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the position is out of the text
+     */
+    public PosixTm parse(final CharSequence text, final ParsePosition position, final PosixTm target) {
+        final int start = position.getIndex();
+        checkRegion(text.length(), start, text.length());
+        final int parsedEnd;
+        try {
+            parsedEnd = this.parseUnresolved(text, start, text.length(), target);
+            this.resolve(text, start, target);
+        } catch (final DateTimeParseException ex) {
+            position.setErrorIndex(ex.getErrorIndex());
+            throw ex;
+        }
+        position.setIndex(parsedEnd);
+        return target;
+    }
+
+    /**
+     * Parses a region of bytes in ASCII or UTF-8 directly into a {@link PosixTm}, without decoding them into a string.
+     *
+     * <p>The entire region from {@code start} to {@code end} must be parsed. Non-ASCII literals in the format are matched
+     * with their bytes encoded in UTF-8. Error indexes are relative to {@code start}.
+     *
+     * @param bytes  the bytes which contain the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the target
+     * @throws DateTimeParseException  if the region cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the bytes
+     */
+    public PosixTm parse(final byte[] bytes, final int start, final int end, final PosixTm target) {
+        checkRegion(bytes.length, start, end);
+        final ByteSequence.OfArray view = BYTE_ARRAY_VIEW.get().reset(bytes, start, end);
+        try {
+            return this.parse(view, 0, view.length(), target);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses the remaining bytes in ASCII or UTF-8 of a buffer directly into a {@link PosixTm}.
+     *
+     * <p>The bytes from the position to the limit must be parsed entirely. The buffer can be either a heap buffer or a
+     * direct buffer. Its position is not changed. Error indexes are relative to the position.
+     *
+     * @param buffer  the buffer to parse
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the target
+     * @throws DateTimeParseException  if the bytes cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public PosixTm parse(final ByteBuffer buffer, final PosixTm target) {
+        final ByteSequence.OfBuffer view = BYTE_BUFFER_VIEW.get().reset(buffer);
+        try {
+            return this.parse(view, 0, view.length(), target);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses a text directly into a {@link PosixTm}, filling fields missing in the text from a reference.
+     *
+     * <p>A text without a year, such as {@code "Apr  7 12:34:56"} in {@code "%b %e %H:%M:%S"} of syslog, is resolved in
+     * the year nearest to the reference. A text without a date, such as {@code "23:59"} in {@code "%H:%M"}, is resolved
+     * on the day nearest to the reference. A text with a year is resolved in the same way as
+     * {@link #parse(CharSequence, PosixTm)}.
+     *
+     * @param text  the text to parse
+     * @param reference  the reference to fill the missing fields
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the target
+     * @throws DateTimeParseException  if the text cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public PosixTm parse(final CharSequence text, final ParseReference reference, final PosixTm target) {
+        final int parsedEnd = this.parseUnresolved(text, 0, text.length(), target);
+        if (parsedEnd < text.length()) {
+            throw new DateTimeParseException(
+                    "Text '" + text + "' could not be parsed, unparsed text found at index " + parsedEnd, text, parsedEnd);
+        }
+        if (!target.resolve(this.resolverStyle, reference)) {
+            throw new DateTimeParseException(
+                    "Text '" + text + "' could not be parsed: invalid or conflicting date and time", text, 0);
+        }
+        return target;
+    }
+
+    /**
+     * Parses a text directly into a {@link PosixTm} without throwing an exception for a text which cannot be parsed.
+     *
+     * <p>It does not allocate for each text even for errors. Reuse the target and the result for a large number of texts,
+     * especially if some of them may be malformed.
+     *
+     * @param text  the text to parse
+     * @param target  the holder to overwrite with the parsed date and time
+     * @param result  the holder to overwrite with the status, and the error index and the failed specification if failed
+     * @return {@code true} if succeeded
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public boolean tryParse(final CharSequence text, final PosixTm target, final ParseResult result) {
+        return this.tryParse(text, 0, text.length(), target, result);
+    }
+
+    /**
+     * Parses a region of a text directly into a {@link PosixTm} without throwing an exception for a text which cannot be parsed.
+     *
+     * <p>The entire region from {@code start} to {@code end} must be parsed. Error indexes are in the entire text.
+     *
+     * @param text  the text which contains the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param target  the holder to overwrite with the parsed date and time
+     * @param result  the holder to overwrite with the status, and the error index and the failed specification if failed
+     * @return {@code true} if succeeded
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the text
+     */
+    public boolean tryParse(final CharSequence text, final int start, final int end, final PosixTm target, final ParseResult result) {
+        checkRegion(text.length(), start, end);
+        target.clear();
+        final int parsedEnd = this.parsePlan().parse(text, start, end, target);
+        if (parsedEnd < 0) {
+            return result.fail(ParseResult.Status.MISMATCH, ~parsedEnd, this.failedSpecification(target.failedSpecification));
+        }
+        if (parsedEnd < end) {
+            return result.fail(ParseResult.Status.TRAILING_TEXT, parsedEnd, null);
+        }
+        if (!target.resolve(this.resolverStyle)) {
+            return result.fail(ParseResult.Status.INVALID, start, null);
+        }
+        return result.succeed(parsedEnd);
+    }
+
+    /**
+     * Parses a region of bytes in ASCII or UTF-8 directly into a {@link PosixTm} without throwing an exception for bytes
+     * which cannot be parsed.
+     *
+     * <p>The entire region from {@code start} to {@code end} must be parsed. Error indexes are relative to {@code start}.
+     *
+     * @param bytes  the bytes which contain the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param target  the holder to overwrite with the parsed date and time
+     * @param result  the holder to overwrite with the status, and the error index and the failed specification if failed
+     * @return {@code true} if succeeded
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the bytes
+     */
+    public boolean tryParse(final byte[] bytes, final int start, final int end, final PosixTm target, final ParseResult result) {
+        checkRegion(bytes.length, start, end);
+        final ByteSequence.OfArray view = BYTE_ARRAY_VIEW.get().reset(bytes, start, end);
+        try {
+            return this.tryParse(view, 0, view.length(), target, result);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses the remaining bytes in ASCII or UTF-8 of a buffer directly into a {@link PosixTm} without throwing an
+     * exception for bytes which cannot be parsed.
+     *
+     * @param buffer  the buffer to parse, whose position is not changed
+     * @param target  the holder to overwrite with the parsed date and time
+     * @param result  the holder to overwrite with the status, and the error index and the failed specification if failed
+     * @return {@code true} if succeeded
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public boolean tryParse(final ByteBuffer buffer, final PosixTm target, final ParseResult result) {
+        final ByteSequence.OfBuffer view = BYTE_BUFFER_VIEW.get().reset(buffer);
+        try {
+            return this.tryParse(view, 0, view.length(), target, result);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses a text directly into a {@link PosixTm}, filling fields missing in the text from a reference, without
+     * throwing an exception for a text which cannot be parsed.
+     *
+     * @param text  the text to parse
+     * @param reference  the reference to fill the missing fields
+     * @param target  the holder to overwrite with the parsed date and time
+     * @param result  the holder to overwrite with the status, and the error index and the failed specification if failed
+     * @return {@code true} if succeeded
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @see #parse(CharSequence, ParseReference, PosixTm)
+     */
+    public boolean tryParse(final CharSequence text, final ParseReference reference, final PosixTm target, final ParseResult result) {
+        target.clear();
+        final int parsedEnd = this.parsePlan().parse(text, 0, text.length(), target);
+        if (parsedEnd < 0) {
+            return result.fail(ParseResult.Status.MISMATCH, ~parsedEnd, this.failedSpecification(target.failedSpecification));
+        }
+        if (parsedEnd < text.length()) {
+            return result.fail(ParseResult.Status.TRAILING_TEXT, parsedEnd, null);
+        }
+        if (!target.resolve(this.resolverStyle, reference)) {
+            return result.fail(ParseResult.Status.INVALID, 0, null);
+        }
+        return result.succeed(parsedEnd);
+    }
+
+    /**
+     * Checks if a text conforms to the format, without producing a date and time nor throwing an exception.
+     *
+     * <p>It returns {@code true} if and only if {@link #tryParse(CharSequence, PosixTm, ParseResult)} succeeds, but it
+     * does not allocate. A text is rejected first by the shape of its characters, such as runs of digits and letters,
+     * before parsing. Parsed fields are then checked in their ranges, and in their consistency in the resolver style.
+     *
+     * @param text  the text to check
+     * @return {@code true} if the text conforms to the format
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public boolean matches(final CharSequence text) {
+        return this.conforms(text, 0, text.length());
+    }
+
+    /**
+     * Checks if a region of bytes in ASCII or UTF-8 conforms to the format, without producing a date and time nor
+     * throwing an exception.
+     *
+     * @param bytes  the bytes which contain the region to check
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @return {@code true} if the region conforms to the format
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the bytes
+     */
+    public boolean matches(final byte[] bytes, final int start, final int end) {
+        checkRegion(bytes.length, start, end);
+        final ByteSequence.OfArray view = BYTE_ARRAY_VIEW.get().reset(bytes, start, end);
+        try {
+            return this.conforms(view, 0, view.length());
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Checks if the remaining bytes in ASCII or UTF-8 of a buffer conform to the format, without producing a date and
+     * time nor throwing an exception.
+     *
+     * @param buffer  the buffer to check, whose position is not changed
+     * @return {@code true} if the remaining bytes conform to the format
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public boolean matches(final ByteBuffer buffer) {
+        final ByteSequence.OfBuffer view = BYTE_BUFFER_VIEW.get().reset(buffer);
+        try {
+            return this.conforms(view, 0, view.length());
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses a text directly into seconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * <p>It creates no intermediate objects, such as {@link java.time.temporal.TemporalAccessor} nor {@link Instant}, except
+     * for errors.
+     *
+     * @param text  the text to parse
+     * @param defaultOffset  the offset from UTC used if the text does not contain an offset
+     * @return seconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the text cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public long parseEpochSecond(final CharSequence text, final ZoneOffset defaultOffset) {
+        return this.parseEpochSecond(text, 0, text.length(), defaultOffset);
+    }
+
+    /**
+     * Parses a region of a text directly into seconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param text  the text which contains the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param defaultOffset  the offset from UTC used if the region does not contain an offset
+     * @return seconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the region cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the text
+     */
+    public long parseEpochSecond(final CharSequence text, final int start, final int end, final ZoneOffset defaultOffset) {
+        return this.parse(text, start, end, SCRATCH.get()).toEpochSecond(defaultOffset.getTotalSeconds());
+    }
+
+    /**
+     * Parses a region of bytes in ASCII or UTF-8 directly into seconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param bytes  the bytes which contain the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param defaultOffset  the offset from UTC used if the region does not contain an offset
+     * @return seconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the region cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the bytes
+     */
+    public long parseEpochSecond(final byte[] bytes, final int start, final int end, final ZoneOffset defaultOffset) {
+        checkRegion(bytes.length, start, end);
+        final ByteSequence.OfArray view = BYTE_ARRAY_VIEW.get().reset(bytes, start, end);
+        try {
+            return this.parseEpochSecond(view, 0, view.length(), defaultOffset);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses the remaining bytes in ASCII or UTF-8 of a buffer directly into seconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param buffer  the buffer to parse, whose position is not changed
+     * @param defaultOffset  the offset from UTC used if the bytes do not contain an offset
+     * @return seconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the bytes cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public long parseEpochSecond(final ByteBuffer buffer, final ZoneOffset defaultOffset) {
+        final ByteSequence.OfBuffer view = BYTE_BUFFER_VIEW.get().reset(buffer);
+        try {
+            return this.parseEpochSecond(view, 0, view.length(), defaultOffset);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses a text directly into seconds from the epoch of 1970-01-01T00:00:00Z, filling fields missing in the text
+     * from a reference.
+     *
+     * @param text  the text to parse
+     * @param reference  the reference to fill the missing fields, whose offset is used if the text does not contain an offset
+     * @return seconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the text cannot be parsed
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @see #parse(CharSequence, ParseReference, PosixTm)
+     */
+    public long parseEpochSecond(final CharSequence text, final ParseReference reference) {
+        return this.parse(text, reference, SCRATCH.get()).toEpochSecond(reference.offset().getTotalSeconds());
+    }
+
+    /**
+     * Parses a text directly into milliseconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * <p>It creates no intermediate objects, such as {@link java.time.temporal.TemporalAccessor} nor {@link Instant}, except
+     * for errors.
+     *
+     * @param text  the text to parse
+     * @param defaultOffset  the offset from UTC used if the text does not contain an offset
+     * @return milliseconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the text cannot be parsed, or the result overflows milliseconds in {@code long}
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public long parseEpochMillis(final CharSequence text, final ZoneOffset defaultOffset) {
+        return this.parseEpochMillis(text, 0, text.length(), defaultOffset);
+    }
+
+    /**
+     * Parses a region of a text directly into milliseconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param text  the text which contains the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param defaultOffset  the offset from UTC used if the region does not contain an offset
+     * @return milliseconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the region cannot be parsed, or the result overflows milliseconds in {@code long}
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the text
+     */
+    public long parseEpochMillis(final CharSequence text, final int start, final int end, final ZoneOffset defaultOffset) {
+        final PosixTm tm = this.parse(text, start, end, SCRATCH.get());
+        try {
+            return Math.addExact(
+                    Math.multiplyExact(tm.toEpochSecond(defaultOffset.getTotalSeconds()), 1000L),
+                    tm.nanoOfSecond / 1_000_000);
+        } catch (final ArithmeticException ex) {
+            throw new DateTimeParseException(
+                    "Text '" + text + "' could not be parsed: out of the range of epoch milliseconds", text, start, ex);
+        }
+    }
+
+    /**
+     * Parses a region of bytes in ASCII or UTF-8 directly into milliseconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param bytes  the bytes which contain the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param defaultOffset  the offset from UTC used if the region does not contain an offset
+     * @return milliseconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the region cannot be parsed, or the result overflows milliseconds in {@code long}
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the bytes
+     */
+    public long parseEpochMillis(final byte[] bytes, final int start, final int end, final ZoneOffset defaultOffset) {
+        checkRegion(bytes.length, start, end);
+        final ByteSequence.OfArray view = BYTE_ARRAY_VIEW.get().reset(bytes, start, end);
+        try {
+            return this.parseEpochMillis(view, 0, view.length(), defaultOffset);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses the remaining bytes in ASCII or UTF-8 of a buffer directly into milliseconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param buffer  the buffer to parse, whose position is not changed
+     * @param defaultOffset  the offset from UTC used if the bytes do not contain an offset
+     * @return milliseconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the bytes cannot be parsed, or the result overflows milliseconds in {@code long}
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public long parseEpochMillis(final ByteBuffer buffer, final ZoneOffset defaultOffset) {
+        final ByteSequence.OfBuffer view = BYTE_BUFFER_VIEW.get().reset(buffer);
+        try {
+            return this.parseEpochMillis(view, 0, view.length(), defaultOffset);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * Parses a column of texts into epoch values in {@code unit}, and marks the rows which are parsed in a bitmap.
+     *
+     * <p>It never throws for rows which cannot be parsed, including {@code null}. Such rows are cleared in {@code validity},
+     * and their values are {@code 0}. Rows whose values overflow {@code long} in {@code unit} are also invalid. The bit of
+     * row {@code i} is {@code (validity[i >>> 6] >>> (i & 63)) & 1}, which is {@code 1} if the row is valid, in the same
+     * way as validity bitmaps of Apache Arrow.
+     *
+     * @param texts  the texts to parse
+     * @param defaultOffset  the offset from UTC used for texts which do not contain an offset
+     * @param unit  the unit of the epoch values, from {@link TimeUnit#NANOSECONDS} to {@link TimeUnit#SECONDS}
+     * @param values  the array to write the epoch values into, whose length is at least the number of rows
+     * @param validity  the bitmap to write the validity of rows into, whose length is at least {@code (rows + 63) / 64}
+     * @return the number of valid rows
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IllegalArgumentException  if {@code unit} is coarser than seconds, or the arrays are too short
+     */
+    public int parseBatch(
+            final CharSequence[] texts,
+            final ZoneOffset defaultOffset,
+            final TimeUnit unit,
+            final long[] values,
+            final long[] validity) {
+        checkBatch(texts.length, unit, values, validity);
+        final int defaultOffsetSeconds = defaultOffset.getTotalSeconds();
+        final PosixTm tm = SCRATCH.get();
+
+        int valid = 0;
+        for (int row = 0; row < texts.length; row++) {
+            final CharSequence text = texts[row];
+            if (text != null && this.parsesEntirely(text, 0, text.length(), tm)) {
+                valid += setBatchValue(row, tm, defaultOffsetSeconds, unit, values, validity);
+            } else {
+                setBatchInvalid(row, values, validity);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Parses a column of texts in ASCII or UTF-8 bytes into epoch values in {@code unit}, and marks the rows which are
+     * parsed in a bitmap.
+     *
+     * <p>Row {@code i} is the bytes from {@code offsets[i]}, inclusive, to {@code offsets[i + 1]}, exclusive, in the same
+     * way as variable-width binary columns of Apache Arrow. It works in the same way as
+     * {@link #parseBatch(CharSequence[], ZoneOffset, TimeUnit, long[], long[])} otherwise.
+     *
+     * @param bytes  the bytes of all the rows
+     * @param offsets  the offsets of rows in {@code bytes}, whose length is at least {@code rows + 1}
+     * @param rows  the number of rows
+     * @param defaultOffset  the offset from UTC used for texts which do not contain an offset
+     * @param unit  the unit of the epoch values, from {@link TimeUnit#NANOSECONDS} to {@link TimeUnit#SECONDS}
+     * @param values  the array to write the epoch values into, whose length is at least {@code rows}
+     * @param validity  the bitmap to write the validity of rows into, whose length is at least {@code (rows + 63) / 64}
+     * @return the number of valid rows
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IllegalArgumentException  if {@code unit} is coarser than seconds, or the arrays are too short
+     * @throws IndexOutOfBoundsException  if a row is out of the bytes
+     */
+    public int parseBatch(
+            final byte[] bytes,
+            final int[] offsets,
+            final int rows,
+            final ZoneOffset defaultOffset,
+            final TimeUnit unit,
+            final long[] values,
+            final long[] validity) {
+        checkBatch(rows, unit, values, validity);
+        if (offsets.length < rows + 1) {
+            throw new IllegalArgumentException("offsets is shorter than rows + 1: " + offsets.length);
+        }
+        final int defaultOffsetSeconds = defaultOffset.getTotalSeconds();
+        final PosixTm tm = SCRATCH.get();
+        final ByteSequence.OfArray view = BYTE_ARRAY_VIEW.get();
+
+        int valid = 0;
+        try {
+            for (int row = 0; row < rows; row++) {
+                checkRegion(bytes.length, offsets[row], offsets[row + 1]);
+                view.reset(bytes, offsets[row], offsets[row + 1]);
+                if (this.parsesEntirely(view, 0, view.length(), tm)) {
+                    valid += setBatchValue(row, tm, defaultOffsetSeconds, unit, values, validity);
+                } else {
+                    setBatchInvalid(row, values, validity);
+                }
+            }
+        } finally {
+            view.clear();
+        }
+        return valid;
+    }
+
+    /**
+     * Finds the first timestamp in the format in a text from {@code from}, such as a timestamp at any column of a log line.
+     *
+     * <p>The timestamp found is the leftmost substring which is parsed and resolved successfully. It does not have to be
+     * separated from the surrounding text. It anchors on the most selective literal in the format, such as {@code 'T'}
+     * in {@code "%Y-%m-%dT%H:%M:%S"}, and parses only around its occurrences. It tries every position if the format has
+     * no literal matched exactly, such as {@code "%Y%m%d%H%M%S"}, but skips positions which cannot start the format.
+     *
+     * @param text  the text to find a timestamp in
+     * @param from  the index to start finding from
+     * @return the timestamp found, or {@code null} if not found
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if {@code from} is out of the text
+     */
+    public TimestampMatch find(final CharSequence text, final int from) {
+        checkRegion(text.length(), from, text.length());
+        return this.timestampFinder().find(text, from, text.length(), this.resolverStyle);
+    }
+
+    /**
+     * Creates a parser for a stream of texts in the format, which reuses the previous text for the next one.
+     */
+    public DeltaParser newDeltaParser() {
+        return new DeltaParser(this.parsePlan(), this.resolverStyle);
+    }
+
+    /**
+     * Creates a parser for a stream of texts in the format, which interprets texts without an offset in a zone.
+     *
+     * @param zone  the zone to interpret the local date and time in
+     * @param policy  the policy for the local date and time in a gap or an overlap of a transition of the zone
+     */
+    public ZoneBoundParser newZoneBoundParser(final ZoneId zone, final ZoneBoundParser.TransitionPolicy policy) {
+        return new ZoneBoundParser(this, zone, policy);
+    }
+
+    /**
+     * Parses a region of a text entirely into the target quietly, just returning {@code false} if failed.
+     */
+    boolean parsesEntirely(final CharSequence text, final int start, final int end, final PosixTm target) {
+        target.clear();
+        return this.parsePlan().parse(text, start, end, target) == end && target.resolve(this.resolverStyle);
+    }
+
+    List<Specification> specifications() {
+        return this.formatSpecifications;
+    }
+
+    /**
+     * Returns the format string which the parts for parsing are compiled from, which is the canonical form in
+     * {@link #compileCached(String, Option...)} for another spelling.
+     */
+    String sharedForm() {
+        return this.engine.format;
+    }
+
+    private boolean conforms(final CharSequence text, final int start, final int end) {
+        this.parsePlan().checkAccepted();
+        final ShapeAutomaton shapeAutomaton = this.shapeAutomaton().orElse(null);
+        if (shapeAutomaton != null && shapeAutomaton.candidates(text, start, end) == 0L) {
+            return false;
+        }
+        return this.parsesEntirely(text, start, end, SCRATCH.get());
+    }
+
+    ParsePlan parsePlan() {
+        ParsePlan parsePlan = this.engine.parsePlan;
+        if (parsePlan == null) {
+            parsePlan = ParsePlan.of(this.engine.formatSpecifications, this.options);
+            this.engine.parsePlan = parsePlan;
+        }
+        return parsePlan;
+    }
+
+    private TimestampFinder timestampFinder() {
+        TimestampFinder timestampFinder = this.engine.timestampFinder;
+        if (timestampFinder == null) {
+            timestampFinder = TimestampFinder.of(this.parsePlan());
+            this.engine.timestampFinder = timestampFinder;
+        }
+        return timestampFinder;
+    }
+
+    private Optional<ShapeAutomaton> shapeAutomaton() {
+        Optional<ShapeAutomaton> shapeAutomaton = this.engine.shapeAutomaton;
+        if (shapeAutomaton == null) {
+            shapeAutomaton = Optional.ofNullable(shapeAutomatonOf(this.engine.formatSpecifications));
+            this.engine.shapeAutomaton = shapeAutomaton;
+        }
+        return shapeAutomaton;
+    }
+
+    /**
+     * Returns the conversion specification of this format which has failed in parsing at an index of the parse plan.
+     */
+    private Specification failedSpecification(final int index) {
+        if (this.failedSpecifications == null) {
+            return this.parsePlan().specification(index);
+        }
+        return this.failedSpecifications[index];
+    }
+
+    /**
+     * Maps each specification of the canonical form to the specification in another spelling which it is spelled from.
+     *
+     * <p>An expansion, such as {@code %H:%M:%S} of {@code %T}, is mapped to the composite as a whole.
+     */
+    private static Specification[] failedSpecificationsOf(
+            final List<Specification> specifications, final List<Specification> canonicalSpecifications, final Options options) {
+        final Specification[] mapped = new Specification[canonicalSpecifications.size()];
+        int i = 0;
+        int canonicalEnd = 0;
+        for (int j = 0; j < specifications.size(); j++) {
+            canonicalEnd += canonicalSpellingOf(specifications, j, options).length();
+            while (i < mapped.length && canonicalSpecifications.get(i).start < canonicalEnd) {
+                mapped[i] = specifications.get(j);
+                i++;
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Builds the automaton of the shape of the format to reject texts before parsing, or returns {@code null} if useless.
+     *
+     * <p>Literals must be in ASCII so that the shape matches both characters and bytes in UTF-8.
+     */
+    private static ShapeAutomaton shapeAutomatonOf(final List<Specification> specifications) {
+        for (final Specification specification : specifications) {
+            if (specification instanceof Literal) {
+                final String literal = ((Literal) specification).literal();
+                for (int i = 0; i < literal.length(); i++) {
+                    if (literal.charAt(i) >= 0x80) {
+                        return null;
+                    }
+                }
+            }
+        }
+        final ArrayList<ShapeAutomaton.Element> shape = new ArrayList<>();
+        if (!ShapeAutomaton.shapeOf(specifications, shape) && shape.isEmpty()) {
+            return null;
+        }
+        return ShapeAutomaton.of(Collections.singletonList(specifications));
+    }
+
+    /**
+     * Builds the canonical form of the format string from the specifications.
+     */
+    private static String canonicalFormOf(final List<Specification> specifications, final Options options) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < specifications.size(); i++) {
+            builder.append(canonicalSpellingOf(specifications, i, options));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the spelling of a specification in the canonical form of the format string.
+     */
+    private static String canonicalSpellingOf(final List<Specification> specifications, final int i, final Options options) {
+        final Specification specification = specifications.get(i);
+        final String expanded = expandedFormOf(specification, options);
+        if (expanded != null
+                && !(i > 0 && isAdjacentToExpansion(specifications.get(i - 1), options))
+                && !(i + 1 < specifications.size() && isAdjacentToExpansion(specifications.get(i + 1), options))) {
+            return expanded;
+        }
+        final String original = specification.original();
+        if (specification instanceof ConversionSpecification
+                && ((ConversionSpecification) specification).terminatingConversionSpecifier == ConversionType.POSIX_LOWER_H
+                && specification.modifier == '\0') {
+            return original.substring(0, original.length() - 1) + 'b';
+        }
+        return original;
+    }
+
+    /**
+     * Returns the expansion of a composite conversion specification which formats and parses in the same way, or {@code null}.
+     */
+    private static String expandedFormOf(final Specification specification, final Options options) {
+        if (!(specification instanceof ConversionSpecification) || !specification.isPlain()) {
+            return null;
+        }
+        switch (((ConversionSpecification) specification).terminatingConversionSpecifier) {
+            case POSIX_UPPER_T:
+                return "%H:%M:%S";
+            case POSIX_UPPER_R:
+                return "%H:%M";
+            case POSIX_UPPER_F:
+                // %Y-%m-%d is accepted for parsing even if %F is not.
+                return options.acceptsUpperCaseFForParsing() ? "%Y-%m-%d" : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns {@code true} if the specification would parse digits differently next to an expansion.
+     *
+     * <p>Digits next to digits are reserved for each other in parsing, and an expansion starts and ends with digits.
+     */
+    private static boolean isAdjacentToExpansion(final Specification specification, final Options options) {
+        return specification.fixedDigits() > 0
+                || specification.parsesVariableDigits()
+                || expandedFormOf(specification, options) != null;
+    }
+
+    /**
+     * Parses a region of a text into the target without resolving, and returns the end of parsing.
+     */
+    private int parseUnresolved(final CharSequence text, final int start, final int end, final PosixTm target) {
+        target.clear();
+        final int parsedEnd = this.parsePlan().parse(text, start, end, target);
+        if (parsedEnd < 0) {
+            throw new DateTimeParseException(
+                    "Text '" + text + "' could not be parsed at index " + (~parsedEnd), text, ~parsedEnd);
+        }
+        return parsedEnd;
+    }
+
+    private PosixTm resolve(final CharSequence text, final int start, final PosixTm target) {
+        if (!target.resolve(this.resolverStyle)) {
+            throw new DateTimeParseException(
+                    "Text '" + text + "' could not be parsed: invalid or conflicting date and time", text, start);
+        }
+        return target;
+    }
+
+    private static void checkBatch(final int rows, final TimeUnit unit, final long[] values, final long[] validity) {
+        if (unit.toNanos(1L) > NANOS_PER_SECOND) {
+            throw new IllegalArgumentException("Unit coarser than seconds is not accepted for epoch values: " + unit);
+        }
+        if (values.length < rows) {
+            throw new IllegalArgumentException("values is shorter than rows: " + values.length);
+        }
+        if (validity.length < (rows + 63) / 64) {
+            throw new IllegalArgumentException("validity is shorter than (rows + 63) / 64: " + validity.length);
+        }
+    }
+
+    /**
+     * Sets the epoch value of a resolved row in {@code unit}, and returns 1 if valid, or 0 if it overflows.
+     */
+    private static int setBatchValue(
+            final int row,
+            final PosixTm tm,
+            final int defaultOffsetSeconds,
+            final TimeUnit unit,
+            final long[] values,
+            final long[] validity) {
+        try {
+            values[row] = toEpochValue(tm, defaultOffsetSeconds, unit);
+        } catch (final ArithmeticException ex) {
+            setBatchInvalid(row, values, validity);
+            return 0;
+        }
+        validity[row >>> 6] |= 1L << row;
+        return 1;
+    }
+
+    /**
+     * Converts a resolved date and time into an epoch value in {@code unit}.
+     *
+     * @throws ArithmeticException  if the value overflows {@code long}
+     */
+    static long toEpochValue(final PosixTm tm, final int defaultOffsetSeconds, final TimeUnit unit) {
+        final long nanosPerUnit = unit.toNanos(1L);
+        return Math.addExact(
+                Math.multiplyExact(tm.toEpochSecond(defaultOffsetSeconds), NANOS_PER_SECOND / nanosPerUnit),
+                tm.nanoOfSecond / nanosPerUnit);
+    }
+
+    private static void setBatchInvalid(final int row, final long[] values, final long[] validity) {
+        values[row] = 0L;
+        validity[row >>> 6] &= ~(1L << row);
+    }
+
+    private static void checkRegion(final int length, final int start, final int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException(
+                    "Region [" + start + ", " + end + ") is out of the length " + length);
+        }
     }
 
     public DateTimeFormatter toDateTimeFormatter() {
@@ -133,13 +1173,79 @@ public final class PosixTimeFormat {
         return this.toDateTimeFormatter(Optional.empty(), paddingStyle);
     }
 
+    /**
+     * Converts this format to {@link DateTimeFormatter} with a locale, and a padding style.
+     *
+     * <p>The converted formatter is cached in the process for the format string, the options, the resolver style, the
+     * padding style, and the locale, then it is cheap to call it for each request, even with a format compiled for each
+     * request by {@link #compile(String, Option...)}. Up to 256 formatters are cached.
+     *
+     * @param locale  the locale of the formatter, or empty for {@link Locale#ROOT}
+     * @param paddingStyle  the padding style
+     * @return the formatter
+     */
     public DateTimeFormatter toDateTimeFormatter(final Optional<Locale> locale, final PaddingStyle paddingStyle) {
+        return DATE_TIME_FORMATTERS.get(
+                this.format, this.options, this.resolverStyle, paddingStyle, locale, () -> this.buildDateTimeFormatter(paddingStyle, locale));
+    }
+
+    private DateTimeFormatter buildDateTimeFormatter(final PaddingStyle paddingStyle, final Optional<Locale> locale) {
         final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
         for (final Specification specification : this.formatSpecifications) {
             specification.appendTo(builder, paddingStyle, locale);
         }
-        return builder.toFormatter(locale.orElse(Locale.ROOT));
+        return builder.toFormatter(locale.orElse(Locale.ROOT)).withResolverStyle(this.resolverStyle);
     }
 
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final int COMPILE_CACHE_SIZE = 1024;
+
+    private static final CompileCache COMPILE_CACHE = new CompileCache(COMPILE_CACHE_SIZE);
+
+    private static final int DATE_TIME_FORMATTER_CACHE_SIZE = 256;
+
+    private static final DateTimeFormatterCache DATE_TIME_FORMATTERS = new DateTimeFormatterCache(DATE_TIME_FORMATTER_CACHE_SIZE);
+
+    // A scratch to parse into for each thread, which is cleared before parsing.
+    private static final ThreadLocal<PosixTm> SCRATCH = ThreadLocal.withInitial(PosixTm::new);
+
+    // Views of bytes for each thread, which are cleared after parsing not to keep the bytes.
+    private static final ThreadLocal<ByteSequence.OfArray> BYTE_ARRAY_VIEW = ThreadLocal.withInitial(ByteSequence.OfArray::new);
+    private static final ThreadLocal<ByteSequence.OfBuffer> BYTE_BUFFER_VIEW = ThreadLocal.withInitial(ByteSequence.OfBuffer::new);
+
+    // The format string as given, which is the key of the formatters converted by toDateTimeFormatter().
+    private final String format;
+
     private final List<Specification> formatSpecifications;
+
+    private final Options options;
+
+    private final ResolverStyle resolverStyle;
+
+    private final Specification[] directSpecifications;
+
+    // The specifications of this format for each index of the parse plan, or null if the parse plan is of this format.
+    private final Specification[] failedSpecifications;
+
+    // The format compiled from the format string, which holds the traits and the canonical form built lazily for its
+    // copies by withResolverStyle. The parts are built on the first use racily, as another thread may build an
+    // equivalent one.
+    private final PosixTimeFormat base;
+
+    // The format compiled from the canonical form in compileCached, or the base, which holds the parts for parsing
+    // built lazily for the formats in other spellings.
+    private final PosixTimeFormat engine;
+
+    private volatile ParsePlan parsePlan;
+
+    private volatile TimestampFinder timestampFinder;
+
+    // The shape of the format to reject texts quickly in matches(), which is empty if useless.
+    private volatile Optional<ShapeAutomaton> shapeAutomaton;
+
+    private volatile FormatTraits traits;
+
+    // The format string with equivalent spellings unified, which is the key of the compile cache.
+    private volatile String canonicalForm;
 }
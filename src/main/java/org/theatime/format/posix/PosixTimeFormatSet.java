@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.DateTimeException;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parses a text with the first matching format in a set of formats.
+ *
+ * <p>The formats are compiled into an automaton which branches on literal characters and the lengths of runs of digits
+ * and letters. A single walk over a text decides which formats can match the text, and then only those formats parse
+ * the text, in the order in the set. Formats which cannot match are never tried.
+ *
+ * <p>It is immutable, and thread-safe. Up to 64 formats can be in a set.
+ */
+public final class PosixTimeFormatSet {
+    private PosixTimeFormatSet(final List<PosixTimeFormat> formats) {
+        this.formats = formats.toArray(new PosixTimeFormat[0]);
+
+        final ArrayList<List<Specification>> specifications = new ArrayList<>();
+        for (final PosixTimeFormat format : this.formats) {
+            specifications.add(format.specifications());
+        }
+        this.automaton = ShapeAutomaton.of(specifications);
+    }
+
+    /**
+     * Builds a set of compiled formats, which are tried in the order.
+     *
+     * @throws IllegalArgumentException  if more than 64 formats are given
+     */
+    public static PosixTimeFormatSet of(final PosixTimeFormat... formats) {
+        return of(Arrays.asList(formats));
+    }
+
+    /**
+     * Builds a set of compiled formats, which are tried in the order.
+     *
+     * @throws IllegalArgumentException  if more than 64 formats are given
+     */
+    public static PosixTimeFormatSet of(final List<PosixTimeFormat> formats) {
+        return new PosixTimeFormatSet(formats);
+    }
+
+    /**
+     * Compiles formats with the same options into a set, which are tried in the order.
+     *
+     * @throws IllegalArgumentException  if more than 64 formats are given
+     */
+    public static PosixTimeFormatSet compile(final List<String> formats, final PosixTimeFormat.Option... options) {
+        final ArrayList<PosixTimeFormat> compiled = new ArrayList<>();
+        for (final String format : formats) {
+            compiled.add(PosixTimeFormat.compile(format, options));
+        }
+        return new PosixTimeFormatSet(compiled);
+    }
+
+    public int size() {
+        return this.formats.length;
+    }
+
+    public PosixTimeFormat get(final int index) {
+        return this.formats[index];
+    }
+
+    public List<PosixTimeFormat> formats() {
+        return Collections.unmodifiableList(Arrays.asList(this.formats));
+    }
+
+    /**
+     * Parses a text with the first matching format into a {@link PosixTm}.
+     *
+     * @param text  the text to parse
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the index of the format which has parsed the text
+     * @throws DateTimeParseException  if no format in the set parses the text
+     * @throws DateTimeException  if a tried format contains a conversion specification not accepted for parsing
+     */
+    public int parse(final CharSequence text, final PosixTm target) {
+        final int index = this.tryParse(text, 0, text.length(), target);
+        if (index < 0) {
+            throw new DateTimeParseException("Text '" + text + "' could not be parsed with any of the formats", text, 0);
+        }
+        return index;
+    }
+
+    /**
+     * Parses a text with the first matching format into a {@link PosixTm} without throwing an exception for a text
+     * which cannot be parsed.
+     *
+     * @param text  the text to parse
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the index of the format which has parsed the text, or {@code -1} if no format parses the text
+     * @throws DateTimeException  if a tried format contains a conversion specification not accepted for parsing
+     */
+    public int tryParse(final CharSequence text, final PosixTm target) {
+        return this.tryParse(text, 0, text.length(), target);
+    }
+
+    /**
+     * Parses a region of a text with the first matching format into a {@link PosixTm} without throwing an exception
+     * for a text which cannot be parsed.
+     *
+     * @param text  the text which contains the region to parse
+     * @param start  the start index of the region, inclusive
+     * @param end  the end index of the region, exclusive
+     * @param target  the holder to overwrite with the parsed date and time
+     * @return the index of the format which has parsed the region entirely, or {@code -1} if no format parses the region
+     * @throws DateTimeException  if a tried format contains a conversion specification not accepted for parsing
+     * @throws IndexOutOfBoundsException  if the region is out of the text
+     */
+    public int tryParse(final CharSequence text, final int start, final int end, final PosixTm target) {
+        if (start < 0 || start > end || end > text.length()) {
+            throw new IndexOutOfBoundsException(
+                    "Region [" + start + ", " + end + ") is out of the length " + text.length());
+        }
+        long candidates = this.automaton.candidates(text, start, end);
+        while (candidates != 0L) {
+            final int index = Long.numberOfTrailingZeros(candidates);
+            if (this.formats[index].parsesEntirely(text, start, end, target)) {
+                return index;
+            }
+            candidates &= candidates - 1;
+        }
+        return -1;
+    }
+
+    private final PosixTimeFormat[] formats;
+
+    private final ShapeAutomaton automaton;
+}
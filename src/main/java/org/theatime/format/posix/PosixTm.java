@@ -0,0 +1,676 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.ZoneOffset;
+import java.time.format.ResolverStyle;
+
+/**
+ * Holds broken-down date and time fields, like {@code struct tm} in C.
+ *
+ * <p>Unlike {@code struct tm}, the year is the proleptic year as-is, the month is from 1 to 12, and the day of the
+ * week is the ISO day of the week from 1 (Monday) to 7 (Sunday), in the same way as {@link java.time.temporal.ChronoField}.
+ *
+ * <p>It is mutable, and reusable. {@link PosixTimeFormat#parse(CharSequence, PosixTm)} overwrites all the fields in
+ * an instance given as a target so that parsing a large number of texts does not need to allocate an instance for
+ * each text. Fields missing in a parsed text are filled from 1970-01-01T00:00:00. An instance is not thread-safe.
+ */
+public final class PosixTm {
+    public PosixTm() {
+        this.parsed = new int[FIELDS];
+        this.clear();
+    }
+
+    public int getYear() {
+        return this.year;
+    }
+
+    /**
+     * Returns the month, from 1 (January) to 12 (December).
+     */
+    public int getMonth() {
+        return this.month;
+    }
+
+    public int getDayOfMonth() {
+        return this.dayOfMonth;
+    }
+
+    public int getDayOfYear() {
+        return this.dayOfYear;
+    }
+
+    /**
+     * Returns the ISO day of the week, from 1 (Monday) to 7 (Sunday).
+     */
+    public int getDayOfWeek() {
+        return this.dayOfWeek;
+    }
+
+    public int getHour() {
+        return this.hour;
+    }
+
+    public int getMinute() {
+        return this.minute;
+    }
+
+    public int getSecond() {
+        return this.second;
+    }
+
+    public int getNanoOfSecond() {
+        return this.nanoOfSecond;
+    }
+
+    /**
+     * Returns the offset from UTC in seconds, or {@code 0} if {@link #hasOffset()} is {@code false}.
+     */
+    public int getOffsetSeconds() {
+        return this.offsetSeconds;
+    }
+
+    /**
+     * Returns {@code true} if the offset from UTC has been parsed.
+     */
+    public boolean hasOffset() {
+        return this.hasOffset;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(this.year).append('-');
+        Specification.appendTwoDigits(builder, this.month);
+        builder.append('-');
+        Specification.appendTwoDigits(builder, this.dayOfMonth);
+        builder.append('T');
+        Specification.appendTwoDigits(builder, this.hour);
+        builder.append(':');
+        Specification.appendTwoDigits(builder, this.minute);
+        builder.append(':');
+        Specification.appendTwoDigits(builder, this.second);
+        if (this.nanoOfSecond > 0) {
+            builder.append('.');
+            Specification.appendNumber(builder, this.nanoOfSecond, 9);
+        }
+        if (this.hasOffset) {
+            builder.append(this.offsetSeconds >= 0 ? "+" : "-");
+            final int absOffsetSeconds = Math.abs(this.offsetSeconds);
+            Specification.appendTwoDigits(builder, absOffsetSeconds / 3600);
+            builder.append(':');
+            Specification.appendTwoDigits(builder, (absOffsetSeconds / 60) % 60);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Sets all the fields from seconds from the epoch of 1970-01-01T00:00:00Z with an offset from UTC.
+     */
+    PosixTm setEpochSecond(final long epochSecond, final int nanoOfSecond, final int offsetSeconds) {
+        final long localSecond = epochSecond + offsetSeconds;
+        final long epochDay = Math.floorDiv(localSecond, SECONDS_PER_DAY);
+        final int secondOfDay = (int) (localSecond - epochDay * SECONDS_PER_DAY);
+
+        this.setEpochDay(epochDay);
+        this.hour = secondOfDay / 3600;
+        this.minute = (secondOfDay / 60) % 60;
+        this.second = secondOfDay % 60;
+        this.nanoOfSecond = nanoOfSecond;
+        this.offsetSeconds = offsetSeconds;
+        this.hasOffset = true;
+        return this;
+    }
+
+    void setEpochDay(final long epochDay) {
+        final long packedDate = CivilCalendar.defaultWindow().toPackedDate(epochDay);
+        this.epochDay = epochDay;
+        this.year = CivilCalendar.year(packedDate);
+        this.month = CivilCalendar.month(packedDate);
+        this.dayOfMonth = CivilCalendar.dayOfMonth(packedDate);
+        this.dayOfYear = CivilCalendar.dayOfYear(packedDate);
+        this.dayOfWeek = CivilCalendar.dayOfWeek(epochDay);
+    }
+
+    /**
+     * Resets all the fields to 1970-01-01T00:00:00 without an offset, and forgets all the parsed fields.
+     */
+    void clear() {
+        this.setEpochDay(0L);
+        this.hour = 0;
+        this.minute = 0;
+        this.second = 0;
+        this.nanoOfSecond = 0;
+        this.offsetSeconds = 0;
+        this.hasOffset = false;
+        this.present = 0;
+        this.failedSpecification = -1;
+    }
+
+    /**
+     * Sets a parsed field, which is resolved later by {@link #resolve()}.
+     */
+    void set(final int field, final int value) {
+        this.parsed[field] = value;
+        this.present |= (1 << field);
+    }
+
+    boolean has(final int field) {
+        return (this.present & (1 << field)) != 0;
+    }
+
+    int get(final int field) {
+        return this.parsed[field];
+    }
+
+    /**
+     * Resolves the parsed fields into the date and time fields in the same way as {@link ResolverStyle#SMART}.
+     *
+     * @return {@code true} if resolved, or {@code false} if the parsed fields are out of range or conflicting
+     */
+    boolean resolve() {
+        return this.resolve(ResolverStyle.SMART);
+    }
+
+    /**
+     * Resolves the parsed fields into the date and time fields with plain {@code int} arithmetic in a resolver style.
+     *
+     * <p>{@link ResolverStyle#STRICT} rejects a day of the month beyond the month, a year of the century without a
+     * century or a year, and a century conflicting with the year. {@link ResolverStyle#SMART} changes such a day of the
+     * month to the last day in the month, guesses the century from 1969 to 2068, and resolves 24:00:00 to the midnight
+     * of the next day. {@link ResolverStyle#LENIENT} does not check ranges, and adds months, days, hours, minutes, and
+     * seconds out of range to the date and time. A year of the century with a month and a day of the month always
+     * requires a valid date, in the same way as {@link PosixFields#YEAR_OF_POSIX_CENTURY_1969_2068}.
+     *
+     * @return {@code true} if resolved, or {@code false} if the parsed fields are out of range or conflicting
+     */
+    boolean resolve(final ResolverStyle resolverStyle) {
+        return this.resolveDate(resolverStyle) && this.resolveTime(resolverStyle);
+    }
+
+    /**
+     * Resolves the parsed fields in a resolver style with fields missing filled from a reference, instead of 1970-01-01.
+     *
+     * <p>A date without a year is resolved in the year nearest to the reference. The year of the reference is tried
+     * first, which is the nearest unless the date is more than a half year away. A time without a date is moved to the
+     * day nearest to the reference, keeping days added by {@link ResolverStyle#LENIENT}.
+     *
+     * @return {@code true} if resolved, or {@code false} if the parsed fields are out of range or conflicting
+     */
+    boolean resolve(final ResolverStyle resolverStyle, final ParseReference reference) {
+        if ((this.present & DATE_FIELDS) == 0) {
+            if (!this.resolve(resolverStyle)) {
+                return false;
+            }
+            final long epochDay = reference.epochDay + this.epochDay;
+            final long distance = epochDay * SECONDS_PER_DAY + this.secondOfDay() - reference.localSecond;
+            if (distance > SECONDS_PER_DAY / 2) {
+                this.setEpochDay(epochDay - 1);
+            } else if (distance < -SECONDS_PER_DAY / 2) {
+                this.setEpochDay(epochDay + 1);
+            } else {
+                this.setEpochDay(epochDay);
+            }
+            return true;
+        }
+        if ((this.present & YEAR_FIELDS) != 0) {
+            return this.resolve(resolverStyle);
+        }
+
+        this.set(YEAR, reference.year);
+        if (!this.resolve(resolverStyle) || Math.abs(this.localSecond() - reference.localSecond) > SECONDS_PER_HALF_YEAR) {
+            int nearestYear = 0;
+            long nearestDistance = Long.MAX_VALUE;
+            for (int year = reference.year - 1; year <= reference.year + 1; year++) {
+                this.set(YEAR, year);
+                if (this.resolve(resolverStyle) && Math.abs(this.localSecond() - reference.localSecond) < nearestDistance) {
+                    nearestYear = year;
+                    nearestDistance = Math.abs(this.localSecond() - reference.localSecond);
+                }
+            }
+            if (nearestDistance == Long.MAX_VALUE) {
+                this.present &= ~(1 << YEAR);
+                return false;
+            }
+            this.set(YEAR, nearestYear);
+            this.resolve(resolverStyle);
+        }
+        this.present &= ~(1 << YEAR);
+        return true;
+    }
+
+    /**
+     * Resolves the parsed date fields into the date fields.
+     */
+    boolean resolveDate(final ResolverStyle resolverStyle) {
+        final boolean strict = resolverStyle == ResolverStyle.STRICT;
+        final boolean lenient = resolverStyle == ResolverStyle.LENIENT;
+
+        // Year
+        final long year;
+        if (this.has(YEAR_OF_CENTURY)) {
+            final int yearOfCentury = this.get(YEAR_OF_CENTURY);
+            if (!lenient && (yearOfCentury < 0 || yearOfCentury > 99)) {
+                return false;
+            }
+            if (this.has(CENTURY)) {
+                if (strict && this.has(YEAR) && this.get(YEAR) / 100 != this.get(CENTURY)) {
+                    return false;
+                }
+                year = this.get(CENTURY) * 100L + yearOfCentury;
+            } else if (this.has(YEAR)) {
+                year = (this.get(YEAR) / 100) * 100L + yearOfCentury;
+            } else if (strict) {
+                // STRICT does not guess the century only from the year of the century.
+                return false;
+            } else {
+                year = (yearOfCentury >= 69 ? 1900 : 2000) + yearOfCentury;
+            }
+        } else if (this.has(YEAR)) {
+            if (strict && this.has(CENTURY) && this.get(YEAR) / 100 != this.get(CENTURY)) {
+                return false;
+            }
+            year = this.get(YEAR);
+        } else if (this.has(CENTURY)) {
+            year = this.get(CENTURY) * 100L;
+        } else {
+            year = 1970;
+        }
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return false;
+        }
+
+        if (this.has(DAY_OF_WEEK) && (this.get(DAY_OF_WEEK) < 1 || this.get(DAY_OF_WEEK) > 7)) {
+            return false;
+        }
+
+        // Date
+        final CivilCalendar.Window window = CivilCalendar.defaultWindow();
+        final long epochDay;
+        if (this.has(MONTH) || this.has(DAY_OF_MONTH)) {
+            final int month = this.has(MONTH) ? this.get(MONTH) : 1;
+            final int dayOfMonth = this.has(DAY_OF_MONTH) ? this.get(DAY_OF_MONTH) : 1;
+            if (this.has(YEAR_OF_CENTURY) && this.has(MONTH) && this.has(DAY_OF_MONTH)) {
+                // The year of the century composes a valid date with the month and the day in any style, as LocalDate#of
+                // in PosixFields#YEAR_OF_POSIX_CENTURY_1969_2068.
+                if (month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > CivilCalendar.lengthOfMonth(year, month)) {
+                    return false;
+                }
+                epochDay = window.toEpochDay(year, month, dayOfMonth);
+            } else if (lenient) {
+                // Months and days out of range are added to the first day of the year.
+                final long months = year * 12L + (month - 1);
+                final long lenientYear = Math.floorDiv(months, 12L);
+                if (lenientYear < MIN_YEAR || lenientYear > MAX_YEAR) {
+                    return false;
+                }
+                epochDay = window.toEpochDay(lenientYear, (int) Math.floorMod(months, 12L) + 1, 1) + dayOfMonth - 1;
+            } else {
+                if (month < 1 || month > 12 || dayOfMonth < 1 || dayOfMonth > 31) {
+                    return false;
+                }
+                final int lengthOfMonth = CivilCalendar.lengthOfMonth(year, month);
+                if (strict && dayOfMonth > lengthOfMonth) {
+                    return false;
+                }
+                // SMART changes the day of the month to the last valid day in the month.
+                epochDay = window.toEpochDay(year, month, Math.min(dayOfMonth, lengthOfMonth));
+            }
+        } else if (this.has(DAY_OF_YEAR)) {
+            final int dayOfYear = this.get(DAY_OF_YEAR);
+            if (!lenient && (dayOfYear < 1 || dayOfYear > CivilCalendar.lengthOfYear(year))) {
+                return false;
+            }
+            epochDay = window.toEpochDayOfYearStart(year) + dayOfYear - 1;
+        } else if (this.has(ISO_WEEK_OF_WEEK_BASED_YEAR) || this.has(ISO_WEEK_BASED_YEAR) || this.has(ISO_WEEK_BASED_YEAR_OF_CENTURY)) {
+            final long weekBasedYear;
+            if (this.has(ISO_WEEK_BASED_YEAR_OF_CENTURY)) {
+                final int weekBasedYearOfCentury = this.get(ISO_WEEK_BASED_YEAR_OF_CENTURY);
+                if (!lenient && (weekBasedYearOfCentury < 0 || weekBasedYearOfCentury > 99)) {
+                    return false;
+                }
+                if (this.has(ISO_WEEK_BASED_YEAR)) {
+                    weekBasedYear = (this.get(ISO_WEEK_BASED_YEAR) / 100) * 100L + weekBasedYearOfCentury;
+                } else if (this.has(CENTURY)) {
+                    weekBasedYear = this.get(CENTURY) * 100L + weekBasedYearOfCentury;
+                } else if (strict) {
+                    return false;
+                } else {
+                    weekBasedYear = (weekBasedYearOfCentury >= 69 ? 1900 : 2000) + weekBasedYearOfCentury;
+                }
+            } else if (this.has(ISO_WEEK_BASED_YEAR)) {
+                weekBasedYear = this.get(ISO_WEEK_BASED_YEAR);
+            } else {
+                weekBasedYear = year;
+            }
+            if (weekBasedYear < MIN_YEAR || weekBasedYear > MAX_YEAR) {
+                return false;
+            }
+            final int week = this.has(ISO_WEEK_OF_WEEK_BASED_YEAR) ? this.get(ISO_WEEK_OF_WEEK_BASED_YEAR) : 1;
+            if (!lenient && (week < 1 || week > window.weeksInWeekBasedYear(weekBasedYear))) {
+                return false;
+            }
+            // Monday is the first day of a week without the day of the week.
+            final int dayOfWeek = this.has(DAY_OF_WEEK) ? this.get(DAY_OF_WEEK) : 1;
+            epochDay = CivilCalendar.toEpochDayOfWeekBasedYearStart(window.toEpochDayOfYearStart(weekBasedYear))
+                    + (week - 1) * 7L + (dayOfWeek - 1);
+        } else if (this.has(DAY_OF_WEEK) && (this.has(WEEK_OF_YEAR_STARTING_FROM_SUNDAY) || this.has(WEEK_OF_YEAR_STARTING_FROM_MONDAY))) {
+            final int week = this.has(WEEK_OF_YEAR_STARTING_FROM_SUNDAY)
+                    ? this.get(WEEK_OF_YEAR_STARTING_FROM_SUNDAY)
+                    : this.get(WEEK_OF_YEAR_STARTING_FROM_MONDAY);
+            // The week is in [0, 54] as WeekFields#weekOfYear. Only STRICT rejects a date out of the year, as WeekFields.
+            if (!lenient && (week < 0 || week > 54)) {
+                return false;
+            }
+            final long yearStart = window.toEpochDayOfYearStart(year);
+            final int dayOfYearFromZero = dayOfYearFromWeek(CivilCalendar.dayOfWeek(yearStart));
+            if (strict && (dayOfYearFromZero < 0 || dayOfYearFromZero >= CivilCalendar.lengthOfYear(year))) {
+                return false;
+            }
+            epochDay = yearStart + dayOfYearFromZero;
+        } else {
+            epochDay = window.toEpochDayOfYearStart(year);
+        }
+        this.setEpochDay(epochDay);
+
+        if (this.has(DAY_OF_YEAR) && (this.has(MONTH) || this.has(DAY_OF_MONTH)) && this.get(DAY_OF_YEAR) != this.dayOfYear) {
+            return false;
+        }
+        if (this.has(DAY_OF_WEEK)) {
+            if (this.has(MONTH) || this.has(DAY_OF_MONTH) || this.has(DAY_OF_YEAR)) {
+                if (this.get(DAY_OF_WEEK) != this.dayOfWeek) {
+                    return false;
+                }
+            } else {
+                // The day of the week is given without a date, or in a week.
+                this.dayOfWeek = this.get(DAY_OF_WEEK);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the parsed time fields into the time fields, independently from the date fields except for
+     * {@link ResolverStyle#LENIENT}, and 24:00:00 in {@link ResolverStyle#SMART}, which may add days to the date.
+     */
+    boolean resolveTime(final ResolverStyle resolverStyle) {
+        final boolean lenient = resolverStyle == ResolverStyle.LENIENT;
+        final boolean smart = resolverStyle == ResolverStyle.SMART;
+
+        final int hour;
+        if (this.has(CLOCK_HOUR)) {
+            final int clockHour = this.get(CLOCK_HOUR);
+            if (!lenient && (clockHour < 1 || clockHour > 12)) {
+                return false;
+            }
+            hour = (clockHour == 12 ? 0 : clockHour) + (this.has(AMPM) ? this.get(AMPM) * 12 : 0);
+            if (this.has(HOUR) && this.get(HOUR) != hour) {
+                return false;
+            }
+        } else if (this.has(HOUR)) {
+            hour = this.get(HOUR);
+            if (!lenient && (hour < 0 || hour > (smart ? 24 : 23))) {
+                return false;
+            }
+            if (this.has(AMPM) && this.get(AMPM) != hour / 12) {
+                return false;
+            }
+        } else {
+            hour = 0;
+        }
+        final int minute = this.has(MINUTE) ? this.get(MINUTE) : 0;
+        final int second = this.has(SECOND) ? this.get(SECOND) : 0;
+        final int nanoOfSecond = this.has(NANO_OF_SECOND) ? this.get(NANO_OF_SECOND) : 0;
+        if (!lenient && (minute < 0 || minute > 59 || second < 0 || second > 59)) {
+            return false;
+        }
+
+        if (hour == 24 && smart) {
+            // SMART accepts only 24:00:00 as the midnight at the end of the day, as java.time.format.Parsed.
+            if (minute != 0 || second != 0 || nanoOfSecond != 0) {
+                return false;
+            }
+            this.setEpochDay(this.epochDay + 1);
+            this.hour = 0;
+            this.minute = 0;
+            this.second = 0;
+        } else if (lenient) {
+            // Hours, minutes, and seconds out of range are added to the date.
+            final int secondOfDay = hour * 3600 + minute * 60 + second;
+            final int days = Math.floorDiv(secondOfDay, SECONDS_PER_DAY_INT);
+            if (days != 0) {
+                this.setEpochDay(this.epochDay + days);
+            }
+            final int normalized = secondOfDay - days * SECONDS_PER_DAY_INT;
+            this.hour = normalized / 3600;
+            this.minute = (normalized / 60) % 60;
+            this.second = normalized % 60;
+        } else {
+            this.hour = hour;
+            this.minute = minute;
+            this.second = second;
+        }
+        this.nanoOfSecond = nanoOfSecond;
+
+        this.hasOffset = this.has(OFFSET_SECONDS);
+        this.offsetSeconds = this.hasOffset ? this.get(OFFSET_SECONDS) : 0;
+        return true;
+    }
+
+    /**
+     * Returns the day of the year from 0 by {@code %U} or {@code %W} and the day of the week, which may be out of the year.
+     *
+     * @param dayOfWeekOfYearStart  the ISO day of the week of January 1
+     */
+    private int dayOfYearFromWeek(final int dayOfWeekOfYearStart) {
+        final int dayOfWeek = this.get(DAY_OF_WEEK);
+        if (this.has(WEEK_OF_YEAR_STARTING_FROM_SUNDAY)) {
+            // The first Sunday of January is the first day of week 1.
+            final int firstSunday = (7 - dayOfWeekOfYearStart % 7) % 7;
+            return firstSunday + (this.get(WEEK_OF_YEAR_STARTING_FROM_SUNDAY) - 1) * 7 + dayOfWeek % 7;
+        }
+        // The first Monday of January is the first day of week 1.
+        final int firstMonday = (8 - dayOfWeekOfYearStart) % 7;
+        return firstMonday + (this.get(WEEK_OF_YEAR_STARTING_FROM_MONDAY) - 1) * 7 + dayOfWeek - 1;
+    }
+
+    /**
+     * Saves the parsed fields, and which of them are present, into {@code snapshot} of {@link #SNAPSHOT_SIZE}.
+     */
+    void saveParsed(final int[] snapshot) {
+        System.arraycopy(this.parsed, 0, snapshot, 0, FIELDS);
+        snapshot[FIELDS] = this.present;
+    }
+
+    /**
+     * Restores the parsed fields saved by {@link #saveParsed(int[])}. The resolved fields are kept as-is.
+     */
+    void restoreParsed(final int[] snapshot) {
+        System.arraycopy(snapshot, 0, this.parsed, 0, FIELDS);
+        this.present = snapshot[FIELDS];
+        this.failedSpecification = -1;
+    }
+
+    /**
+     * Copies the resolved date fields from {@code other}. The parsed fields and the time fields are kept as-is.
+     */
+    void copyDate(final PosixTm other) {
+        this.year = other.year;
+        this.month = other.month;
+        this.dayOfMonth = other.dayOfMonth;
+        this.dayOfYear = other.dayOfYear;
+        this.dayOfWeek = other.dayOfWeek;
+        this.epochDay = other.epochDay;
+    }
+
+    /**
+     * Returns {@code true} if the parsed date fields are the same as the ones saved by {@link #saveParsed(int[])}.
+     */
+    boolean hasSameParsedDate(final int[] snapshot) {
+        final int presentDate = this.present & DATE_FIELDS;
+        if (presentDate != (snapshot[FIELDS] & DATE_FIELDS)) {
+            return false;
+        }
+        for (int field = 0; field < HOUR; field++) {
+            if ((presentDate & (1 << field)) != 0 && this.parsed[field] != snapshot[field]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns seconds from the epoch of 1970-01-01T00:00:00Z of the date and time.
+     *
+     * @param defaultOffset  the offset from UTC used if no offset has been parsed
+     * @return seconds from the epoch of 1970-01-01T00:00:00Z
+     */
+    public long toEpochSecond(final ZoneOffset defaultOffset) {
+        return this.toEpochSecond(defaultOffset.getTotalSeconds());
+    }
+
+    /**
+     * Returns seconds from the epoch of 1970-01-01T00:00:00Z of the resolved date and time.
+     *
+     * @param defaultOffsetSeconds  the offset from UTC in seconds used if no offset has been parsed
+     */
+    long toEpochSecond(final int defaultOffsetSeconds) {
+        final int offset = this.hasOffset ? this.offsetSeconds : defaultOffsetSeconds;
+        return this.epochDay * SECONDS_PER_DAY + this.hour * 3600 + this.minute * 60 + this.second - offset;
+    }
+
+    private int secondOfDay() {
+        return this.hour * 3600 + this.minute * 60 + this.second;
+    }
+
+    /**
+     * Returns the local date and time in seconds from 1970-01-01T00:00:00, ignoring the offset.
+     */
+    long localSecond() {
+        return this.epochDay * SECONDS_PER_DAY + this.secondOfDay();
+    }
+
+    /**
+     * Returns the hour of the 12-hour clock, from 1 to 12.
+     */
+    int clockHourOfAmPm() {
+        final int hourOfAmPm = this.hour % 12;
+        return hourOfAmPm == 0 ? 12 : hourOfAmPm;
+    }
+
+    /**
+     * Returns the week number of the year as {@code %U}, where the first Sunday of January is the first day of week 1.
+     */
+    int weekOfYearStartingFromSunday() {
+        return (this.dayOfYear + 6 - (this.dayOfWeek % 7)) / 7;
+    }
+
+    /**
+     * Returns the week number of the year as {@code %W}, where the first Monday of January is the first day of week 1.
+     */
+    int weekOfYearStartingFromMonday() {
+        return (this.dayOfYear + 6 - (this.dayOfWeek - 1)) / 7;
+    }
+
+    /**
+     * Returns the ISO 8601 week number as {@code %V}, from 1 to 53.
+     */
+    int isoWeekOfWeekBasedYear() {
+        final int week = (this.dayOfYear - this.dayOfWeek + 10) / 7;
+        if (week < 1) {
+            return CivilCalendar.defaultWindow().weeksInWeekBasedYear(this.year - 1L);
+        }
+        if (week == 53 && CivilCalendar.defaultWindow().weeksInWeekBasedYear(this.year) == 52) {
+            return 1;
+        }
+        return week;
+    }
+
+    /**
+     * Returns the ISO 8601 week-based year as {@code %G}.
+     */
+    int isoWeekBasedYear() {
+        final int week = (this.dayOfYear - this.dayOfWeek + 10) / 7;
+        if (week < 1) {
+            return this.year - 1;
+        }
+        if (week == 53 && CivilCalendar.defaultWindow().weeksInWeekBasedYear(this.year) == 52) {
+            return this.year + 1;
+        }
+        return this.year;
+    }
+
+    // Parsed fields, which are indexes of this.parsed, and bits of this.present.
+    static final int YEAR = 0;
+    static final int CENTURY = 1;
+    static final int YEAR_OF_CENTURY = 2;
+    static final int MONTH = 3;
+    static final int DAY_OF_MONTH = 4;
+    static final int DAY_OF_YEAR = 5;
+    static final int DAY_OF_WEEK = 6;
+    static final int WEEK_OF_YEAR_STARTING_FROM_SUNDAY = 7;
+    static final int WEEK_OF_YEAR_STARTING_FROM_MONDAY = 8;
+    static final int ISO_WEEK_OF_WEEK_BASED_YEAR = 9;
+    static final int ISO_WEEK_BASED_YEAR = 10;
+    static final int ISO_WEEK_BASED_YEAR_OF_CENTURY = 11;
+    static final int HOUR = 12;
+    static final int CLOCK_HOUR = 13;
+    static final int AMPM = 14;
+    static final int MINUTE = 15;
+    static final int SECOND = 16;
+    static final int NANO_OF_SECOND = 17;
+    static final int OFFSET_SECONDS = 18;
+
+    private static final int FIELDS = 19;
+
+    // The bits of the parsed fields which make the date, which are the fields before HOUR.
+    private static final int DATE_FIELDS = (1 << HOUR) - 1;
+
+    // The bits of the parsed fields which give the year, or the week-based year.
+    private static final int YEAR_FIELDS =
+            (1 << YEAR) | (1 << CENTURY) | (1 << YEAR_OF_CENTURY) | (1 << ISO_WEEK_BASED_YEAR) | (1 << ISO_WEEK_BASED_YEAR_OF_CENTURY);
+
+    // The size of a snapshot of the parsed fields, which has the present bits at the end.
+    static final int SNAPSHOT_SIZE = FIELDS + 1;
+
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final int SECONDS_PER_DAY_INT = 86400;
+    private static final long SECONDS_PER_HALF_YEAR = 183L * 86400L;
+
+    private static final long MIN_YEAR = -999_999_999L;
+    private static final long MAX_YEAR = 999_999_999L;
+
+    int year;
+    int month;
+    int dayOfMonth;
+    int dayOfYear;
+    int dayOfWeek;
+    int hour;
+    int minute;
+    int second;
+    int nanoOfSecond;
+    int offsetSeconds;
+    boolean hasOffset;
+
+    long epochDay;
+
+    private final int[] parsed;
+    private int present;
+
+    // The index of the specification which has failed in parsing, or -1.
+    int failedSpecification;
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decides which formats in a set can match a text by the shape of the text, in a single walk over a trie of shapes.
+ *
+ * <p>The shape of a format is a sequence of elements: a literal character, a run of digits with the range of its
+ * length, a run of ASCII letters with the range of its length, or any amount of white space. Adjacent numbers, such as
+ * {@code %Y%m%d}, make a single run of digits. The shape is derived from the beginning of a format up to a specification
+ * whose shape is not simple, such as {@code %e}. The shapes of formats are merged into a trie so that common prefixes
+ * are walked only once.
+ *
+ * <p>A shape is a necessary condition. A format whose shape does not match a text never parses the text entirely.
+ *
+ * <p>It is immutable, and thread-safe.
+ */
+final class ShapeAutomaton {
+    private ShapeAutomaton(final Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds an automaton from the specifications of formats, up to 64 formats.
+     */
+    static ShapeAutomaton of(final List<List<Specification>> formats) {
+        if (formats.size() > Long.SIZE) {
+            throw new IllegalArgumentException("Too many formats in a set: " + formats.size());
+        }
+        final Node root = new Node();
+        for (int index = 0; index < formats.size(); index++) {
+            final ArrayList<Element> shape = new ArrayList<>();
+            final boolean complete = shapeOf(formats.get(index), shape);
+            Node node = root;
+            for (final Element element : shape) {
+                node = node.childFor(element);
+            }
+            if (complete) {
+                node.complete |= 1L << index;
+            } else {
+                node.partial |= 1L << index;
+            }
+        }
+        return new ShapeAutomaton(root);
+    }
+
+    /**
+     * Returns the bits of formats whose shapes match the region of the text.
+     */
+    long candidates(final CharSequence text, final int start, final int end) {
+        return walk(this.root, text, start, end);
+    }
+
+    private static long walk(final Node node, final CharSequence text, final int pos, final int end) {
+        long found = node.partial | ((pos == end) ? node.complete : 0L);
+        for (int i = 0; i < node.elements.size(); i++) {
+            final int next = node.elements.get(i).match(text, pos, end);
+            if (next >= 0) {
+                found |= walk(node.children.get(i), text, next, end);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Derives the shape of a format into {@code shape}.
+     *
+     * @return {@code true} if the shape covers the entire format
+     */
+    static boolean shapeOf(final List<Specification> specifications, final List<Element> shape) {
+        boolean inDigits = false;
+        boolean signed = false;
+        int minDigits = 0;
+        int maxDigits = 0;
+
+        for (int index = 0; index < specifications.size(); index++) {
+            final Specification specification = specifications.get(index);
+            if (specification.fixedDigits() > 0) {
+                if (!inDigits) {
+                    inDigits = true;
+                    signed = false;
+                    minDigits = 0;
+                    maxDigits = 0;
+                }
+                minDigits++;  // Leading zeros are not required.
+                maxDigits += specification.fixedDigits();
+                continue;
+            }
+            if ((specification instanceof UpperY || specification instanceof UpperC || specification instanceof UpperG) && specification.isPlain()) {
+                if (inDigits) {
+                    // A sign may come in the middle of digits.
+                    return stop(shape);
+                }
+                inDigits = true;
+                signed = true;
+                minDigits = 1;
+                maxDigits = 18;
+                continue;
+            }
+
+            if (inDigits) {
+                shape.add(Element.digits(minDigits, maxDigits, signed));
+                inDigits = false;
+            }
+
+            if (specification instanceof Literal && specification.precision <= ((Literal) specification).literal().length()) {
+                final String literal = ((Literal) specification).literal();
+                for (int i = 0; i < literal.length(); i++) {
+                    final char c = literal.charAt(i);
+                    if ('0' <= c && c <= '9') {
+                        return stop(shape);
+                    }
+                    if (isLetter(c) && endsWithLetters(shape)) {
+                        return stop(shape);
+                    }
+                    if (Literal.isWhitespace(c)) {
+                        if (mayJoinLastRun(shape, literal, i, specifications, index)) {
+                            shape.remove(shape.size() - 1);
+                            return false;
+                        }
+                        if (!endsWith(shape, Element.WHITESPACE)) {
+                            shape.add(Element.whitespace());
+                        }
+                        continue;
+                    }
+                    shape.add(Element.character(c));
+                }
+            } else if (isName(specification) && specification.precision <= 0 && !endsWithLetters(shape)) {
+                if (specification instanceof LowerP) {
+                    shape.add(Element.letters(2, 2));
+                } else {
+                    shape.add(Element.letters(3, 9));  // From "Mon" to "Wednesday", and from "Jan" to "September".
+                }
+            } else {
+                return stop(shape);
+            }
+        }
+
+        if (inDigits) {
+            shape.add(Element.digits(minDigits, maxDigits, signed));
+        }
+        return true;
+    }
+
+    /**
+     * Stops the shape before an unknown specification, which may continue the last run of letters.
+     *
+     * <p>An open run of digits has not been added to the shape at this point.
+     */
+    private static boolean stop(final List<Element> shape) {
+        if (endsWithLetters(shape)) {
+            shape.remove(shape.size() - 1);
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if white space at {@code i} in the literal may match no characters, and join the last run of
+     * digits or letters with the next run of the same kind, such as {@code "%a %b"} matching {@code "MonApr"}.
+     */
+    private static boolean mayJoinLastRun(
+            final List<Element> shape,
+            final String literal,
+            final int i,
+            final List<Specification> specifications,
+            final int index) {
+        final boolean digits = endsWith(shape, Element.DIGITS);
+        final boolean letters = endsWithLetters(shape);
+        if (!digits && !letters) {
+            return false;
+        }
+
+        for (int k = i + 1; k < literal.length(); k++) {
+            final char c = literal.charAt(k);
+            if (!Literal.isWhitespace(c)) {
+                return joinsRun(c, digits, letters);
+            }
+        }
+        for (int j = index + 1; j < specifications.size(); j++) {
+            final Specification next = specifications.get(j);
+            if (next.fixedDigits() > 0 || next.parsesVariableDigits() || next instanceof LowerE
+                    || next instanceof UpperY || next instanceof UpperC || next instanceof UpperG) {
+                return digits;
+            }
+            if (isName(next)) {
+                return letters;
+            }
+            if (!(next instanceof Literal) || next.precision > ((Literal) next).literal().length()) {
+                return true;
+            }
+            for (final char c : ((Literal) next).literal().toCharArray()) {
+                if (!Literal.isWhitespace(c)) {
+                    return joinsRun(c, digits, letters);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean joinsRun(final char c, final boolean digits, final boolean letters) {
+        return (digits && '0' <= c && c <= '9') || (letters && isLetter(c));
+    }
+
+    private static boolean endsWithLetters(final List<Element> shape) {
+        return endsWith(shape, Element.LETTERS);
+    }
+
+    private static boolean endsWith(final List<Element> shape, final int kind) {
+        return !shape.isEmpty() && shape.get(shape.size() - 1).kind == kind;
+    }
+
+    private static boolean isName(final Specification specification) {
+        return specification instanceof LowerA
+                || specification instanceof UpperA
+                || specification instanceof LowerB
+                || specification instanceof UpperB
+                || specification instanceof LowerH
+                || specification instanceof LowerP;
+    }
+
+    private static boolean isLetter(final char c) {
+        return ('A' <= c && c <= 'Z') || ('a' <= c && c <= 'z');
+    }
+
+    static final class Element {
+        private Element(final int kind, final char character, final int min, final int max, final boolean signed) {
+            this.kind = kind;
+            this.character = character;
+            this.min = min;
+            this.max = max;
+            this.signed = signed;
+        }
+
+        static Element character(final char character) {
+            return new Element(CHARACTER, character, 1, 1, false);
+        }
+
+        static Element digits(final int min, final int max, final boolean signed) {
+            return new Element(DIGITS, '\0', min, max, signed);
+        }
+
+        static Element letters(final int min, final int max) {
+            return new Element(LETTERS, '\0', min, max, false);
+        }
+
+        static Element whitespace() {
+            return new Element(WHITESPACE, '\0', 0, Integer.MAX_VALUE, false);
+        }
+
+        /**
+         * Returns the position after the element matched in the text, or {@code -1}.
+         */
+        int match(final CharSequence text, final int pos, final int end) {
+            if (this.kind == CHARACTER) {
+                return (pos < end && text.charAt(pos) == this.character) ? pos + 1 : -1;
+            }
+            if (this.kind == WHITESPACE) {
+                int i = pos;
+                while (i < end && Literal.isWhitespace(text.charAt(i))) {
+                    i++;
+                }
+                return i;
+            }
+
+            int i = pos;
+            if (this.signed && i < end && (text.charAt(i) == '+' || text.charAt(i) == '-')) {
+                i++;
+            }
+            final int runStart = i;
+            if (this.kind == DIGITS) {
+                while (i < end && '0' <= text.charAt(i) && text.charAt(i) <= '9') {
+                    i++;
+                }
+            } else {
+                while (i < end && isLetter(text.charAt(i))) {
+                    i++;
+                }
+            }
+            final int length = i - runStart;
+            return (this.min <= length && length <= this.max) ? i : -1;
+        }
+
+        @Override
+        public boolean equals(final Object otherObject) {
+            if (this == otherObject) {
+                return true;
+            }
+            if (!(otherObject instanceof Element)) {
+                return false;
+            }
+            final Element other = (Element) otherObject;
+            return this.kind == other.kind
+                    && this.character == other.character
+                    && this.min == other.min
+                    && this.max == other.max
+                    && this.signed == other.signed;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((this.kind * 31 + this.character) * 31 + this.min) * 31 + this.max + (this.signed ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            switch (this.kind) {
+                case CHARACTER:
+                    return "'" + this.character + "'";
+                case DIGITS:
+                    return (this.signed ? "[+-]" : "") + "9{" + this.min + "," + this.max + "}";
+                case WHITESPACE:
+                    return "s*";
+                default:
+                    return "a{" + this.min + "," + this.max + "}";
+            }
+        }
+
+        static final int CHARACTER = 0;
+        static final int DIGITS = 1;
+        static final int LETTERS = 2;
+        static final int WHITESPACE = 3;
+
+        final int kind;
+        final char character;
+        final int min;
+        final int max;
+        final boolean signed;
+    }
+
+    private static final class Node {
+        Node childFor(final Element element) {
+            final int index = this.elements.indexOf(element);
+            if (index >= 0) {
+                return this.children.get(index);
+            }
+            final Node child = new Node();
+            this.elements.add(element);
+            this.children.add(child);
+            return child;
+        }
+
+        // Built only in of(), and never modified after that.
+        final ArrayList<Element> elements = new ArrayList<>();
+        final ArrayList<Node> children = new ArrayList<>();
+
+        // Formats whose shapes end at the node, and which may continue in the text.
+        long partial;
+
+        // Formats whose shapes end at the node with the end of the formats, which requires the end of the text.
+        long complete;
+    }
+
+    private final Node root;
+}
@@ -67,6 +67,65 @@ public abstract class Specification {
             PaddingStyle paddingStyle,
             Optional<Locale> locale);
 
+    /**
+     * Formats directly into {@code builder} from {@code tm} without {@link java.time.format.DateTimeFormatter}.
+     *
+     * <p>It produces the same as {@link #appendTo} with {@link PaddingStyle#SMART} and without a locale. Where
+     * {@link #appendTo} throws {@link UnsupportedPaddingException}, it pads in the same way as strftime.
+     */
+    abstract void formatTo(StringBuilder builder, PosixTm tm);
+
+    /**
+     * Parses {@code text} from {@code pos} directly into {@code tm} without {@link java.time.format.DateTimeFormatter}.
+     *
+     * <p>It parses what {@link #formatTo(StringBuilder, PosixTm)} formats. It does not read {@code text} at or after
+     * {@code end}. It does not resolve the parsed fields.
+     *
+     * <p>The static helpers to parse, such as {@link #parseChar}, return a negative {@code pos} as-is, which means a
+     * failure, so that they can be chained without checking for each step.
+     *
+     * @return the position after the parsed text, or the bitwise complement ({@code ~}) of the error position if failed
+     */
+    abstract int parse(CharSequence text, int pos, int end, PosixTm tm);
+
+    /**
+     * Returns {@code true} if it can be parsed by {@link #parse(CharSequence, int, int, PosixTm)} with the options.
+     */
+    boolean parsesWith(final Options options) {
+        return true;
+    }
+
+    /**
+     * Returns the width of a zero-padded number which it parses, or {@code -1}.
+     *
+     * <p>It parses up to the width greedily. It parses exactly the width if the text has as many digits.
+     */
+    int fixedDigits() {
+        return -1;
+    }
+
+    /**
+     * Returns the field of {@link PosixTm} into which {@link #fixedDigits()} digits are parsed as-is, or {@code -1}.
+     */
+    int fixedDigitsField() {
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if it parses a variable number of digits greedily, such as {@code %Y}.
+     */
+    boolean parsesVariableDigits() {
+        return false;
+    }
+
+    /**
+     * Returns the number of digits which a variable number of digits takes at least next to other digits if available,
+     * such as 4 of {@code %Y}.
+     */
+    int usualDigits() {
+        return 1;
+    }
+
     final char effectivePadWithDefault(final char defaultPad) {
         if (this.pad == '\0') {
             return defaultPad;
@@ -84,6 +143,210 @@ public abstract class Specification {
         return this.pad == '-';
     }
 
+    /**
+     * Returns {@code true} if it has no flag, no precision, no colon, and no modifier.
+     */
+    final boolean isPlain() {
+        return !this.upperCase
+                && !this.changeCase
+                && this.precision < 0
+                && this.colons < 0
+                && this.pad == '\0'
+                && this.modifier == '\0';
+    }
+
+    /**
+     * Appends a number with a leading hyphen-minus if negative, zero-padded up to {@code minDigits} digits.
+     */
+    static void appendNumber(final StringBuilder builder, final long value, final int minDigits) {
+        final long absValue = Math.abs(value);
+        if (value < 0) {
+            builder.append('-');
+        }
+        for (int i = digitsOf(absValue); i < minDigits; i++) {
+            builder.append('0');
+        }
+        builder.append(absValue);
+    }
+
+    /**
+     * Appends a number with a leading hyphen-minus if negative, left-padded with {@code pad} up to {@code width}.
+     */
+    static void appendNumberPadded(final StringBuilder builder, final long value, final int width, final char pad) {
+        final int length = digitsOf(Math.abs(value)) + (value < 0 ? 1 : 0);
+        for (int i = length; i < width; i++) {
+            builder.append(pad);
+        }
+        builder.append(value);
+    }
+
+    static void appendTextPadded(final StringBuilder builder, final String text, final int width, final char pad) {
+        for (int i = text.length(); i < width; i++) {
+            builder.append(pad);
+        }
+        builder.append(text);
+    }
+
+    static void appendTwoDigits(final StringBuilder builder, final int value) {
+        builder.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    /**
+     * Parses exactly {@code width} characters as a number. Leading spaces are accepted if {@code pad} is {@code ' '}.
+     *
+     * <p>If {@code pad} is {@code ' '}, the number may end before {@code width} characters, such as {@code "7"} for
+     * {@code %e}, because leading spaces may have been matched by white space in the format before it.
+     */
+    static int parseFixedWidth(
+            final CharSequence text, final int pos, final int end, final int width, final char pad, final PosixTm tm, final int field) {
+        if (pos < 0) {
+            return pos;
+        }
+        if (pad == ' ') {
+            return parseSpacePadded(text, pos, Math.min(pos + width, end), tm, field);
+        }
+        final int regionEnd = pos + width;
+        if (regionEnd > end) {
+            return ~Math.min(pos, end);
+        }
+        int i = pos;
+        long value = 0;
+        for (; i < regionEnd; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return ~i;
+            }
+            value = value * 10 + digit;
+        }
+        if (value > Integer.MAX_VALUE) {
+            return ~pos;
+        }
+        tm.set(field, (int) value);
+        return regionEnd;
+    }
+
+    private static int parseSpacePadded(final CharSequence text, final int pos, final int limit, final PosixTm tm, final int field) {
+        int i = pos;
+        while (i < limit - 1 && text.charAt(i) == ' ') {
+            i++;
+        }
+        final int digitsStart = i;
+        long value = 0;
+        for (; i < limit; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+        }
+        if (i == digitsStart) {
+            return ~i;
+        }
+        if (value > Integer.MAX_VALUE) {
+            return ~pos;
+        }
+        tm.set(field, (int) value);
+        return i;
+    }
+
+    /**
+     * Parses a number of {@code maxDigits} digits at most greedily. At least {@code minWidth} characters are expected
+     * including leading spaces, which are accepted if {@code pad} is {@code ' '}, and a sign if {@code signed}.
+     */
+    static int parseVariableWidth(
+            final CharSequence text,
+            final int pos,
+            final int end,
+            final int minWidth,
+            final int maxDigits,
+            final char pad,
+            final boolean signed,
+            final PosixTm tm,
+            final int field) {
+        if (pos < 0) {
+            return pos;
+        }
+        int i = pos;
+        if (pad == ' ') {
+            while (i < end && text.charAt(i) == ' ') {
+                i++;
+            }
+        }
+        boolean negative = false;
+        if (signed && i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        final int digitsStart = i;
+        final int digitsEnd = Math.min(end, digitsStart + Math.min(maxDigits, 18));
+        long value = 0;
+        for (; i < digitsEnd; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+        }
+        if (i == digitsStart || i - pos < minWidth) {
+            return ~i;
+        }
+        if (value > Integer.MAX_VALUE) {
+            return ~pos;
+        }
+        tm.set(field, negative ? (int) -value : (int) value);
+        return i;
+    }
+
+    /**
+     * Parses a literal string exactly.
+     */
+    static int parseLiteral(final CharSequence text, final int pos, final int end, final String literal) {
+        if (pos < 0) {
+            return pos;
+        }
+        if (pos + literal.length() > end) {
+            return ~pos;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (text.charAt(pos + i) != literal.charAt(i)) {
+                return ~(pos + i);
+            }
+        }
+        return pos + literal.length();
+    }
+
+    static int parseChar(final CharSequence text, final int pos, final int end, final char ch) {
+        if (pos < 0) {
+            return pos;
+        }
+        if (pos >= end || text.charAt(pos) != ch) {
+            return ~pos;
+        }
+        return pos + 1;
+    }
+
+    /**
+     * Skips padding characters before a text field, such as {@code %a}, padded up to {@code width}.
+     */
+    static int skipPadding(final CharSequence text, final int pos, final int end, final int width, final char pad) {
+        if (pos < 0) {
+            return pos;
+        }
+        int i = pos;
+        while (i < end && i - pos < width - 1 && text.charAt(i) == pad) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int digitsOf(final long absValue) {
+        int digits = 1;
+        for (long rest = absValue; rest >= 10; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
     static class Context {
         Context(final boolean upperCase,
                 final boolean changeCase,
@@ -313,6 +576,103 @@ abstract class ConversionSpecification extends Specification {
         return String.join("", Collections.nCopies(n, s));
     }
 
+    /**
+     * Formats a number directly in the common way of numeric conversions.
+     *
+     * <p>It pads with {@code '0'} up to the precision or the default width. With {@code '_'} or {@code '-'}, it pads
+     * with spaces instead, but {@code '-'} does not pad up to the default width.
+     */
+    final void formatNumber(final StringBuilder builder, final long value, final int defaultWidth, final char defaultPad) {
+        final char pad = this.effectivePadWithDefault(defaultPad);
+        if (pad == '0') {
+            appendNumber(builder, value, Math.max(this.precision, defaultWidth));
+        } else if (this.precision >= defaultWidth) {
+            appendNumberPadded(builder, value, this.precision, pad);
+        } else if (!this.isLeftAligned()) {
+            appendNumberPadded(builder, value, defaultWidth, pad);
+        } else {
+            builder.append(value);
+        }
+    }
+
+    /**
+     * Formats padding directly before a composite conversion, such as {@code %T}, whose width is {@code width}.
+     */
+    final void formatPrefixPadding(final StringBuilder builder, final int width) {
+        if (this.precision > width) {
+            final char pad = (this.effectivePadWithDefault(' ') == '0') ? '0' : ' ';
+            for (int i = width; i < this.precision; i++) {
+                builder.append(pad);
+            }
+        }
+    }
+
+    /**
+     * Parses a number in the common way of numeric conversions, which is formatted by {@link #formatNumber}.
+     *
+     * <p>Leading zeros are accepted, but not required, as {@code strptime}. A zero-padded number is parsed greedily up
+     * to its width, such as {@code "3"} or {@code "03"} for {@code %m}. The end may be limited by the caller so that
+     * digits are left for the following numbers, such as {@code %d} in {@code %m%d}.
+     */
+    final int parseNumber(
+            final CharSequence text, final int pos, final int end, final int defaultWidth, final char defaultPad, final PosixTm tm, final int field) {
+        final char pad = this.effectivePadWithDefault(defaultPad);
+        if (pad == '0') {
+            return parseVariableWidth(text, pos, end, 1, Math.max(this.precision, defaultWidth), '\0', false, tm, field);
+        } else if (this.precision >= defaultWidth) {
+            return parseFixedWidth(text, pos, end, this.precision, pad, tm, field);
+        } else if (!this.isLeftAligned()) {
+            return parseFixedWidth(text, pos, end, defaultWidth, pad, tm, field);
+        }
+        return parseVariableWidth(text, pos, end, 1, defaultWidth, '\0', false, tm, field);
+    }
+
+    /**
+     * Returns the width of a zero-padded number which {@link #parseNumber} parses, or {@code -1}.
+     */
+    final int fixedDigitsOfNumber(final int defaultWidth, final char defaultPad) {
+        if (this.effectivePadWithDefault(defaultPad) == '0') {
+            return Math.max(this.precision, defaultWidth);
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if {@link #parseNumber} parses a variable number of digits.
+     */
+    final boolean parsesVariableDigitsOfNumber(final int defaultWidth) {
+        return this.isLeftAligned() && this.precision < defaultWidth;
+    }
+
+    /**
+     * Parses padding before a composite conversion, such as {@code %T}, which is formatted by {@link #formatPrefixPadding}.
+     */
+    final int parsePrefixPadding(final CharSequence text, final int pos, final int end, final int width) {
+        if (pos < 0 || this.precision <= width) {
+            return pos;
+        }
+        final char pad = (this.effectivePadWithDefault(' ') == '0') ? '0' : ' ';
+        int i = pos;
+        for (; i < pos + this.precision - width; i++) {
+            if (i >= end || text.charAt(i) != pad) {
+                return ~i;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Parses two digits greedily, or one digit without the leading zero, followed by a separator if {@code separator} is
+     * not {@code '\0'}.
+     */
+    static int parseTwoDigits(final CharSequence text, final int pos, final int end, final PosixTm tm, final int field, final char separator) {
+        final int next = parseVariableWidth(text, pos, end, 1, 2, '\0', false, tm, field);
+        if (next < 0 || separator == '\0') {
+            return next;
+        }
+        return parseChar(text, next, end, separator);
+    }
+
     final ConversionType terminatingConversionSpecifier;
 }
 
@@ -352,6 +712,21 @@ final class LowerA extends ConversionSpecification {
             return formatter.appendText(ChronoField.DAY_OF_WEEK, DayOfWeekNames.shortTitleCase());
         }
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final String name = (this.upperCase || this.changeCase)
+                ? DayOfWeekNames.shortUpperCase(tm.dayOfWeek)
+                : DayOfWeekNames.shortTitleCase(tm.dayOfWeek);
+        appendTextPadded(builder, name, this.precision, this.effectivePadWithDefault(' '));
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final int start = skipPadding(text, pos, end, this.precision, this.effectivePadWithDefault(' '));
+        // Both abbreviated and full names are accepted case-insensitively, as strptime does.
+        return DayOfWeekNames.trie().parse(text, start, end, tm, PosixTm.DAY_OF_WEEK);
+    }
 }
 
 /**
@@ -401,6 +776,21 @@ final class UpperA extends ConversionSpecification {
         }
     }
 
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final String name = (this.upperCase || this.changeCase)
+                ? DayOfWeekNames.fullUpperCase(tm.dayOfWeek)
+                : DayOfWeekNames.fullTitleCase(tm.dayOfWeek);
+        appendTextPadded(builder, name, this.precision, this.effectivePadWithDefault(' '));
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final int start = skipPadding(text, pos, end, this.precision, this.effectivePadWithDefault(' '));
+        // Both abbreviated and full names are accepted case-insensitively, as strptime does.
+        return DayOfWeekNames.trie().parse(text, start, end, tm, PosixTm.DAY_OF_WEEK);
+    }
+
     private static Map<Long, String> softPad(final Map<Long, String> baseTexts, final int precision, final char pad) {
         final HashMap<Long, String> texts = new HashMap<>();
         for (final Map.Entry<Long, String> entry : baseTexts.entrySet()) {
@@ -455,6 +845,21 @@ final class LowerB extends ConversionSpecification {
             return formatter.appendText(ChronoField.MONTH_OF_YEAR, MonthOfYearNames.shortTitleCase());
         }
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final String name = (this.upperCase || this.changeCase)
+                ? MonthOfYearNames.shortUpperCase(tm.month)
+                : MonthOfYearNames.shortTitleCase(tm.month);
+        appendTextPadded(builder, name, this.precision, this.effectivePadWithDefault(' '));
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final int start = skipPadding(text, pos, end, this.precision, this.effectivePadWithDefault(' '));
+        // Both abbreviated and full names are accepted case-insensitively, as strptime does.
+        return MonthOfYearNames.trie().parse(text, start, end, tm, PosixTm.MONTH);
+    }
 }
 
 /**
@@ -497,6 +902,21 @@ final class UpperB extends ConversionSpecification {
         }
     }
 
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final String name = (this.upperCase || this.changeCase)
+                ? MonthOfYearNames.fullUpperCase(tm.month)
+                : MonthOfYearNames.fullTitleCase(tm.month);
+        appendTextPadded(builder, name, this.precision, this.effectivePadWithDefault(' '));
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final int start = skipPadding(text, pos, end, this.precision, this.effectivePadWithDefault(' '));
+        // Both abbreviated and full names are accepted case-insensitively, as strptime does.
+        return MonthOfYearNames.trie().parse(text, start, end, tm, PosixTm.MONTH);
+    }
+
     private static Map<Long, String> softPad(final Map<Long, String> baseTexts, final int precision, final char pad) {
         final HashMap<Long, String> texts = new HashMap<>();
         for (final Map.Entry<Long, String> entry : baseTexts.entrySet()) {
@@ -562,6 +982,36 @@ final class LowerC extends ConversionSpecification {
                 .appendLiteral(" ")
                 .appendValue(ChronoField.YEAR, 1, 19, SignStyle.NORMAL);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        builder.append(this.upperCase ? DayOfWeekNames.shortUpperCase(tm.dayOfWeek) : DayOfWeekNames.shortTitleCase(tm.dayOfWeek))
+                .append(' ')
+                .append(this.upperCase ? MonthOfYearNames.shortUpperCase(tm.month) : MonthOfYearNames.shortTitleCase(tm.month))
+                .append(' ');
+        appendNumberPadded(builder, tm.dayOfMonth, 2, ' ');
+        builder.append(' ');
+        appendTwoDigits(builder, tm.hour);
+        builder.append(':');
+        appendTwoDigits(builder, tm.minute);
+        builder.append(':');
+        appendTwoDigits(builder, tm.second);
+        builder.append(' ').append(tm.year);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        int next = DayOfWeekNames.trie().parse(text, pos, end, tm, PosixTm.DAY_OF_WEEK);
+        next = parseChar(text, next, end, ' ');
+        next = MonthOfYearNames.trie().parse(text, next, end, tm, PosixTm.MONTH);
+        next = parseChar(text, next, end, ' ');
+        next = parseFixedWidth(text, next, end, 2, ' ', tm, PosixTm.DAY_OF_MONTH);
+        next = parseChar(text, next, end, ' ');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.HOUR, ':');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.MINUTE, ':');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.SECOND, ' ');
+        return parseVariableWidth(text, next, end, 1, 18, '\0', true, tm, PosixTm.YEAR);
+    }
 }
 
 /**
@@ -605,6 +1055,37 @@ final class UpperC extends ConversionSpecification {
         }
         return formatter.appendValue(PosixFields.POSIX_CENTURY);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final int posixCentury = tm.year / 100;
+        if (this.precision >= 0) {
+            final char pad = this.effectivePadWithDefault('0');
+            if (pad == '0') {
+                appendNumber(builder, posixCentury, this.precision);
+            } else {
+                appendNumberPadded(builder, posixCentury, this.precision, pad);
+            }
+            return;
+        }
+        builder.append(posixCentury);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final char pad = (this.precision >= 0) ? this.effectivePadWithDefault('0') : '\0';
+        return parseVariableWidth(text, pos, end, Math.max(this.precision, 1), 18, pad, true, tm, PosixTm.CENTURY);
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.precision < 0 || this.effectivePadWithDefault('0') == '0';
+    }
+
+    @Override
+    int usualDigits() {
+        return Math.max(this.precision, 2);
+    }
 }
 
 /**
@@ -641,6 +1122,31 @@ final class LowerD extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.DAY_OF_MONTH);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.dayOfMonth, 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.DAY_OF_MONTH);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.DAY_OF_MONTH;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
 }
 
 /**
@@ -677,6 +1183,25 @@ final class UpperD extends ConversionSpecification {
                 .appendLiteral('/')
                 .appendValueReduced(ChronoField.YEAR, 2, 2, 1900);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatPrefixPadding(builder, 8);
+        appendTwoDigits(builder, tm.month);
+        builder.append('/');
+        appendTwoDigits(builder, tm.dayOfMonth);
+        builder.append('/');
+        appendTwoDigits(builder, Math.abs(tm.year) % 100);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        // The year is parsed into the year of the POSIX century, in the same way as "%y".
+        int next = this.parsePrefixPadding(text, pos, end, 8);
+        next = parseTwoDigits(text, next, end, tm, PosixTm.MONTH, '/');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.DAY_OF_MONTH, '/');
+        return parseTwoDigits(text, next, end, tm, PosixTm.YEAR_OF_CENTURY, '\0');
+    }
 }
 
 /**
@@ -718,6 +1243,31 @@ final class LowerE extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.DAY_OF_MONTH);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.dayOfMonth, 2, ' ');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, ' ', tm, PosixTm.DAY_OF_MONTH);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, ' ');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.DAY_OF_MONTH;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
 }
 
 /**
@@ -794,6 +1344,42 @@ final class UpperF extends ConversionSpecification {
                 .appendLiteral('-')
                 .appendValue(ChronoField.DAY_OF_MONTH, 2);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        if (this.precision > 6) {
+            final char pad = this.effectivePadWithDefault(' ');
+            if (pad == '0') {
+                appendNumber(builder, tm.year, this.precision - 6);
+            } else {
+                appendNumberPadded(builder, tm.year, this.precision - 6, pad);
+            }
+        } else {
+            builder.append(tm.year);
+        }
+        builder.append('-');
+        appendTwoDigits(builder, tm.month);
+        builder.append('-');
+        appendTwoDigits(builder, tm.dayOfMonth);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        int next;
+        if (this.precision > 6) {
+            next = parseVariableWidth(text, pos, end, this.precision - 6, 18, this.effectivePadWithDefault(' '), true, tm, PosixTm.YEAR);
+        } else {
+            next = parseVariableWidth(text, pos, end, 1, 18, '\0', true, tm, PosixTm.YEAR);
+        }
+        next = parseChar(text, next, end, '-');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.MONTH, '-');
+        return parseTwoDigits(text, next, end, tm, PosixTm.DAY_OF_MONTH, '\0');
+    }
+
+    @Override
+    boolean parsesWith(final Options options) {
+        return options.acceptsUpperCaseFForParsing();
+    }
 }
 
 /**
@@ -849,6 +1435,36 @@ final class LowerG extends ConversionSpecification {
         }
         return formatter.appendValueReduced(IsoFields.WEEK_BASED_YEAR, 1, 2, 1900);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, Math.abs(tm.isoWeekBasedYear()) % 100, 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.ISO_WEEK_BASED_YEAR_OF_CENTURY);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.ISO_WEEK_BASED_YEAR_OF_CENTURY;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
+
+    @Override
+    boolean parsesWith(final Options options) {
+        return options.acceptsLowerCaseGForParsing();
+    }
 }
 
 /**
@@ -912,6 +1528,41 @@ final class UpperG extends ConversionSpecification {
 
         return formatter.appendValue(IsoFields.WEEK_BASED_YEAR, 1, 19, SignStyle.NORMAL);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        if (this.precision > 0) {
+            final char pad = this.effectivePadWithDefault('0');
+            if (pad == '0') {
+                appendNumber(builder, tm.isoWeekBasedYear(), this.precision);
+            } else {
+                appendNumberPadded(builder, tm.isoWeekBasedYear(), this.precision, pad);
+            }
+            return;
+        }
+        builder.append(tm.isoWeekBasedYear());
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final char pad = (this.precision > 0) ? this.effectivePadWithDefault('0') : '\0';
+        return parseVariableWidth(text, pos, end, Math.max(this.precision, 1), 18, pad, true, tm, PosixTm.ISO_WEEK_BASED_YEAR);
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.precision <= 0 || this.effectivePadWithDefault('0') == '0';
+    }
+
+    @Override
+    int usualDigits() {
+        return Math.max(this.precision, 4);
+    }
+
+    @Override
+    boolean parsesWith(final Options options) {
+        return options.acceptsUpperCaseGForParsing();
+    }
 }
 
 /**
@@ -950,6 +1601,21 @@ final class LowerH extends ConversionSpecification {
             return formatter.appendText(ChronoField.MONTH_OF_YEAR, MonthOfYearNames.shortTitleCase());
         }
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final String name = (this.upperCase || this.changeCase)
+                ? MonthOfYearNames.shortUpperCase(tm.month)
+                : MonthOfYearNames.shortTitleCase(tm.month);
+        appendTextPadded(builder, name, this.precision, this.effectivePadWithDefault(' '));
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final int start = skipPadding(text, pos, end, this.precision, this.effectivePadWithDefault(' '));
+        // Both abbreviated and full names are accepted case-insensitively, as strptime does.
+        return MonthOfYearNames.trie().parse(text, start, end, tm, PosixTm.MONTH);
+    }
 }
 
 /**
@@ -991,6 +1657,31 @@ final class UpperH extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.HOUR_OF_DAY);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.hour, 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.HOUR);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.HOUR;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
 }
 
 /**
@@ -1032,18 +1723,43 @@ final class UpperI extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.CLOCK_HOUR_OF_AMPM);
     }
-}
 
-/**
- * {@code %j}
- *
- * <p>Formatting - Replaced by the day of the year as a decimal number [001,366]. [ tm_yday]
- *
- * <p>Parsing - The day number of the year [001,366]; leading zeros shall be permitted but shall not be required.
- */
-@SuppressWarnings("checkstyle:OneTopLevelClass")
-final class LowerJ extends ConversionSpecification {
-    LowerJ(final Context context) {
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.clockHourOfAmPm(), 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.CLOCK_HOUR);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.CLOCK_HOUR;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
+}
+
+/**
+ * {@code %j}
+ *
+ * <p>Formatting - Replaced by the day of the year as a decimal number [001,366]. [ tm_yday]
+ *
+ * <p>Parsing - The day number of the year [001,366]; leading zeros shall be permitted but shall not be required.
+ */
+@SuppressWarnings("checkstyle:OneTopLevelClass")
+final class LowerJ extends ConversionSpecification {
+    LowerJ(final Context context) {
         super(ConversionType.POSIX_LOWER_J, context);
     }
 
@@ -1091,6 +1807,41 @@ final class LowerJ extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.DAY_OF_YEAR);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final char pad = this.effectivePadWithDefault('0');
+        if (pad != '0' && this.precision > 0) {
+            // Pads in the same way as strftime, which appendTo cannot emulate with DateTimeFormatterBuilder.
+            appendNumberPadded(builder, tm.dayOfYear, this.precision, pad);
+            return;
+        }
+        this.formatNumber(builder, tm.dayOfYear, 3, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final char pad = this.effectivePadWithDefault('0');
+        if (pad != '0' && this.precision > 0) {
+            return parseVariableWidth(text, pos, end, this.precision, 3, pad, false, tm, PosixTm.DAY_OF_YEAR);
+        }
+        return this.parseNumber(text, pos, end, 3, '0', tm, PosixTm.DAY_OF_YEAR);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(3, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.DAY_OF_YEAR;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(3);
+    }
 }
 
 /**
@@ -1132,6 +1883,31 @@ final class LowerM extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.MONTH_OF_YEAR);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.month, 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.MONTH);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.MONTH;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
 }
 
 /**
@@ -1173,6 +1949,31 @@ final class UpperM extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.MINUTE_OF_HOUR);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.minute, 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.MINUTE);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.MINUTE;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
 }
 
 /**
@@ -1211,6 +2012,27 @@ final class LowerP extends ConversionSpecification {
         }
     }
 
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final String ampm;
+        if (tm.hour < 12) {
+            ampm = this.changeCase ? "am" : "AM";
+        } else {
+            ampm = this.changeCase ? "pm" : "PM";
+        }
+        appendTextPadded(builder, ampm, this.precision, this.effectivePadWithDefault(' '));
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final int start = skipPadding(text, pos, end, this.precision, this.effectivePadWithDefault(' '));
+        return amPmTrie().parse(text, start, end, tm, PosixTm.AMPM);
+    }
+
+    static NameTrie amPmTrie() {
+        return AmPmTrie.TRIE;
+    }
+
     static {
         final HashMap<Long, String> upper = new HashMap<>();
         upper.put(0L, "AM");
@@ -1225,6 +2047,10 @@ final class LowerP extends ConversionSpecification {
 
     private static final Map<Long, String> UPPER_AMPM;
     private static final Map<Long, String> LOWER_AMPM;
+
+    private static class AmPmTrie {  // Initialization-on-demand holder idiom.
+        static final NameTrie TRIE = NameTrie.of(new String[] { "AM", "PM" });
+    }
 }
 
 /**
@@ -1265,6 +2091,26 @@ final class LowerR extends ConversionSpecification {
                 .appendLiteral(' ')
                 .appendText(ChronoField.AMPM_OF_DAY);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatPrefixPadding(builder, 11);
+        appendTwoDigits(builder, tm.clockHourOfAmPm());
+        builder.append(':');
+        appendTwoDigits(builder, tm.minute);
+        builder.append(':');
+        appendTwoDigits(builder, tm.second);
+        builder.append(tm.hour < 12 ? " AM" : " PM");
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        int next = this.parsePrefixPadding(text, pos, end, 11);
+        next = parseTwoDigits(text, next, end, tm, PosixTm.CLOCK_HOUR, ':');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.MINUTE, ':');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.SECOND, ' ');
+        return LowerP.amPmTrie().parse(text, next, end, tm, PosixTm.AMPM);
+    }
 }
 
 /**
@@ -1299,6 +2145,21 @@ final class UpperR extends ConversionSpecification {
                 .appendLiteral(':')
                 .appendValue(ChronoField.MINUTE_OF_HOUR, 2);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatPrefixPadding(builder, 5);
+        appendTwoDigits(builder, tm.hour);
+        builder.append(':');
+        appendTwoDigits(builder, tm.minute);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        int next = this.parsePrefixPadding(text, pos, end, 5);
+        next = parseTwoDigits(text, next, end, tm, PosixTm.HOUR, ':');
+        return parseTwoDigits(text, next, end, tm, PosixTm.MINUTE, '\0');
+    }
 }
 
 /**
@@ -1340,6 +2201,31 @@ final class UpperS extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.SECOND_OF_MINUTE);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.second, 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.SECOND);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.SECOND;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
 }
 
 /**
@@ -1376,6 +2262,24 @@ final class UpperT extends ConversionSpecification {
                 .appendLiteral(':')
                 .appendValue(ChronoField.SECOND_OF_MINUTE, 2);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatPrefixPadding(builder, 8);
+        appendTwoDigits(builder, tm.hour);
+        builder.append(':');
+        appendTwoDigits(builder, tm.minute);
+        builder.append(':');
+        appendTwoDigits(builder, tm.second);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        int next = this.parsePrefixPadding(text, pos, end, 8);
+        next = parseTwoDigits(text, next, end, tm, PosixTm.HOUR, ':');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.MINUTE, ':');
+        return parseTwoDigits(text, next, end, tm, PosixTm.SECOND, '\0');
+    }
 }
 
 /**
@@ -1408,6 +2312,45 @@ final class LowerU extends ConversionSpecification {
 
         return formatter.appendValue(ChronoField.DAY_OF_WEEK);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        if (this.precision > 1) {
+            final char pad = this.effectivePadWithDefault('0');
+            if (pad == '0') {
+                appendNumber(builder, tm.dayOfWeek, this.precision);
+            } else {
+                appendNumberPadded(builder, tm.dayOfWeek, this.precision, pad);
+            }
+            return;
+        }
+        builder.append(tm.dayOfWeek);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 1, '0', tm, PosixTm.DAY_OF_WEEK);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(1, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.DAY_OF_WEEK;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(1);
+    }
+
+    @Override
+    boolean parsesWith(final Options options) {
+        return options.acceptsLowerCaseUForParsing();
+    }
 }
 
 /**
@@ -1452,6 +2395,31 @@ final class UpperU extends ConversionSpecification {
         }
     }
 
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.weekOfYearStartingFromSunday(), 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.WEEK_OF_YEAR_STARTING_FROM_SUNDAY);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.WEEK_OF_YEAR_STARTING_FROM_SUNDAY;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
+
     private static final TemporalField WEEK_OF_YEAR_STARTING_FROM_SUNDAY = WeekFields.of(DayOfWeek.SUNDAY, 7).weekOfYear();
 }
 
@@ -1497,6 +2465,36 @@ final class UpperV extends ConversionSpecification {
             }
         }
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.isoWeekOfWeekBasedYear(), 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.ISO_WEEK_OF_WEEK_BASED_YEAR);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.ISO_WEEK_OF_WEEK_BASED_YEAR;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
+
+    @Override
+    boolean parsesWith(final Options options) {
+        return options.acceptsUpperCaseVForParsing();
+    }
 }
 
 // Create a simple TemporalField that converts WeekFields.SUNDAY_START (1-7) to POSIX %w (0-6)
@@ -1591,6 +2589,44 @@ final class LowerW extends ConversionSpecification {
 
         return formatter.appendValue(DayOfWeek06.FIELD);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        if (this.precision > 1) {
+            final char pad = this.effectivePadWithDefault('0');
+            if (pad == '0') {
+                appendNumber(builder, tm.dayOfWeek % 7, this.precision);
+            } else {
+                appendNumberPadded(builder, tm.dayOfWeek % 7, this.precision, pad);
+            }
+            return;
+        }
+        builder.append(tm.dayOfWeek % 7);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final int next = this.parseNumber(text, pos, end, 1, '0', tm, PosixTm.DAY_OF_WEEK);
+        if (next < 0) {
+            return next;
+        }
+        final int dayOfWeek06 = tm.get(PosixTm.DAY_OF_WEEK);
+        if (dayOfWeek06 > 6) {
+            return ~pos;
+        }
+        tm.set(PosixTm.DAY_OF_WEEK, (dayOfWeek06 == 0) ? 7 : dayOfWeek06);  // Into the ISO day of the week.
+        return next;
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(1, '0');
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(1);
+    }
 }
 
 /**
@@ -1635,6 +2671,31 @@ final class UpperW extends ConversionSpecification {
         }
     }
 
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatNumber(builder, tm.weekOfYearStartingFromMonday(), 2, '0');
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return this.parseNumber(text, pos, end, 2, '0', tm, PosixTm.WEEK_OF_YEAR_STARTING_FROM_MONDAY);
+    }
+
+    @Override
+    int fixedDigits() {
+        return this.fixedDigitsOfNumber(2, '0');
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.WEEK_OF_YEAR_STARTING_FROM_MONDAY;
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.parsesVariableDigitsOfNumber(2);
+    }
+
     private static final TemporalField WEEK_OF_YEAR_STARTING_FROM_MONDAY = WeekFields.of(DayOfWeek.MONDAY, 7).weekOfYear();
 }
 
@@ -1677,6 +2738,25 @@ final class LowerX extends ConversionSpecification {
                 .appendLiteral('/')
                 .appendValueReduced(ChronoField.YEAR, 2, 2, 1900);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatPrefixPadding(builder, 8);
+        appendTwoDigits(builder, tm.month);
+        builder.append('/');
+        appendTwoDigits(builder, tm.dayOfMonth);
+        builder.append('/');
+        appendTwoDigits(builder, Math.abs(tm.year) % 100);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        // The year is parsed into the year of the POSIX century, in the same way as "%y".
+        int next = this.parsePrefixPadding(text, pos, end, 8);
+        next = parseTwoDigits(text, next, end, tm, PosixTm.MONTH, '/');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.DAY_OF_MONTH, '/');
+        return parseTwoDigits(text, next, end, tm, PosixTm.YEAR_OF_CENTURY, '\0');
+    }
 }
 
 /**
@@ -1718,6 +2798,24 @@ final class UpperX extends ConversionSpecification {
                 .appendLiteral(':')
                 .appendValue(ChronoField.SECOND_OF_MINUTE, 2);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        this.formatPrefixPadding(builder, 8);
+        appendTwoDigits(builder, tm.hour);
+        builder.append(':');
+        appendTwoDigits(builder, tm.minute);
+        builder.append(':');
+        appendTwoDigits(builder, tm.second);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        int next = this.parsePrefixPadding(text, pos, end, 8);
+        next = parseTwoDigits(text, next, end, tm, PosixTm.HOUR, ':');
+        next = parseTwoDigits(text, next, end, tm, PosixTm.MINUTE, ':');
+        return parseTwoDigits(text, next, end, tm, PosixTm.SECOND, '\0');
+    }
 }
 
 /**
@@ -1747,6 +2845,26 @@ final class LowerY extends ConversionSpecification {
             final Optional<Locale> locale) {
         return formatter.appendValue(PosixFields.YEAR_OF_POSIX_CENTURY_1969_2068, 2);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        appendTwoDigits(builder, Math.floorMod(tm.year, 100));
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        return parseTwoDigits(text, pos, end, tm, PosixTm.YEAR_OF_CENTURY, '\0');
+    }
+
+    @Override
+    int fixedDigits() {
+        return 2;
+    }
+
+    @Override
+    int fixedDigitsField() {
+        return PosixTm.YEAR_OF_CENTURY;
+    }
 }
 
 /**
@@ -1813,6 +2931,43 @@ final class UpperY extends ConversionSpecification {
         }
         return formatter.appendValue(ChronoField.YEAR);
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        final char pad = this.effectivePadWithDefault('0');
+        if (this.precision >= 0 && pad == '0') {
+            appendNumber(builder, tm.year, this.precision);
+            return;
+        }
+        if (this.precision > 0) {
+            // Pads in the same way as strftime, which appendTo cannot emulate with DateTimeFormatterBuilder.
+            appendNumberPadded(builder, tm.year, this.precision, pad);
+            return;
+        }
+        builder.append(tm.year);
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        final char pad = this.effectivePadWithDefault('0');
+        if (this.precision >= 0 && pad == '0') {
+            return parseVariableWidth(text, pos, end, Math.max(this.precision, 1), 18, '0', true, tm, PosixTm.YEAR);
+        }
+        if (this.precision > 0) {
+            return parseVariableWidth(text, pos, end, this.precision, 18, pad, true, tm, PosixTm.YEAR);
+        }
+        return parseVariableWidth(text, pos, end, 1, 18, '\0', true, tm, PosixTm.YEAR);
+    }
+
+    @Override
+    boolean parsesVariableDigits() {
+        return this.precision <= 0 || this.effectivePadWithDefault('0') == '0';
+    }
+
+    @Override
+    int usualDigits() {
+        return Math.max(this.precision, 4);
+    }
 }
 
 /**
@@ -1838,6 +2993,61 @@ final class LowerZ extends ConversionSpecification {
             final Optional<Locale> locale) {
         return formatter;
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        builder.append(tm.offsetSeconds < 0 ? '-' : '+');
+        final int absOffsetSeconds = Math.abs(tm.offsetSeconds);
+        appendTwoDigits(builder, absOffsetSeconds / 3600);
+        if (this.colons == 1 || this.colons == 2) {
+            builder.append(':');
+        }
+        appendTwoDigits(builder, (absOffsetSeconds / 60) % 60);
+        if (this.colons == 2) {
+            builder.append(':');
+            appendTwoDigits(builder, absOffsetSeconds % 60);
+        }
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        if (pos < end && text.charAt(pos) == 'Z') {
+            tm.set(PosixTm.OFFSET_SECONDS, 0);
+            return pos + 1;
+        }
+        if (pos >= end || (text.charAt(pos) != '+' && text.charAt(pos) != '-')) {
+            return ~pos;
+        }
+        final boolean negative = text.charAt(pos) == '-';
+
+        // Accepts "+hh", "+hhmm", and "+hh:mm".
+        int next = parseFixedWidth(text, pos + 1, end, 2, '0', tm, PosixTm.OFFSET_SECONDS);
+        if (next < 0) {
+            return next;
+        }
+        final int hours = tm.get(PosixTm.OFFSET_SECONDS);
+        int minutes = 0;
+        final int minutesStart = (next < end && text.charAt(next) == ':') ? next + 1 : next;
+        if (minutesStart + 2 <= end && isDigit(text.charAt(minutesStart)) && isDigit(text.charAt(minutesStart + 1))) {
+            minutes = (text.charAt(minutesStart) - '0') * 10 + (text.charAt(minutesStart + 1) - '0');
+            next = minutesStart + 2;
+        }
+        if (hours > 18 || minutes > 59) {
+            return ~pos;
+        }
+        final int offsetSeconds = hours * 3600 + minutes * 60;
+        tm.set(PosixTm.OFFSET_SECONDS, negative ? -offsetSeconds : offsetSeconds);
+        return next;
+    }
+
+    @Override
+    boolean parsesWith(final Options options) {
+        return options.acceptsLowerCaseZForParsing();
+    }
+
+    private static boolean isDigit(final char ch) {
+        return '0' <= ch && ch <= '9';
+    }
 }
 
 /**
@@ -1858,8 +3068,29 @@ final class UpperZ extends ConversionSpecification {
             final DateTimeFormatterBuilder formatter,
             final PaddingStyle paddingStyle,
             final Optional<Locale> locale) {
+        // No time zone name is determinable only from an offset, then no characters are formatted.
         return formatter;
     }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        // No characters in the same way as appendTo.
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        // A time zone name is consumed, but not interpreted, in the same way as glibc's strptime.
+        int i = pos;
+        while (i < end && (('A' <= text.charAt(i) && text.charAt(i) <= 'Z') || ('a' <= text.charAt(i) && text.charAt(i) <= 'z'))) {
+            i++;
+        }
+        return (i > pos) ? i : ~pos;
+    }
+
+    @Override
+    boolean parsesWith(final Options options) {
+        return options.acceptsUpperCaseZForParsing();
+    }
 }
 
 /*
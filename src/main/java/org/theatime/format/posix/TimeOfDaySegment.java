@@ -0,0 +1,244 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Represents consecutive specifications fused into a time-of-day segment, such as {@code %T} or {@code %H:%M:%S}.
+ *
+ * <p>It formats directly just by looking up a table of times of day pre-rendered as packed ASCII. A table is built
+ * lazily for each shape of segments, and shared in the process. Specifications are fused at compile time only with
+ * {@link PosixTimeFormat.Option#PRECOMPUTED_TIME_OF_DAY}.
+ */
+final class TimeOfDaySegment extends Specification {
+    private TimeOfDaySegment(final Shape shape, final List<Specification> fused) {
+        super(new Context(
+                false,
+                false,
+                -1,
+                -1,
+                '\0',
+                '\0',
+                fused.get(0).entireFormat,
+                fused.get(0).start,
+                fused.get(fused.size() - 1).end));
+        this.shape = shape;
+        this.fused = Collections.unmodifiableList(new ArrayList<>(fused));
+    }
+
+    enum Shape {
+        /**
+         * {@code "HH:MM:SS"} in 24-hour clock, from {@code %T}, {@code %X}, or {@code %H:%M:%S}.
+         */
+        HOUR_MINUTE_SECOND,
+
+        /**
+         * {@code "HH:MM"} in 24-hour clock, from {@code %R} or {@code %H:%M}.
+         */
+        HOUR_MINUTE,
+
+        /**
+         * {@code "hh:MM:SS AM"} in 12-hour clock, from {@code %r} or {@code %I:%M:%S %p}.
+         */
+        CLOCK_HOUR_MINUTE_SECOND_AMPM,
+
+        ;
+    }
+
+    /**
+     * Fuses time-of-day segments in the specifications.
+     */
+    static List<Specification> fuse(final List<Specification> specifications) {
+        final ArrayList<Specification> fusedSpecifications = new ArrayList<>();
+        int i = 0;
+        while (i < specifications.size()) {
+            final Specification specification = specifications.get(i);
+            if (isComposite(specification, UpperT.class, 8) || isComposite(specification, UpperX.class, 8)) {
+                fusedSpecifications.add(new TimeOfDaySegment(Shape.HOUR_MINUTE_SECOND, specifications.subList(i, i + 1)));
+                i++;
+            } else if (isComposite(specification, UpperR.class, 5)) {
+                fusedSpecifications.add(new TimeOfDaySegment(Shape.HOUR_MINUTE, specifications.subList(i, i + 1)));
+                i++;
+            } else if (isComposite(specification, LowerR.class, 11)) {
+                fusedSpecifications.add(new TimeOfDaySegment(Shape.CLOCK_HOUR_MINUTE_SECOND_AMPM, specifications.subList(i, i + 1)));
+                i++;
+            } else if (matches(specifications, i, UpperI.class, ":", UpperM.class, ":", UpperS.class, " ", LowerP.class)) {
+                fusedSpecifications.add(new TimeOfDaySegment(Shape.CLOCK_HOUR_MINUTE_SECOND_AMPM, specifications.subList(i, i + 7)));
+                i += 7;
+            } else if (matches(specifications, i, UpperH.class, ":", UpperM.class, ":", UpperS.class)) {
+                fusedSpecifications.add(new TimeOfDaySegment(Shape.HOUR_MINUTE_SECOND, specifications.subList(i, i + 5)));
+                i += 5;
+            } else if (matches(specifications, i, UpperH.class, ":", UpperM.class)) {
+                fusedSpecifications.add(new TimeOfDaySegment(Shape.HOUR_MINUTE, specifications.subList(i, i + 3)));
+                i += 3;
+            } else {
+                fusedSpecifications.add(specification);
+                i++;
+            }
+        }
+        return Collections.unmodifiableList(fusedSpecifications);
+    }
+
+    @Override
+    DateTimeFormatterBuilder appendTo(
+            final DateTimeFormatterBuilder formatter,
+            final PaddingStyle paddingStyle,
+            final Optional<Locale> locale) {
+        for (final Specification specification : this.fused) {
+            specification.appendTo(formatter, paddingStyle, locale);
+        }
+        return formatter;
+    }
+
+    @Override
+    void formatTo(final StringBuilder builder, final PosixTm tm) {
+        if (tm.hour < 0 || tm.hour >= 24 || tm.minute < 0 || tm.minute >= 60 || tm.second < 0 || tm.second >= 60) {
+            // A leap second, for example, is not in the tables.
+            for (final Specification specification : this.fused) {
+                specification.formatTo(builder, tm);
+            }
+            return;
+        }
+
+        switch (this.shape) {
+            case HOUR_MINUTE_SECOND:
+                appendPacked(builder, HourMinuteSecond.TABLE[tm.hour * 3600 + tm.minute * 60 + tm.second], 8);
+                break;
+            case HOUR_MINUTE:
+                appendPacked(builder, HourMinute.TABLE[tm.hour * 60 + tm.minute], 5);
+                break;
+            case CLOCK_HOUR_MINUTE_SECOND_AMPM:
+                appendPacked(builder, ClockHourMinuteSecond.TABLE[(tm.hour % 12) * 3600 + tm.minute * 60 + tm.second], 8);
+                builder.append(tm.hour < 12 ? " AM" : " PM");
+                break;
+            default:
+                throw new IllegalStateException("Unknown shape: " + this.shape);
+        }
+    }
+
+    @Override
+    int parse(final CharSequence text, final int pos, final int end, final PosixTm tm) {
+        int next = pos;
+        for (final Specification specification : this.fused) {
+            if (next < 0) {
+                return next;
+            }
+            next = specification.parse(text, next, end, tm);
+        }
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Specification specification : this.fused) {
+            builder.append(specification.toString());
+        }
+        return builder.toString();
+    }
+
+    Shape shape() {
+        return this.shape;
+    }
+
+    private static boolean isComposite(final Specification specification, final Class<? extends Specification> type, final int width) {
+        // "^" and "#" do not change composite conversions. Only a precision larger than the width pads.
+        return type.isInstance(specification)
+                && specification.precision <= width
+                && specification.colons < 0
+                && specification.modifier == '\0';
+    }
+
+    /**
+     * Matches plain conversion specifications of the classes, and literals of the strings, from the index.
+     */
+    private static boolean matches(final List<Specification> specifications, final int index, final Object... pattern) {
+        if (index + pattern.length > specifications.size()) {
+            return false;
+        }
+        for (int j = 0; j < pattern.length; j++) {
+            final Specification specification = specifications.get(index + j);
+            if (pattern[j] instanceof String) {
+                if (!(specification instanceof Literal)
+                        || !pattern[j].equals(((Literal) specification).literal())
+                        || specification.precision > 1) {
+                    return false;
+                }
+            } else {
+                if (!((Class<?>) pattern[j]).isInstance(specification) || !specification.isPlain()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends ASCII characters packed in a {@code long} from the most significant byte in use.
+     */
+    private static void appendPacked(final StringBuilder builder, final long packed, final int length) {
+        for (int shift = (length - 1) * 8; shift >= 0; shift -= 8) {
+            builder.append((char) ((packed >>> shift) & 0xff));
+        }
+    }
+
+    private static long packTwoDigits(final long packed, final int value) {
+        return (packed << 16) | (('0' + value / 10) << 8) | ('0' + value % 10);
+    }
+
+    private static long[] buildTable(final int hours, final int minutes, final int seconds, final boolean clockHour) {
+        final long[] table = new long[hours * minutes * seconds];
+        int index = 0;
+        for (int hour = 0; hour < hours; hour++) {
+            for (int minute = 0; minute < minutes; minute++) {
+                for (int second = 0; second < seconds; second++) {
+                    long packed = packTwoDigits(0L, (clockHour && hour == 0) ? 12 : hour);
+                    packed = packTwoDigits((packed << 8) | ':', minute);
+                    if (seconds > 1) {
+                        packed = packTwoDigits((packed << 8) | ':', second);
+                    }
+                    table[index++] = packed;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static class HourMinuteSecond {  // Initialization-on-demand holder idiom.
+        // 86,400 entries of "HH:MM:SS" -- about 700 KB.
+        static final long[] TABLE = buildTable(24, 60, 60, false);
+    }
+
+    private static class HourMinute {  // Initialization-on-demand holder idiom.
+        // 1,440 entries of "HH:MM" -- about 12 KB.
+        static final long[] TABLE = buildTable(24, 60, 1, false);
+    }
+
+    private static class ClockHourMinuteSecond {  // Initialization-on-demand holder idiom.
+        // 43,200 entries of "hh:MM:SS" -- about 350 KB. " AM" or " PM" is appended separately.
+        static final long[] TABLE = buildTable(12, 60, 60, true);
+    }
+
+    private final Shape shape;
+    private final List<Specification> fused;
+}
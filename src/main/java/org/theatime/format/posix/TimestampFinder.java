@@ -0,0 +1,298 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.DateTimeException;
+import java.time.format.ResolverStyle;
+
+/**
+ * Finds the first substring of a text which matches a format, which is planned at compile time.
+ *
+ * <p>It anchors on the most selective literal in the format, such as {@code 'T'} in {@code "%Y-%m-%dT%H:%M:%S"}. The
+ * range of the width of the specifications before the literal bounds the candidate starts around each occurrence of the
+ * literal. A format without such a literal tries every position. A candidate start is skipped quickly if its first
+ * character cannot start the format, such as a letter for {@code %Y}.
+ *
+ * <p>It is immutable, and thread-safe.
+ */
+final class TimestampFinder {
+    private TimestampFinder(
+            final ParsePlan parsePlan,
+            final String anchor,
+            final int minPrefix,
+            final int maxPrefix,
+            final int firstKind,
+            final char firstCharacter) {
+        this.parsePlan = parsePlan;
+        this.anchor = anchor;
+        this.minPrefix = minPrefix;
+        this.maxPrefix = maxPrefix;
+        this.firstKind = firstKind;
+        this.firstCharacter = firstCharacter;
+    }
+
+    static TimestampFinder of(final ParsePlan parsePlan) {
+        int anchorIndex = -1;
+        int anchorScore = 0;
+        for (int i = 0; i < parsePlan.size(); i++) {
+            final int score = scoreAsAnchor(parsePlan.specification(i));
+            if (score > anchorScore) {
+                anchorIndex = i;
+                anchorScore = score;
+            }
+        }
+
+        int minPrefix = 0;
+        int maxPrefix = 0;
+        for (int i = 0; i < anchorIndex; i++) {
+            final Specification specification = parsePlan.specification(i);
+            minPrefix += minWidth(specification);
+            maxPrefix = (maxPrefix == UNBOUNDED || maxWidth(specification) == UNBOUNDED) ? UNBOUNDED : maxPrefix + maxWidth(specification);
+        }
+
+        int firstKind = ANY;
+        char firstCharacter = '\0';
+        if (parsePlan.size() > 0) {
+            final Specification first = parsePlan.specification(0);
+            if (isExactLiteral(first)) {
+                firstKind = CHARACTER;
+                firstCharacter = ((Literal) first).literal().charAt(0);
+            } else if (isSignedNumber(first)) {
+                firstKind = SIGNED_DIGIT;
+            } else if (first.fixedDigits() > 0) {
+                firstKind = DIGIT;
+            } else if (isName(first) && first.precision <= 0) {
+                firstKind = LETTER;
+            }
+        }
+
+        return new TimestampFinder(
+                parsePlan,
+                (anchorIndex >= 0) ? ((Literal) parsePlan.specification(anchorIndex)).literal() : null,
+                minPrefix,
+                maxPrefix,
+                firstKind,
+                firstCharacter);
+    }
+
+    /**
+     * Finds the first substring of the region from {@code from} to {@code end} which matches the format, and is resolved
+     * successfully.
+     *
+     * @return the substring found, or {@code null} if not found
+     * @throws DateTimeException  if the format contains a specification which is not accepted for parsing
+     */
+    TimestampMatch find(final CharSequence text, final int from, final int end, final ResolverStyle resolverStyle) {
+        this.parsePlan.checkAccepted();
+        final PosixTm tm = new PosixTm();
+        if (this.anchor == null) {
+            for (int start = from; start <= end; start++) {
+                final int found = this.tryAt(text, start, end, resolverStyle, tm);
+                if (found >= 0) {
+                    return new TimestampMatch(start, found, tm);
+                }
+            }
+            return null;
+        }
+
+        int next = from;
+        int anchorAt = indexOf(text, this.anchor, from + this.minPrefix, end);
+        while (anchorAt >= 0) {
+            final int last = anchorAt - this.minPrefix;
+            for (int start = Math.max(next, anchorAt - this.maxPrefix); start <= last; start++) {
+                final int found = this.tryAt(text, start, end, resolverStyle, tm);
+                if (found >= 0) {
+                    return new TimestampMatch(start, found, tm);
+                }
+            }
+            next = Math.max(next, last + 1);
+            anchorAt = indexOf(text, this.anchor, anchorAt + 1, end);
+        }
+        return null;
+    }
+
+    String anchor() {
+        return this.anchor;
+    }
+
+    private int tryAt(final CharSequence text, final int start, final int end, final ResolverStyle resolverStyle, final PosixTm tm) {
+        if (!this.mayStartAt(text, start, end)) {
+            return -1;
+        }
+        tm.clear();
+        final int parsed = this.parsePlan.parse(text, start, end, tm);
+        if (parsed < 0 || !tm.resolve(resolverStyle)) {
+            return -1;
+        }
+        return parsed;
+    }
+
+    private boolean mayStartAt(final CharSequence text, final int start, final int end) {
+        if (this.firstKind == ANY) {
+            return true;
+        }
+        if (start >= end) {
+            return false;
+        }
+        final char c = text.charAt(start);
+        switch (this.firstKind) {
+            case CHARACTER:
+                return c == this.firstCharacter;
+            case SIGNED_DIGIT:
+                return ('0' <= c && c <= '9') || c == '+' || c == '-';
+            case DIGIT:
+                return '0' <= c && c <= '9';
+            default:
+                return ('A' <= c && c <= 'Z') || ('a' <= c && c <= 'z');
+        }
+    }
+
+    private static int indexOf(final CharSequence text, final String literal, final int from, final int end) {
+        if (from > end - literal.length()) {
+            return -1;
+        }
+        if (text instanceof String) {
+            final int found = ((String) text).indexOf(literal, from);
+            return (found >= 0 && found <= end - literal.length()) ? found : -1;
+        }
+        final char first = literal.charAt(0);
+        for (int i = from; i <= end - literal.length(); i++) {
+            if (text.charAt(i) == first && regionMatches(text, i, literal)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(final CharSequence text, final int pos, final String literal) {
+        for (int k = 1; k < literal.length(); k++) {
+            if (text.charAt(pos + k) != literal.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Scores a specification as an anchor, or returns {@code 0} if it cannot be an anchor.
+     *
+     * <p>Only a literal matched exactly can be an anchor. Common separators in dates and times, such as {@code '-'} and
+     * {@code ':'}, are less selective than other characters, such as {@code 'T'} or {@code '['}.
+     */
+    private static int scoreAsAnchor(final Specification specification) {
+        if (!isExactLiteral(specification)) {
+            return 0;
+        }
+        final String literal = ((Literal) specification).literal();
+        int score = 0;
+        for (int i = 0; i < literal.length(); i++) {
+            score += (COMMON_SEPARATORS.indexOf(literal.charAt(i)) >= 0) ? 1 : 3;
+        }
+        return score;
+    }
+
+    private static boolean isExactLiteral(final Specification specification) {
+        if (!(specification instanceof Literal)) {
+            return false;
+        }
+        final String literal = ((Literal) specification).literal();
+        if (literal.isEmpty() || specification.precision > literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (Literal.isWhitespace(literal.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int minWidth(final Specification specification) {
+        if (specification instanceof Literal) {
+            final String literal = ((Literal) specification).literal();
+            int width = 0;
+            for (int i = 0; i < literal.length(); i++) {
+                if (!Literal.isWhitespace(literal.charAt(i))) {
+                    width++;
+                }
+            }
+            return width;
+        }
+        if (specification.fixedDigits() > 0 || isSignedNumber(specification) || (specification instanceof LowerE && specification.isPlain())) {
+            return 1;
+        }
+        if (isName(specification) && specification.precision <= 0) {
+            return (specification instanceof LowerP) ? 2 : 3;
+        }
+        return 0;
+    }
+
+    private static int maxWidth(final Specification specification) {
+        if (isExactLiteral(specification)) {
+            return ((Literal) specification).literal().length();
+        }
+        if (specification.fixedDigits() > 0) {
+            return specification.fixedDigits();
+        }
+        if (isSignedNumber(specification)) {
+            return 19;  // A sign, and 18 digits at most.
+        }
+        if (specification instanceof LowerE && specification.isPlain()) {
+            return 2;
+        }
+        if (isName(specification) && specification.precision <= 0) {
+            return (specification instanceof LowerP) ? 2 : 9;  // Up to "Wednesday", and "September".
+        }
+        return UNBOUNDED;
+    }
+
+    private static boolean isSignedNumber(final Specification specification) {
+        return (specification instanceof UpperY || specification instanceof UpperC || specification instanceof UpperG) && specification.isPlain();
+    }
+
+    private static boolean isName(final Specification specification) {
+        return specification instanceof LowerA
+                || specification instanceof UpperA
+                || specification instanceof LowerB
+                || specification instanceof UpperB
+                || specification instanceof LowerH
+                || specification instanceof LowerP;
+    }
+
+    private static final String COMMON_SEPARATORS = "-:/.,";
+
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private static final int ANY = 0;
+    private static final int CHARACTER = 1;
+    private static final int SIGNED_DIGIT = 2;
+    private static final int DIGIT = 3;
+    private static final int LETTER = 4;
+
+    private final ParsePlan parsePlan;
+
+    // The most selective literal in the format, or null if the format has no literal to anchor on.
+    private final String anchor;
+
+    // The range of the width of the specifications before the anchor.
+    private final int minPrefix;
+    private final int maxPrefix;
+
+    // The kind of the first character of the format, and the character itself if CHARACTER.
+    private final int firstKind;
+    private final char firstCharacter;
+}
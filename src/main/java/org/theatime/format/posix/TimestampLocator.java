@@ -0,0 +1,195 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+/**
+ * Locates a timestamp in a line, such as by a byte offset in the line, or by fields of the line.
+ *
+ * <p>It is immutable, and thread-safe.
+ */
+public abstract class TimestampLocator {
+    private TimestampLocator() {
+        // Only the subclasses in this class.
+    }
+
+    /**
+     * Locates a timestamp at a byte offset in a line.
+     *
+     * @param offset  the byte offset of the timestamp in a line
+     * @param length  the length of the timestamp in bytes, or {@code -1} for the rest of the line
+     * @throws IllegalArgumentException  if {@code offset} is negative, or {@code length} is less than {@code -1}
+     */
+    public static TimestampLocator atOffset(final int offset, final int length) {
+        if (offset < 0 || length < -1) {
+            throw new IllegalArgumentException("Invalid offset and length: " + offset + ", " + length);
+        }
+        return new AtOffset(offset, length);
+    }
+
+    /**
+     * Locates a timestamp in leading fields of a line separated by a delimiter, such as {@code 2023-04-17 12:34:56} in
+     * {@code "2023-04-17 12:34:56 INFO message"} as 2 fields from the field 0 separated by {@code ' '}.
+     *
+     * <p>Each occurrence of the delimiter separates fields. Consecutive delimiters make an empty field.
+     *
+     * @param delimiter  the ASCII character which separates fields
+     * @param first  the index of the first field of the timestamp, from 0
+     * @param count  the number of fields of the timestamp
+     * @throws IllegalArgumentException  if {@code delimiter} is not ASCII, {@code first} is negative, or {@code count} is not positive
+     */
+    public static TimestampLocator fields(final char delimiter, final int first, final int count) {
+        if (delimiter >= 0x80 || first < 0 || count <= 0) {
+            throw new IllegalArgumentException("Invalid delimiter and fields: '" + delimiter + "', " + first + ", " + count);
+        }
+        return new Fields(delimiter, first, count);
+    }
+
+    /**
+     * Locates a timestamp enclosed in the first pair of ASCII characters in a line, such as {@code '['} and {@code ']'}.
+     *
+     * @throws IllegalArgumentException  if {@code open} or {@code close} is not ASCII
+     */
+    public static TimestampLocator enclosed(final char open, final char close) {
+        if (open >= 0x80 || close >= 0x80) {
+            throw new IllegalArgumentException("Invalid enclosing characters: '" + open + "', '" + close + "'");
+        }
+        return new Enclosed(open, close);
+    }
+
+    /**
+     * Locates a timestamp in a line from {@code lineStart} to {@code lineEnd} in {@code text}.
+     *
+     * @return the start of the timestamp in the upper 32 bits, and the end in the lower 32 bits, or {@code -1} if not found
+     */
+    abstract long locate(CharSequence text, int lineStart, int lineEnd);
+
+    static long pack(final int start, final int end) {
+        return ((long) start << 32) | end;
+    }
+
+    static int start(final long packed) {
+        return (int) (packed >>> 32);
+    }
+
+    static int end(final long packed) {
+        return (int) packed;
+    }
+
+    private static int indexOf(final CharSequence text, final char c, final int from, final int end) {
+        for (int i = from; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class AtOffset extends TimestampLocator {
+        AtOffset(final int offset, final int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        long locate(final CharSequence text, final int lineStart, final int lineEnd) {
+            final long start = (long) lineStart + this.offset;
+            final long end = (this.length < 0) ? lineEnd : start + this.length;
+            if (start > lineEnd || end > lineEnd) {
+                return -1L;
+            }
+            return pack((int) start, (int) end);
+        }
+
+        @Override
+        public String toString() {
+            return "atOffset(" + this.offset + ", " + this.length + ")";
+        }
+
+        private final int offset;
+        private final int length;
+    }
+
+    private static final class Fields extends TimestampLocator {
+        Fields(final char delimiter, final int first, final int count) {
+            this.delimiter = delimiter;
+            this.first = first;
+            this.count = count;
+        }
+
+        @Override
+        long locate(final CharSequence text, final int lineStart, final int lineEnd) {
+            int start = lineStart;
+            for (int i = 0; i < this.first; i++) {
+                final int found = indexOf(text, this.delimiter, start, lineEnd);
+                if (found < 0) {
+                    return -1L;
+                }
+                start = found + 1;
+            }
+            int end = start;
+            for (int i = 0; i < this.count; i++) {
+                final int found = indexOf(text, this.delimiter, (i == 0) ? end : end + 1, lineEnd);
+                if (found < 0) {
+                    if (i < this.count - 1) {
+                        return -1L;
+                    }
+                    end = lineEnd;
+                } else {
+                    end = found;
+                }
+            }
+            return pack(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return "fields('" + this.delimiter + "', " + this.first + ", " + this.count + ")";
+        }
+
+        private final char delimiter;
+        private final int first;
+        private final int count;
+    }
+
+    private static final class Enclosed extends TimestampLocator {
+        Enclosed(final char open, final char close) {
+            this.open = open;
+            this.close = close;
+        }
+
+        @Override
+        long locate(final CharSequence text, final int lineStart, final int lineEnd) {
+            final int openAt = indexOf(text, this.open, lineStart, lineEnd);
+            if (openAt < 0) {
+                return -1L;
+            }
+            final int closeAt = indexOf(text, this.close, openAt + 1, lineEnd);
+            if (closeAt < 0) {
+                return -1L;
+            }
+            return pack(openAt + 1, closeAt);
+        }
+
+        @Override
+        public String toString() {
+            return "enclosed('" + this.open + "', '" + this.close + "')";
+        }
+
+        private final char open;
+        private final char close;
+    }
+}
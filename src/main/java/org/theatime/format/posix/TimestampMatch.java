@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.ZoneOffset;
+
+/**
+ * Holds a timestamp found in a text by {@link PosixTimeFormat#find(CharSequence, int)}.
+ */
+public final class TimestampMatch {
+    TimestampMatch(final int start, final int end, final PosixTm tm) {
+        this.start = start;
+        this.end = end;
+        this.tm = tm;
+    }
+
+    /**
+     * Returns the start index of the timestamp in the text, inclusive.
+     */
+    public int start() {
+        return this.start;
+    }
+
+    /**
+     * Returns the end index of the timestamp in the text, exclusive.
+     */
+    public int end() {
+        return this.end;
+    }
+
+    /**
+     * Returns the resolved date and time of the timestamp, which is owned by the match.
+     */
+    public PosixTm tm() {
+        return this.tm;
+    }
+
+    /**
+     * Returns the timestamp in seconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param defaultOffset  the offset from UTC used if the timestamp does not contain an offset
+     */
+    public long epochSecond(final ZoneOffset defaultOffset) {
+        return this.tm.toEpochSecond(defaultOffset);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + this.start + ", " + this.end + ") " + this.tm;
+    }
+
+    private final int start;
+    private final int end;
+    private final PosixTm tm;
+}
@@ -45,7 +45,11 @@ final class Tokenizer {
      * when the <strong>next</strong> specification is <strong>not</strong> a number pattern.
      */
     static List<Specification> tokenize(final String format, final PosixTimeFormat.Option... options) {
-        return new Tokenizer(format, Options.of(options)).tokenizeInitial();
+        return tokenize(format, Options.of(options));
+    }
+
+    static List<Specification> tokenize(final String format, final Options options) {
+        return new Tokenizer(format, options).tokenizeInitial();
     }
 
     private List<Specification> tokenizeInitial() {
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+
+/**
+ * Parses texts with a format into instants, interpreting the local date and time in a region {@link ZoneId} if the text
+ * does not contain an offset.
+ *
+ * <p>It caches the window of local date and time between two transitions of the {@link ZoneRules} around the last text,
+ * in which the offset is the same, and the two transitions. A text in the window, or in the gap or the overlap of the
+ * transitions, is resolved to an instant only by integer math without {@link ZoneRules}. The window is moved only when
+ * a text is out of them, which is rare in a time-ordered stream, such as a log.
+ *
+ * <p>The local date and time in a gap or an overlap is resolved by a {@link TransitionPolicy}, which corresponds to
+ * {@code tm_isdst} given to {@code mktime}. It is mutable, and not thread-safe. Create one for each stream by
+ * {@link PosixTimeFormat#newZoneBoundParser(ZoneId, TransitionPolicy)}.
+ */
+public final class ZoneBoundParser {
+    ZoneBoundParser(final PosixTimeFormat format, final ZoneId zone, final TransitionPolicy policy) {
+        this.format = format;
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.policy = policy;
+
+        // Nothing is cached at first. The empty window and the empty transitions never match.
+        this.windowStart = Long.MAX_VALUE;
+        this.windowEnd = Long.MIN_VALUE;
+        this.previousTransition = Long.MAX_VALUE;
+        this.nextTransition = Long.MAX_VALUE;
+    }
+
+    /**
+     * Specifies how to resolve a local date and time which is in a gap, or in an overlap, of a transition of the zone.
+     *
+     * <p>A local date and time in a gap, such as 02:30 at the start of daylight saving time, does not exist. It could
+     * mean two instants, with the offset before the transition, or with the offset after the transition. A local date
+     * and time in an overlap, such as 01:30 at the end of daylight saving time, exists twice, at two instants.
+     */
+    public enum TransitionPolicy {
+        /**
+         * The earlier of the two instants, like {@code tm_isdst} positive for daylight saving time in the northern hemisphere.
+         */
+        EARLIER,
+
+        /**
+         * The later of the two instants, like {@code tm_isdst} zero. It is the same as {@link java.time.ZonedDateTime#of}
+         * in a gap, but not in an overlap.
+         */
+        LATER,
+
+        /**
+         * No instant, so that the text fails to be parsed.
+         */
+        REJECT,
+
+        ;
+    }
+
+    /**
+     * Parses a text into a {@link PosixTm} without throwing an exception for a text which cannot be parsed.
+     *
+     * <p>The target has the offset in the zone at the instant if the text does not contain an offset. The local date
+     * and time of the target may be different from the text if the text is in a gap.
+     *
+     * @param text  the text to parse
+     * @param target  the holder to overwrite with the parsed date and time
+     * @param result  the holder to overwrite with the status, which is {@link ParseResult.Status#INVALID} if the text is
+     *     in a gap or an overlap rejected by {@link TransitionPolicy#REJECT}
+     * @return {@code true} if succeeded
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public boolean tryParse(final CharSequence text, final PosixTm target, final ParseResult result) {
+        if (!this.format.tryParse(text, target, result)) {
+            return false;
+        }
+        if (!target.hasOffset()) {
+            final long epochSecond = this.toEpochSecond(target.localSecond());
+            if (epochSecond == REJECTED) {
+                return result.fail(ParseResult.Status.INVALID, 0, null);
+            }
+            target.setEpochSecond(epochSecond, target.getNanoOfSecond(), this.resolvedOffset);
+        }
+        return true;
+    }
+
+    /**
+     * Parses a text directly into seconds from the epoch of 1970-01-01T00:00:00Z.
+     *
+     * @param text  the text to parse
+     * @return seconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException  if the text cannot be parsed, or it is in a gap or an overlap rejected by
+     *     {@link TransitionPolicy#REJECT}
+     * @throws DateTimeException  if the format contains a conversion specification not accepted for parsing
+     */
+    public long parseEpochSecond(final CharSequence text) {
+        final PosixTm tm = this.format.parse(text, this.scratch);
+        if (tm.hasOffset()) {
+            return tm.toEpochSecond(0);
+        }
+        final long epochSecond = this.toEpochSecond(tm.localSecond());
+        if (epochSecond == REJECTED) {
+            throw new DateTimeParseException(
+                    "Text '" + text + "' could not be parsed: in a gap or an overlap of " + this.zone, text, 0);
+        }
+        return epochSecond;
+    }
+
+    /**
+     * Resolves a local date and time in seconds to seconds from the epoch, and sets {@link #resolvedOffset}.
+     *
+     * @return seconds from the epoch, or {@link #REJECTED}
+     */
+    private long toEpochSecond(final long localSecond) {
+        long epochSecond = this.toEpochSecondCached(localSecond);
+        if (epochSecond == MISSED) {
+            this.moveWindow(localSecond);
+            epochSecond = this.toEpochSecondCached(localSecond);
+            if (epochSecond == MISSED) {
+                // Transitions too close to each other to be cached, such as in a few historical zones.
+                epochSecond = this.toEpochSecondByRules(localSecond);
+            }
+        }
+        return epochSecond;
+    }
+
+    private long toEpochSecondCached(final long localSecond) {
+        if (this.windowStart <= localSecond && localSecond < this.windowEnd) {
+            this.resolvedOffset = this.windowOffset;
+            return localSecond - this.windowOffset;
+        }
+        if (isInTransition(localSecond, this.nextTransition, this.nextOffsetBefore, this.nextOffsetAfter)) {
+            return this.resolveInTransition(localSecond, this.nextTransition, this.nextOffsetBefore, this.nextOffsetAfter);
+        }
+        if (isInTransition(localSecond, this.previousTransition, this.previousOffsetBefore, this.previousOffsetAfter)) {
+            return this.resolveInTransition(localSecond, this.previousTransition, this.previousOffsetBefore, this.previousOffsetAfter);
+        }
+        return MISSED;
+    }
+
+    private long toEpochSecondByRules(final long localSecond) {
+        final LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        final List<ZoneOffset> validOffsets = this.rules.getValidOffsets(localDateTime);
+        if (validOffsets.size() == 1) {
+            this.resolvedOffset = validOffsets.get(0).getTotalSeconds();
+            return localSecond - this.resolvedOffset;
+        }
+        final ZoneOffsetTransition transition = this.rules.getTransition(localDateTime);
+        return this.resolveInTransition(
+                localSecond,
+                transition.toEpochSecond(),
+                transition.getOffsetBefore().getTotalSeconds(),
+                transition.getOffsetAfter().getTotalSeconds());
+    }
+
+    /**
+     * Resolves a local date and time in a gap or an overlap of a transition by the policy.
+     *
+     * <p>The local date and time means two instants with the offset before, and after the transition. The earlier one is
+     * with the larger offset in both a gap and an overlap.
+     */
+    private long resolveInTransition(final long localSecond, final long transition, final int offsetBefore, final int offsetAfter) {
+        final long epochSecond;
+        switch (this.policy) {
+            case EARLIER:
+                epochSecond = localSecond - Math.max(offsetBefore, offsetAfter);
+                break;
+            case LATER:
+                epochSecond = localSecond - Math.min(offsetBefore, offsetAfter);
+                break;
+            default:
+                return REJECTED;
+        }
+        this.resolvedOffset = (epochSecond < transition) ? offsetBefore : offsetAfter;
+        return epochSecond;
+    }
+
+    /**
+     * Caches the window around a local date and time, and the transitions before and after the window.
+     */
+    private void moveWindow(final long localSecond) {
+        if (this.rules.isFixedOffset()) {
+            this.windowOffset = this.rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            this.windowStart = Long.MIN_VALUE;
+            this.windowEnd = Long.MAX_VALUE;
+            return;
+        }
+
+        // The offset before the transition in a gap or an overlap, which is in the window before the transition.
+        final LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        final long epochSecond = localSecond - this.rules.getOffset(localDateTime).getTotalSeconds();
+
+        this.windowOffset = this.rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+
+        final ZoneOffsetTransition previous = this.rules.previousTransition(Instant.ofEpochSecond(epochSecond + 1));
+        if (previous == null) {
+            this.windowStart = Long.MIN_VALUE;
+            this.previousTransition = Long.MAX_VALUE;
+        } else {
+            this.previousTransition = previous.toEpochSecond();
+            this.previousOffsetBefore = previous.getOffsetBefore().getTotalSeconds();
+            this.previousOffsetAfter = previous.getOffsetAfter().getTotalSeconds();
+            this.windowStart = this.previousTransition + Math.max(this.previousOffsetBefore, this.previousOffsetAfter);
+        }
+
+        final ZoneOffsetTransition next = this.rules.nextTransition(Instant.ofEpochSecond(epochSecond));
+        if (next == null) {
+            this.windowEnd = Long.MAX_VALUE;
+            this.nextTransition = Long.MAX_VALUE;
+        } else {
+            this.nextTransition = next.toEpochSecond();
+            this.nextOffsetBefore = next.getOffsetBefore().getTotalSeconds();
+            this.nextOffsetAfter = next.getOffsetAfter().getTotalSeconds();
+            this.windowEnd = this.nextTransition + Math.min(this.nextOffsetBefore, this.nextOffsetAfter);
+        }
+    }
+
+    /**
+     * Returns {@code true} if a local date and time is in the gap or the overlap of a transition.
+     */
+    private static boolean isInTransition(final long localSecond, final long transition, final int offsetBefore, final int offsetAfter) {
+        return transition != Long.MAX_VALUE
+                && transition + Math.min(offsetBefore, offsetAfter) <= localSecond
+                && localSecond < transition + Math.max(offsetBefore, offsetAfter);
+    }
+
+    // Returned for a local date and time rejected, which is never a valid epoch second of PosixTm.
+    private static final long REJECTED = Long.MIN_VALUE;
+
+    // Returned for a local date and time out of the cache.
+    private static final long MISSED = Long.MIN_VALUE + 1;
+
+    private final PosixTimeFormat format;
+
+    private final ZoneId zone;
+
+    private final ZoneRules rules;
+
+    private final TransitionPolicy policy;
+
+    // The holder for the epoch values.
+    private final PosixTm scratch = new PosixTm();
+
+    // The window of local date and time in seconds, inclusive and exclusive, in which the offset is windowOffset.
+    private long windowStart;
+    private long windowEnd;
+    private int windowOffset;
+
+    // The transitions before and after the window, or Long.MAX_VALUE if none.
+    private long previousTransition;
+    private int previousOffsetBefore;
+    private int previousOffsetAfter;
+    private long nextTransition;
+    private int nextOffsetBefore;
+    private int nextOffsetAfter;
+
+    // The offset at the instant resolved last.
+    private int resolvedOffset;
+}
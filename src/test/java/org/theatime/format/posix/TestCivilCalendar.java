@@ -0,0 +1,125 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.temporal.ChronoField;
+import java.time.temporal.IsoFields;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TestCivilCalendar {
+    @Test
+    public void testToPackedDateAgainstLocalDate() {
+        for (long epochDay = -800_000L; epochDay <= 800_000L; epochDay++) {
+            assertPackedDate(LocalDate.ofEpochDay(epochDay), CivilCalendar.toPackedDate(epochDay));
+        }
+    }
+
+    @Test
+    public void testToEpochDayAgainstLocalDate() {
+        for (long epochDay = -800_000L; epochDay <= 800_000L; epochDay++) {
+            final LocalDate date = LocalDate.ofEpochDay(epochDay);
+            assertEquals(epochDay, CivilCalendar.toEpochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+            assertEquals(epochDay, CivilCalendar.toEpochDayFromOrdinal(date.getYear(), date.getDayOfYear()));
+            assertEquals(date.getDayOfWeek().getValue(), CivilCalendar.dayOfWeek(epochDay));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "-999999999,1,1",
+            "-999999999,12,31",
+            "-4,2,29",
+            "0,1,1",
+            "1969,12,31",
+            "1970,1,1",
+            "2000,2,29",
+            "2100,2,28",
+            "2100,3,1",
+            "999999999,12,31",
+    })
+    public void testExtremes(final int year, final int month, final int dayOfMonth) {
+        final LocalDate date = LocalDate.of(year, month, dayOfMonth);
+        assertEquals(date.toEpochDay(), CivilCalendar.toEpochDay(year, month, dayOfMonth));
+        assertPackedDate(date, CivilCalendar.toPackedDate(date.toEpochDay()));
+    }
+
+    @Test
+    public void testLengths() {
+        for (int year = -2000; year <= 3000; year++) {
+            assertEquals(Year.isLeap(year), CivilCalendar.isLeapYear(year));
+            assertEquals(Year.of(year).length(), CivilCalendar.lengthOfYear(year));
+            for (int month = 1; month <= 12; month++) {
+                assertEquals(LocalDate.of(year, month, 1).lengthOfMonth(), CivilCalendar.lengthOfMonth(year, month));
+                assertEquals(LocalDate.of(year, month, 1).getDayOfYear(), CivilCalendar.dayOfYear(year, month, 1));
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultWindow() {
+        final CivilCalendar.Window window = CivilCalendar.defaultWindow();
+        assertEquals(1970, window.firstYear());
+        assertEquals(2100, window.lastYear());
+
+        // Covers outside the window on both sides.
+        for (long epochDay = LocalDate.of(1960, 1, 1).toEpochDay(); epochDay <= LocalDate.of(2110, 12, 31).toEpochDay(); epochDay++) {
+            final LocalDate date = LocalDate.ofEpochDay(epochDay);
+            assertPackedDate(date, window.toPackedDate(epochDay));
+            assertEquals(epochDay, window.toEpochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()));
+        }
+        for (int year = 1960; year <= 2110; year++) {
+            assertEquals(LocalDate.of(year, 1, 1).toEpochDay(), window.toEpochDayOfYearStart(year));
+        }
+    }
+
+    @Test
+    public void testWeekBasedYears() {
+        final CivilCalendar.Window window = CivilCalendar.defaultWindow();
+        for (int year = 1900; year <= 2200; year++) {
+            final LocalDate week1Monday = LocalDate.of(year, 1, 4).with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, 1).with(ChronoField.DAY_OF_WEEK, 1);
+            final int weeks = (int) LocalDate.of(year, 6, 1).range(IsoFields.WEEK_OF_WEEK_BASED_YEAR).getMaximum();
+            assertEquals(week1Monday.toEpochDay(), CivilCalendar.toEpochDayOfWeekBasedYearStart(LocalDate.of(year, 1, 1).toEpochDay()));
+            assertEquals(weeks, CivilCalendar.weeksInWeekBasedYear(year));
+            assertEquals(weeks, window.weeksInWeekBasedYear(year));
+        }
+    }
+
+    @Test
+    public void testConfiguredWindow() {
+        final CivilCalendar.Window window = CivilCalendar.Window.of(-500, 500);
+        for (long epochDay = LocalDate.of(-510, 1, 1).toEpochDay(); epochDay <= LocalDate.of(510, 12, 31).toEpochDay(); epochDay++) {
+            assertPackedDate(LocalDate.ofEpochDay(epochDay), window.toPackedDate(epochDay));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> CivilCalendar.Window.of(2000, 1999));
+        assertThrows(IllegalArgumentException.class, () -> CivilCalendar.Window.of(0, 10000));
+    }
+
+    private static void assertPackedDate(final LocalDate expected, final long actual) {
+        assertEquals(expected.getYear(), CivilCalendar.year(actual));
+        assertEquals(expected.getMonthValue(), CivilCalendar.month(actual));
+        assertEquals(expected.getDayOfMonth(), CivilCalendar.dayOfMonth(actual));
+        assertEquals(expected.getDayOfYear(), CivilCalendar.dayOfYear(actual));
+    }
+}
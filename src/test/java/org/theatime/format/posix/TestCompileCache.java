@@ -0,0 +1,268 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TestCompileCache {
+    @Test
+    public void testCompileCached() {
+        final PosixTimeFormat format = PosixTimeFormat.compileCached("%Y-%m-%d %H:%M:%S");
+        assertSame(format, PosixTimeFormat.compileCached("%Y-%m-%d %H:%M:%S"));
+        assertNotSame(format, PosixTimeFormat.compileCached("%Y-%m-%d %H:%M:%S", PosixTimeFormat.Option.GNU_EXTENSION));
+        assertSame(
+                PosixTimeFormat.compileCached("%Y-%m-%d %H:%M:%S", PosixTimeFormat.Option.GNU_EXTENSION),
+                PosixTimeFormat.compileCached("%Y-%m-%d %H:%M:%S", PosixTimeFormat.Option.GNU_EXTENSION));
+        assertEquals(
+                PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S").format(1681734896L, 0, ZoneOffset.UTC),
+                format.format(1681734896L, 0, ZoneOffset.UTC));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "%T|%H:%M:%S",
+            "[%T]|[%H:%M:%S]",
+            "%R %p|%H:%M %p",
+            "%d %h %Y %T|%d %b %Y %H:%M:%S",
+            "%^10h|%^10b",
+            "%10T|%10T",
+            "%D|%D",
+            "%F|%F",
+            "%Y%T|%Y%T",
+            "%T%S|%T%S",
+            "%F%T|%F%H:%M:%S",
+            "100%% %T|100%% %H:%M:%S",
+    })
+    public void testCanonicalForm(final String format, final String expected) {
+        final PosixTimeFormat compiled = PosixTimeFormat.compile(format);
+        assertEquals(expected, compiled.canonicalForm());
+        assertEquals(expected, PosixTimeFormat.compile(expected).canonicalForm());
+
+        final PosixTimeFormat canonical = PosixTimeFormat.compile(expected);
+        for (final long epochSecond : new long[] { 0L, 1681734896L, -1234567890L }) {
+            final String formatted = compiled.format(epochSecond, 0, ZoneOffset.UTC);
+            assertEquals(formatted, canonical.format(epochSecond, 0, ZoneOffset.UTC));
+            assertEquals(compiled.toDateTimeFormatter().format(OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC)),
+                         canonical.toDateTimeFormatter().format(OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC)));
+        }
+    }
+
+    @Test
+    public void testCanonicalFormUpperCaseF() {
+        assertEquals("%Y-%m-%d %H:%M:%S",
+                     PosixTimeFormat.compile("%F %T", PosixTimeFormat.Option.UPPERCASE_F_FOR_PARSING).canonicalForm());
+        assertEquals("%F %H:%M:%S", PosixTimeFormat.compile("%F %T").canonicalForm());
+        // Neither is expanded, as %Y-%m-%d%H:%M:%S would reserve digits of %d for %H in parsing.
+        assertEquals("%F%T", PosixTimeFormat.compile("%F%T", PosixTimeFormat.Option.UPPERCASE_F_FOR_PARSING).canonicalForm());
+    }
+
+    @Test
+    public void testCompileCachedEquivalent() {
+        final PosixTimeFormat format = PosixTimeFormat.compileCached("%d %b %Y %H:%M:%S");
+        final PosixTimeFormat alias = PosixTimeFormat.compileCached("%d %h %Y %T");
+        assertNotSame(format, alias);
+        assertSame(alias, PosixTimeFormat.compileCached("%d %h %Y %T"));
+        assertSame(format.parsePlan(), alias.parsePlan());
+        assertSame(format.parsePlan(), PosixTimeFormat.compileCached("%d %b %Y %T").parsePlan());
+        assertEquals("%d %b %Y %H:%M:%S", format.canonicalForm());
+        assertEquals("%d %b %Y %H:%M:%S", alias.canonicalForm());
+        assertEquals(
+                PosixTimeFormat.compile("%d %h %Y %T").parseEpochSecond("17 Apr 2023 12:34:56", ZoneOffset.UTC),
+                alias.parseEpochSecond("17 Apr 2023 12:34:56", ZoneOffset.UTC));
+        assertSame(alias.parsePlan(), alias.withResolverStyle(ResolverStyle.STRICT).parsePlan());
+
+        assertNotSame(PosixTimeFormat.compileCached("%D").parsePlan(), PosixTimeFormat.compileCached("%m/%d/%y").parsePlan());
+        assertNotSame(PosixTimeFormat.compileCached("%F").parsePlan(), PosixTimeFormat.compileCached("%Y-%m-%d").parsePlan());
+        assertSame(
+                PosixTimeFormat.compileCached("%Y-%m-%d", PosixTimeFormat.Option.UPPERCASE_F_FOR_PARSING).parsePlan(),
+                PosixTimeFormat.compileCached("%F", PosixTimeFormat.Option.UPPERCASE_F_FOR_PARSING).parsePlan());
+    }
+
+    @Test
+    public void testCompileCachedKeepsSpelling() {
+        final PosixTimeFormat format = PosixTimeFormat.compileCached("[%d %h %Y %T]");
+        assertEquals(EnumSet.of(ConversionType.POSIX_LOWER_D, ConversionType.POSIX_LOWER_H, ConversionType.POSIX_UPPER_Y, ConversionType.POSIX_UPPER_T),
+                     format.traits().conversionTypes());
+
+        final PosixTm tm = new PosixTm();
+        final ParseResult result = new ParseResult();
+        assertFalse(format.tryParse("[17 Apr 2023 12:xx:56]", tm, result));
+        assertEquals(ParseResult.Status.MISMATCH, result.status());
+        assertEquals("%T", result.failedSpecification());
+        assertEquals(10, result.failedSpecificationIndex());
+
+        assertFalse(format.tryParse("[17 Xyz 2023 12:34:56]", tm, result));
+        assertEquals("%h", result.failedSpecification());
+        assertEquals(4, result.failedSpecificationIndex());
+
+        assertFalse(format.tryParse("(17 Apr 2023 12:34:56]", tm, result));
+        assertEquals("[", result.failedSpecification());
+        assertEquals(0, result.failedSpecificationIndex());
+    }
+
+    @Test
+    public void testCompileCachedInCache() {
+        final CompileCache cache = new CompileCache(16);
+        final PosixTimeFormat alias = PosixTimeFormat.compileCached(cache, "%T", Options.of());
+        final PosixTimeFormat canonical = cache.getIfPresent("%H:%M:%S", Options.of());
+        assertSame(alias, cache.getIfPresent("%T", Options.of()));
+        assertSame(canonical, PosixTimeFormat.compileCached(cache, "%H:%M:%S", Options.of()));
+        assertSame(canonical.parsePlan(), alias.parsePlan());
+        assertEquals("%H:%M:%S", alias.sharedForm());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testEvictsAliasesWithCanonical() {
+        final CompileCache cache = new CompileCache(4);
+        PosixTimeFormat.compileCached(cache, "%H:%M:%S", Options.of());
+        final PosixTimeFormat alias = PosixTimeFormat.compileCached(cache, "%T", Options.of());
+        assertSame(alias, cache.getIfPresent("%T", Options.of()));
+        assertEquals(2, cache.size());
+
+        for (int i = 0; i < 3; i++) {
+            cache.get("%Y-" + i, Options.of(), key -> PosixTimeFormat.compile(key.format()));
+        }
+        // The canonical entry is the oldest, and its alias is evicted together.
+        assertNull(cache.getIfPresent("%H:%M:%S", Options.of()));
+        assertNull(cache.getIfPresent("%T", Options.of()));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testAliasNotCachedWithoutCanonical() {
+        final CompileCache cache = new CompileCache(16);
+        // The canonical entry is in another cache.
+        final PosixTimeFormat alias = cache.get(
+                "%T", Options.of(), key -> PosixTimeFormat.compileCached(new CompileCache(16), key.format(), key.options()));
+        assertEquals("%H:%M:%S", alias.sharedForm());
+        assertNull(cache.getIfPresent("%T", Options.of()));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testOptionsEquals() {
+        assertEquals(Options.of(), Options.of());
+        assertEquals(
+                Options.of(PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING, PosixTimeFormat.Option.UPPERCASE_Z_FOR_PARSING),
+                Options.of(PosixTimeFormat.Option.UPPERCASE_Z_FOR_PARSING, PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING));
+        assertEquals(
+                Options.of(PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING).hashCode(),
+                Options.of(PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING, PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING).hashCode());
+        assertFalse(Options.of().equals(Options.of(PosixTimeFormat.Option.GNU_EXTENSION)));
+    }
+
+    @Test
+    public void testBounded() {
+        final CompileCache cache = new CompileCache(16);
+        for (int i = 0; i < 100; i++) {
+            cache.get("%Y-" + i, Options.of(), key -> PosixTimeFormat.compile(key.format()));
+            assertTrue(cache.size() <= 16);
+        }
+    }
+
+    @Test
+    public void testEvictsOldest() {
+        final CompileCache cache = new CompileCache(16);
+        for (int i = 0; i < 100; i++) {
+            final PosixTimeFormat compiled = cache.get("%Y-" + i, Options.of(), key -> PosixTimeFormat.compile(key.format()));
+            // The entry just added is never evicted.
+            assertSame(compiled, cache.getIfPresent("%Y-" + i, Options.of()));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i >= 84, cache.getIfPresent("%Y-" + i, Options.of()) != null, "%Y-" + i);
+        }
+    }
+
+    @Test
+    public void testCompileOutOfMap() {
+        // The compiler can use the cache for another key, as it does not run in the map.
+        final CompileCache cache = new CompileCache(16);
+        final PosixTimeFormat compiled = cache.get("%Y", Options.of(), key -> {
+            cache.get("%m", Options.of(), inner -> PosixTimeFormat.compile(inner.format()));
+            return PosixTimeFormat.compile(key.format());
+        });
+        assertSame(compiled, cache.getIfPresent("%Y", Options.of()));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testFailureNotCached() {
+        final CompileCache cache = new CompileCache(16);
+        final AtomicInteger compiled = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            assertThrows(IllegalStateException.class, () -> cache.get("%Y", Options.of(), key -> {
+                compiled.incrementAndGet();
+                throw new IllegalStateException();
+            }));
+        }
+        assertEquals(2, compiled.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSingleFlight() throws InterruptedException {
+        final CompileCache cache = new CompileCache(16);
+        final AtomicInteger compiled = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        final PosixTimeFormat[] results = new PosixTimeFormat[8];
+        for (int i = 0; i < results.length; i++) {
+            final int index = i;
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException ex) {
+                    throw new RuntimeException(ex);
+                }
+                results[index] = cache.get("%Y-%m-%d", Options.of(), key -> {
+                    compiled.incrementAndGet();
+                    return PosixTimeFormat.compile(key.format());
+                });
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, compiled.get());
+        for (final PosixTimeFormat result : results) {
+            assertSame(results[0], result);
+        }
+    }
+}
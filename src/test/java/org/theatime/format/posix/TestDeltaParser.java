@@ -0,0 +1,128 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestDeltaParser {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "%Y-%m-%d %H:%M:%S",
+            "%Y-%m-%dT%H:%M:%S",
+            "%Y%m%d%H%M%S",
+            "%d/%b/%Y:%H:%M:%S",
+            "%b %e %H:%M:%S %Y",
+            "%a, %d %b %Y %I:%M:%S %p",
+            "%y-%j %H:%M",
+            "%D %T",
+            "%H:%M:%S %Y-%m-%d",
+    })
+    public void testSameAsParse(final String format) {
+        final PosixTimeFormat compiled = PosixTimeFormat.compile(format);
+        final DeltaParser deltaParser = compiled.newDeltaParser();
+        final PosixTm target = new PosixTm();
+        final Random random = new Random(format.hashCode());
+
+        long epochSecond = 1681734896L;
+        for (int i = 0; i < 2000; i++) {
+            epochSecond += (random.nextInt(10) == 0) ? random.nextInt(200000) : random.nextInt(5);
+            String text = compiled.format(epochSecond, 0, ZoneOffset.UTC);
+            if (random.nextInt(20) == 0) {
+                text = text.substring(0, random.nextInt(text.length())) + "x" + text.substring(random.nextInt(text.length()));
+            }
+
+            final PosixTm expected = new PosixTm();
+            final boolean parsed = compiled.tryParse(text, expected, new ParseResult());
+            assertEquals(parsed, deltaParser.tryParse(text, target), text);
+            if (parsed) {
+                assertEquals(expected.toString(), target.toString(), text);
+                assertEquals(expected.getDayOfWeek(), target.getDayOfWeek(), text);
+                assertEquals(expected.getDayOfYear(), target.getDayOfYear(), text);
+            }
+        }
+    }
+
+    @Test
+    public void testResumed() {
+        final DeltaParser deltaParser = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S").newDeltaParser();
+        final PosixTm target = new PosixTm();
+        assertTrue(deltaParser.tryParse("2023-04-17 12:34:56", target));
+        assertTrue(deltaParser.tryParse("2023-04-17 12:34:59", target));
+        assertEquals("2023-04-17T12:34:59", target.toString());
+        assertTrue(deltaParser.tryParse("2023-04-17 12:35:00", target));
+        assertEquals("2023-04-17T12:35:00", target.toString());
+        assertTrue(deltaParser.tryParse("2023-04-18 00:00:00", target));
+        assertEquals("2023-04-18T00:00:00", target.toString());
+        assertEquals(2, target.getDayOfWeek());
+        assertFalse(deltaParser.tryParse("2023-04-18 00:00:60", target));
+        assertTrue(deltaParser.tryParse("2023-04-18 00:00:59", target));
+        assertEquals("2023-04-18T00:00:59", target.toString());
+
+        // Another target does not hold the previous date.
+        final PosixTm another = new PosixTm();
+        assertTrue(deltaParser.tryParse("2023-04-18 00:01:00", another));
+        assertEquals("2023-04-18T00:01:00", another.toString());
+        assertEquals(2, another.getDayOfWeek());
+    }
+
+    @Test
+    public void testTargetReusedWithAnotherFormat() {
+        final DeltaParser deltaParser = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S").newDeltaParser();
+        final PosixTm target = new PosixTm();
+        assertTrue(deltaParser.tryParse("2023-04-17 12:34:56", target));
+        PosixTimeFormat.compile("%d/%m/%Y").parse("01/01/1999", target);
+        assertEquals("1999-01-01T00:00:00", target.toString());
+        assertTrue(deltaParser.tryParse("2023-04-17 12:34:57", target));
+        assertEquals("2023-04-17T12:34:57", target.toString());
+        assertEquals(1, target.getDayOfWeek());
+        assertEquals(107, target.getDayOfYear());
+    }
+
+    @Test
+    public void testMidnightAtEndOfDay() {
+        // 24:00:00 adds a day to the date, which is not reused for the following texts.
+        final DeltaParser deltaParser = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S").newDeltaParser();
+        final PosixTm target = new PosixTm();
+        assertTrue(deltaParser.tryParse("2023-04-17 24:00:00", target));
+        assertEquals("2023-04-18T00:00:00", target.toString());
+        assertTrue(deltaParser.tryParse("2023-04-17 23:59:59", target));
+        assertEquals("2023-04-17T23:59:59", target.toString());
+        assertTrue(deltaParser.tryParse("2023-04-17 24:00:00", target));
+        assertEquals("2023-04-18T00:00:00", target.toString());
+    }
+
+    @Test
+    public void testEpochSecond() {
+        final DeltaParser deltaParser = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S").newDeltaParser();
+        assertEquals(1681734896L, deltaParser.parseEpochSecond("2023-04-17 12:34:56", ZoneOffset.UTC));
+        assertEquals(1681734897L, deltaParser.parseEpochSecond("2023-04-17 12:34:57", ZoneOffset.UTC));
+        assertEquals(1681734897L - 3600L, deltaParser.parseEpochSecond("2023-04-17 12:34:57", ZoneOffset.ofHours(1)));
+        assertThrows(DateTimeParseException.class, () -> deltaParser.parseEpochSecond("2023-04-17 12:34:5x", ZoneOffset.UTC));
+        deltaParser.reset();
+        assertEquals(1681734898L, deltaParser.parseEpochSecond("2023-04-17 12:34:58", ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TestFormatTraits {
+    @ParameterizedTest
+    @CsvSource({
+            "'%Y-%m-%dT%H:%M:%S',19,true,true,SECONDS",
+            "'%Y%m%d%H%M%S',14,true,true,SECONDS",
+            // %F and %G are not accepted for parsing without the options.
+            "'%F %T',19,true,false,SECONDS",
+            "'%Y-%j',8,true,true,DAYS",
+            "'%G-W%V-%u',10,true,false,DAYS",
+            "'%C%y-%m',7,true,true,MONTHS",
+            "'%Y-%m-%d %e',13,false,true,DAYS",
+            "'%Y-%m-%d %H:%M',16,true,true,MINUTES",
+            "'%y-%m-%d %H:%M',14,false,false,MINUTES",
+            "'%Y-%m-%d %M',13,false,false,MINUTES",
+            "'%H:%M:%S',8,false,false,SECONDS",
+            "'%d/%b/%Y:%H:%M:%S',20,false,true,SECONDS",
+            "'%a %b %e %H:%M:%S %Y',24,false,true,SECONDS",
+            "'%c',24,false,true,SECONDS",
+            "'%Y-%m-%d %I:%M:%S %p',22,false,true,SECONDS",
+            "'%Y-%m-%d %I:%M:%S',19,false,false,SECONDS",
+            "'%A, %d %B %Y',-1,false,true,DAYS",
+            "'%-m/%-d/%Y',-1,false,true,DAYS",
+            "'%010Y-%m',13,true,true,MONTHS",
+            "'%_5d',-1,false,false,DAYS",
+            "'%8a|',9,false,false,DAYS",
+            "'literal',7,false,false,FOREVER",
+    })
+    public void testTraits(final String format, final int width, final boolean sortable, final boolean roundTrips, final String finestUnit) {
+        final FormatTraits traits = PosixTimeFormat.compile(format).traits();
+        assertEquals(width, traits.width(), format);
+        assertEquals(width >= 0, traits.isFixedWidth(), format);
+        assertEquals(sortable, traits.isSortable(), format);
+        assertEquals(roundTrips, traits.roundTrips(), format);
+        assertEquals(ChronoUnit.valueOf(finestUnit), traits.finestUnit(), format);
+    }
+
+    @Test
+    public void testConversionTypes() {
+        final FormatTraits traits = PosixTimeFormat.compile("%Y-%m-%d%n%H:%M %% %z").traits();
+        assertEquals(
+                EnumSet.of(ConversionType.POSIX_UPPER_Y, ConversionType.POSIX_LOWER_M, ConversionType.POSIX_LOWER_D,
+                           ConversionType.POSIX_UPPER_H, ConversionType.POSIX_UPPER_M, ConversionType.POSIX_LOWER_Z),
+                traits.conversionTypes());
+        assertTrue(traits.dependsOnZone());
+        assertFalse(traits.dependsOnLocale());
+        // %z is not accepted for parsing without the option.
+        assertFalse(traits.roundTrips());
+        assertTrue(PosixTimeFormat.compile("%Y-%m-%d %H:%M %z", PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING).traits().roundTrips());
+        assertTrue(PosixTimeFormat.compile("%F %T", PosixTimeFormat.Option.GNU_EXTENSION).traits().roundTrips());
+        assertTrue(PosixTimeFormat.compile("%G-W%V-%u", PosixTimeFormat.Option.GNU_EXTENSION).traits().roundTrips());
+
+        assertTrue(PosixTimeFormat.compile("%d %b").traits().dependsOnLocale());
+        assertFalse(PosixTimeFormat.compile("%d %B").traits().dependsOnLocale());
+        assertTrue(PosixTimeFormat.compile("%r").traits().dependsOnLocale());
+        assertFalse(PosixTimeFormat.compile("%I:%M:%S").traits().dependsOnLocale());
+        assertFalse(PosixTimeFormat.compile("%d %B").traits().dependsOnZone());
+    }
+
+    @Test
+    public void testSharedWithResolverStyle() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%Y-%m-%d");
+        assertSame(format.traits(), format.withResolverStyle(ResolverStyle.STRICT).traits());
+    }
+
+    @Test
+    public void testSameAsFormatted() {
+        final Random random = new Random(1234L);
+        for (final String format : Arrays.asList(
+                "%Y-%m-%dT%H:%M:%S", "%Y%j", "%G-W%V-%u", "%F %T", "%C%y%m%d %e", "%c", "%D %r", "%010Y-%m", "%8a|%p|%U|%W|%w", "%y-%m-%d %H:%M")) {
+            final PosixTimeFormat compiled = PosixTimeFormat.compile(format, PosixTimeFormat.Option.GNU_EXTENSION);
+            final FormatTraits traits = compiled.traits();
+            String previous = null;
+            long epochSecond = -30610224000L;  // 1000-01-01T00:00:00Z
+            while (epochSecond < 253402300800L) {  // 10000-01-01T00:00:00Z
+                final String formatted = compiled.format(epochSecond, 0, ZoneOffset.UTC);
+                if (traits.isFixedWidth()) {
+                    assertEquals(traits.width(), formatted.length(), format + ": " + formatted);
+                }
+                if (traits.isSortable() && previous != null) {
+                    assertTrue(previous.compareTo(formatted) <= 0, format + ": " + previous + " " + formatted);
+                }
+                if (traits.roundTrips()) {
+                    final long parsed = compiled.parseEpochSecond(formatted, ZoneOffset.UTC);
+                    assertEquals(compiled.format(parsed, 0, ZoneOffset.UTC), formatted, format);
+                }
+                previous = formatted;
+                epochSecond += random.nextInt(3 * 86400 * 365);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class TestLogTimestampExtractor {
+    @Test
+    public void testFields() throws IOException {
+        final StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            log.append(String.format("2023-04-17 12:%02d:%02d INFO line %d\n", i / 60 % 60, i % 60, i));
+        }
+        final LogTimestampExtractor extractor = LogTimestampExtractor.of(
+                PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S"), TimestampLocator.fields(' ', 0, 2), ZoneOffset.UTC, TimeUnit.SECONDS);
+
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (final long chunkSize : new long[] { 1L, 17L, 100L, 4096L, -1L }) {
+                final LogTimestampExtractor.Result result = extract(extractor, log.toString(), pool, chunkSize);
+                assertEquals(1000, result.lines());
+                assertEquals(1000, result.validLines());
+                long offset = 0L;
+                for (int i = 0; i < 1000; i++) {
+                    assertTrue(result.isValid(i));
+                    assertEquals(
+                            LocalDateTime.of(2023, 4, 17, 12, i / 60 % 60, i % 60).toEpochSecond(ZoneOffset.UTC),
+                            result.epochValues()[i]);
+                    assertEquals(offset, result.lineOffsets()[i]);
+                    offset += String.format("2023-04-17 12:%02d:%02d INFO line %d\n", i / 60 % 60, i % 60, i).length();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testAtOffsetWithInvalidLines() throws IOException {
+        final String log = "I0417 12:34:56.789 a\r\n"
+                + "\r\n"
+                + "broken line\n"
+                + "I0417 23:59:59.000 b\n"
+                + "I0417 12:34:5";
+        final LogTimestampExtractor extractor = LogTimestampExtractor.of(
+                PosixTimeFormat.compile("%m%d %H:%M:%S"), TimestampLocator.atOffset(1, 13), ZoneOffset.ofHours(9), TimeUnit.MILLISECONDS);
+
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            final LogTimestampExtractor.Result result = extract(extractor, log, pool, 5L);
+            assertEquals(5, result.lines());
+            assertEquals(2, result.validLines());
+            assertEquals(0L, result.lineOffsets()[0]);
+            assertEquals(22L, result.lineOffsets()[1]);
+            assertEquals(24L, result.lineOffsets()[2]);
+            assertEquals(36L, result.lineOffsets()[3]);
+            assertEquals(57L, result.lineOffsets()[4]);
+            assertTrue(result.isValid(0));
+            assertEquals(LocalDateTime.of(1970, 4, 17, 12, 34, 56).toEpochSecond(ZoneOffset.ofHours(9)) * 1000L, result.epochValues()[0]);
+            assertFalse(result.isValid(1));
+            assertFalse(result.isValid(2));
+            assertEquals(0L, result.epochValues()[2]);
+            assertTrue(result.isValid(3));
+            assertFalse(result.isValid(4));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEnclosed() throws IOException {
+        final String log = "127.0.0.1 - - [17/Apr/2023:12:34:56] \"GET / HTTP/1.1\" 200\n"
+                + "127.0.0.1 - - [17/Apr/2023:12:34:57] \"GET / HTTP/1.1\" 200\n"
+                + "127.0.0.1 - - 17/Apr/2023:12:34:58 \"GET / HTTP/1.1\" 200\n";
+        final LogTimestampExtractor extractor = LogTimestampExtractor.of(
+                PosixTimeFormat.compile("%d/%b/%Y:%H:%M:%S"), TimestampLocator.enclosed('[', ']'), ZoneOffset.ofHours(9), TimeUnit.SECONDS);
+
+        final LogTimestampExtractor.Result result = extract(extractor, log, ForkJoinPool.commonPool(), -1L);
+        assertEquals(3, result.lines());
+        assertEquals(2, result.validLines());
+        assertEquals(LocalDateTime.of(2023, 4, 17, 3, 34, 56).toEpochSecond(ZoneOffset.UTC), result.epochValues()[0]);
+        assertEquals(LocalDateTime.of(2023, 4, 17, 3, 34, 57).toEpochSecond(ZoneOffset.UTC), result.epochValues()[1]);
+        assertFalse(result.isValid(2));
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final LogTimestampExtractor extractor = LogTimestampExtractor.of(
+                PosixTimeFormat.compile("%Y"), TimestampLocator.atOffset(0, -1), ZoneOffset.UTC, TimeUnit.SECONDS);
+        assertEquals(0, extract(extractor, "", ForkJoinPool.commonPool(), -1L).lines());
+        assertEquals(1, extract(extractor, "\n", ForkJoinPool.commonPool(), -1L).lines());
+    }
+
+    @Test
+    public void testLocators() {
+        final String line = "a,b,,d";
+        assertEquals(TimestampLocator.pack(2, 3), TimestampLocator.fields(',', 1, 1).locate(line, 0, line.length()));
+        assertEquals(TimestampLocator.pack(2, 4), TimestampLocator.fields(',', 1, 2).locate(line, 0, line.length()));
+        assertEquals(TimestampLocator.pack(5, 6), TimestampLocator.fields(',', 3, 1).locate(line, 0, line.length()));
+        assertEquals(-1L, TimestampLocator.fields(',', 4, 1).locate(line, 0, line.length()));
+        assertEquals(-1L, TimestampLocator.fields(',', 3, 2).locate(line, 0, line.length()));
+        assertEquals(TimestampLocator.pack(2, 6), TimestampLocator.atOffset(2, -1).locate(line, 0, line.length()));
+        assertEquals(-1L, TimestampLocator.atOffset(2, 5).locate(line, 0, line.length()));
+        assertThrows(IllegalArgumentException.class, () -> TimestampLocator.fields(',', 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> LogTimestampExtractor.of(
+                PosixTimeFormat.compile("%Y"), TimestampLocator.atOffset(0, -1), ZoneOffset.UTC, TimeUnit.MINUTES));
+    }
+
+    private static LogTimestampExtractor.Result extract(
+            final LogTimestampExtractor extractor,
+            final String log,
+            final ForkJoinPool pool,
+            final long chunkSize) throws IOException {
+        final Path file = Files.createTempFile("theatime", ".log");
+        try {
+            Files.write(file, log.getBytes(StandardCharsets.UTF_8));
+            return extractor.extract(file, pool, chunkSize);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
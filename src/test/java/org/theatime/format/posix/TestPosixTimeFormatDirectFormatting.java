@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestPosixTimeFormatDirectFormatting {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "%a %A %b %B %h",
+            "%^a %^A %^b %^B %#a",
+            "%c",
+            "%C %y %Y",
+            "%d %e %j %m",
+            "%D %F %x",
+            "%H %I %k %l %M %S %p",
+            "%R %T %X %r",
+            "%H:%M:%S",
+            "%H:%M",
+            "%I:%M:%S %p",
+            "%Y-%m-%dT%H:%M:%S.%L",
+            "%u %w %U %W",
+            "%G %g %V",
+            "%s",
+            "%10Y|%010d|%_5H|%-m|%-d",
+            "%012T|%3T|%-R",
+            "%n%t%%",
+            "%Z",
+            "literal only",
+    })
+    public void testAgainstDateTimeFormatter(final String format) {
+        assertSameAsDateTimeFormatter(PosixTimeFormat.compile(format, PosixTimeFormat.Option.GNU_EXTENSION));
+        assertSameAsDateTimeFormatter(PosixTimeFormat.compile(
+                format, PosixTimeFormat.Option.GNU_EXTENSION, PosixTimeFormat.Option.PRECOMPUTED_TIME_OF_DAY));
+    }
+
+    @Test
+    public void testPrecomputedTimeOfDay() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%T|%R|%r|%H:%M:%S|%I:%M:%S %p", PosixTimeFormat.Option.PRECOMPUTED_TIME_OF_DAY);
+        for (long secondOfDay = 0; secondOfDay < 86400; secondOfDay++) {
+            final long epochSecond = 1700000000L - (1700000000L % 86400) + secondOfDay;
+            final OffsetDateTime dateTime = OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+            assertEquals(
+                    DateTimeFormatter.ofPattern("HH:mm:ss|HH:mm|hh:mm:ss a|HH:mm:ss|hh:mm:ss a").format(dateTime),
+                    format.format(epochSecond, 0, ZoneOffset.UTC));
+        }
+    }
+
+    @Test
+    public void testFuse() {
+        assertEquals(1, TimeOfDaySegment.fuse(Tokenizer.tokenize("%H:%M:%S")).size());
+        assertEquals(3, TimeOfDaySegment.fuse(Tokenizer.tokenize("%H:%M:%S.%N")).size());
+        assertEquals(2, TimeOfDaySegment.fuse(Tokenizer.tokenize("%H:%M:")).size());
+        assertEquals(5, TimeOfDaySegment.fuse(Tokenizer.tokenize("%H:%_M:%S")).size());
+        assertEquals(1, TimeOfDaySegment.fuse(Tokenizer.tokenize("%I:%M:%S %p")).size());
+        assertEquals(7, TimeOfDaySegment.fuse(Tokenizer.tokenize("%I:%M:%S %#p")).size());
+        assertEquals(1, TimeOfDaySegment.fuse(Tokenizer.tokenize("%012T")).size());
+        assertEquals(TimeOfDaySegment.class, TimeOfDaySegment.fuse(Tokenizer.tokenize("%8T")).get(0).getClass());
+        assertEquals(UpperT.class, TimeOfDaySegment.fuse(Tokenizer.tokenize("%012T")).get(0).getClass());
+    }
+
+    @Test
+    public void testZone() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S %z|%:z|%::z|%Z", PosixTimeFormat.Option.PRECOMPUTED_TIME_OF_DAY);
+        assertEquals("2023-11-15 07:30:00 +0900|+09:00|+09:00:00|", format.format(1700001000L, 0, ZoneOffset.ofHours(9)));
+        assertEquals("2023-11-14 18:50:00 -0340|-03:40|-03:40:00|", format.format(1700001000L, 0, ZoneOffset.ofHoursMinutes(-3, -40)));
+        assertEquals("2023-11-14 22:30:00 +0000|+00:00|+00:00:00|", format.format(1700001000L, 0, ZoneOffset.UTC));
+
+        // toDateTimeFormatter() formats no characters for %z as before.
+        assertEquals("2023-11-15 07:30:00 |||", format.toDateTimeFormatter().format(
+                OffsetDateTime.ofInstant(Instant.ofEpochSecond(1700001000L), ZoneOffset.ofHours(9))));
+    }
+
+    private static void assertSameAsDateTimeFormatter(final PosixTimeFormat format) {
+        final DateTimeFormatter formatter = format.toDateTimeFormatter();
+        for (final long epochSecond : EPOCH_SECONDS) {
+            for (final ZoneOffset offset : OFFSETS) {
+                final OffsetDateTime dateTime = OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, 123456789), offset);
+                assertEquals(formatter.format(dateTime), format.format(epochSecond, 123456789, offset));
+            }
+        }
+    }
+
+    private static final long[] EPOCH_SECONDS = {
+        -62135596800L,  // 0001-01-01T00:00:00Z
+        -2208988800L,  // 1900-01-01T00:00:00Z
+        -1L,
+        0L,
+        43199L,
+        43200L,
+        951782400L,  // 2000-02-29T00:00:00Z
+        1104537600L,  // 2005-01-01T00:00:00Z, in the ISO week-based year 2004
+        1230681600L,  // 2008-12-31T00:00:00Z, in the ISO week-based year 2009
+        1700000000L,
+        4102444799L,  // 2099-12-31T23:59:59Z
+        4133980800L,  // 2101-01-01T00:00:00Z, out of the precomputed window
+        253402300799L,  // 9999-12-31T23:59:59Z
+    };
+
+    private static final ZoneOffset[] OFFSETS = {
+        ZoneOffset.UTC,
+        ZoneOffset.ofHours(9),
+        ZoneOffset.ofHoursMinutes(-3, -30),
+    };
+}
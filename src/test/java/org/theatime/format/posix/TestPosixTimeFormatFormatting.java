@@ -17,14 +17,20 @@
 package org.theatime.format.posix;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -853,4 +859,55 @@ public class TestPosixTimeFormatFormatting {
         assertEquals("000009:05:03", formatter.format(ZonedDateTime.of(2023, 6, 15, 9, 5, 3, 0, ZoneOffset.UTC)));
         assertEquals("000000:00:00", formatter.format(ZonedDateTime.of(2023, 6, 15, 0, 0, 0, 0, ZoneOffset.UTC)));
     }
+
+    @Test
+    public void testToDateTimeFormatterCached() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%a %Y-%m-%d");
+        final DateTimeFormatter formatter = format.toDateTimeFormatter();
+        assertSame(formatter, format.toDateTimeFormatter());
+        assertSame(formatter, format.toDateTimeFormatter(Optional.empty(), PaddingStyle.SMART));
+        assertNotSame(formatter, format.toDateTimeFormatter(PaddingStyle.LENIENT));
+        assertNotSame(formatter, format.toDateTimeFormatter(Optional.of(Locale.ROOT), PaddingStyle.SMART));
+        assertSame(
+                format.toDateTimeFormatter(Optional.of(Locale.JAPANESE), PaddingStyle.SMART),
+                format.toDateTimeFormatter(Optional.of(Locale.JAPANESE), PaddingStyle.SMART));
+        assertEquals(Locale.JAPANESE, format.toDateTimeFormatter(Optional.of(Locale.JAPANESE), PaddingStyle.SMART).getLocale());
+
+        // A format compiled separately from the same format string shares the formatters.
+        assertSame(formatter, PosixTimeFormat.compile("%a %Y-%m-%d").toDateTimeFormatter());
+        assertNotSame(formatter, PosixTimeFormat.compile("%a %Y-%m-%d", PosixTimeFormat.Option.GNU_EXTENSION).toDateTimeFormatter());
+
+        // A copy with another resolver style does not share the formatters.
+        assertEquals(ResolverStyle.STRICT, format.withResolverStyle(ResolverStyle.STRICT).toDateTimeFormatter().getResolverStyle());
+        assertEquals(ResolverStyle.SMART, format.toDateTimeFormatter().getResolverStyle());
+        assertSame(
+                format.withResolverStyle(ResolverStyle.STRICT).toDateTimeFormatter(),
+                PosixTimeFormat.compile("%a %Y-%m-%d").withResolverStyle(ResolverStyle.STRICT).toDateTimeFormatter());
+
+        // Equivalent spellings do not share the formatters, which parse differently.
+        assertNotSame(PosixTimeFormat.compile("%T").toDateTimeFormatter(), PosixTimeFormat.compile("%H:%M:%S").toDateTimeFormatter());
+    }
+
+    @Test
+    public void testToDateTimeFormatterFailureNotCached() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%_8F");
+        assertThrows(UnsupportedPaddingException.class, () -> format.toDateTimeFormatter(PaddingStyle.STRICT));
+        assertThrows(UnsupportedPaddingException.class, () -> format.toDateTimeFormatter(PaddingStyle.STRICT));
+        assertSame(format.toDateTimeFormatter(PaddingStyle.LENIENT), format.toDateTimeFormatter(PaddingStyle.LENIENT));
+    }
+
+    @Test
+    public void testDateTimeFormatterCacheBounded() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%b");
+        final DateTimeFormatterCache cache = new DateTimeFormatterCache(8);
+        for (final Locale locale : Locale.getAvailableLocales()) {
+            final DateTimeFormatter formatter = cache.get(
+                    "%b", Options.of(), ResolverStyle.SMART, PaddingStyle.SMART, Optional.of(locale),
+                    () -> format.toDateTimeFormatter(Optional.of(locale), PaddingStyle.SMART));
+            // The entry just added is never evicted.
+            assertSame(formatter, cache.get(
+                    "%b", Options.of(), ResolverStyle.SMART, PaddingStyle.SMART, Optional.of(locale), () -> null));
+        }
+        assertEquals(8, cache.size());
+    }
 }
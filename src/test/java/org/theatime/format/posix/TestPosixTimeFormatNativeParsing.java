@@ -0,0 +1,762 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestPosixTimeFormatNativeParsing {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "%Y-%m-%d %H:%M:%S",
+            "%Y-%m-%dT%T",
+            // %Y before 1000 is not zero-padded, and it takes 4 digits at least next to other digits as strptime.
+            "%4Y%m%d%H%M%S",
+            "%a %b %e %H:%M:%S %Y",
+            "%A, %d %B %Y %r",
+            "%^a %^b %d %Y %I:%M:%S %#p",
+            "%c",
+            "%Y %j %R:%S",
+            "%C%y-%m-%d %X",
+            "%_5Y|%05m|%-d|%_3H|%M|%S",
+            "%10Y %012T %Y/%m/%d",
+            "%Y-%m-%d %H:%M:%S %%%n%t",
+    })
+    public void testRoundTrip(final String format) {
+        final PosixTimeFormat posixTimeFormat = PosixTimeFormat.compile(format);
+        final PosixTm tm = new PosixTm();
+        for (final long epochSecond : EPOCH_SECONDS) {
+            final String formatted = posixTimeFormat.format(epochSecond, 0, ZoneOffset.UTC);
+            assertSame(tm, posixTimeFormat.parse(formatted, tm));
+            assertTm(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC), tm);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%Y-%m-%d,2023-02-30,2023-02-28T00:00",
+            "%Y-%m-%d,2024-02-31,2024-02-29T00:00",
+            "%y-%m-%d,69-01-01,1969-01-01T00:00",
+            "%y-%m-%d,68-12-31,2068-12-31T00:00",
+            "%C %y,19 99,1999-01-01T00:00",
+            "%Y %j,2024 366,2024-12-31T00:00",
+            "%Y-%m-%d %I:%M %p,2023-04-17 12:05 AM,2023-04-17T00:05",
+            "%Y-%m-%d %I:%M %p,2023-04-17 12:05 PM,2023-04-17T12:05",
+            "%Y-%m-%d %I:%M %p,2023-04-17 01:05 PM,2023-04-17T13:05",
+            "%m/%d/%Y %H:%M,04/17/2023 23:59,2023-04-17T23:59",
+            "%D,04/17/23,2023-04-17T00:00",
+            "%a %Y-%m-%d,Mon 2023-04-17,2023-04-17T00:00",
+            "%w %Y-%m-%d,0 2023-04-16,2023-04-16T00:00",
+            "%H:%M,09:30,1970-01-01T09:30",
+            "%e/%b/%Y,' 3/Apr/2023',2023-04-03T00:00",
+            "%Y%m%d,20230417,2023-04-17T00:00",
+            "%Y%m%d,-20230417,-2023-04-17T00:00",
+            "%Y%m%d,120230417,+12023-04-17T00:00",
+            "%Y%m%d%H%M%S,20230417123456,2023-04-17T12:34:56",
+            "%Y-%m-%dT%H:%M:%S,2023-04-17T12:34:56,2023-04-17T12:34:56",
+            "%Y-%m-%dT%H:%M:%S,12023-04-17T12:34:56,+12023-04-17T12:34:56",
+            "%Y-%m-%dT%H:%M:%S,-2023-04-17T12:34:56,-2023-04-17T12:34:56",
+            "%Y-%m-%d,0023-04-17,0023-04-17T00:00",
+            "%Y%j%H%M,20231071234,2023-04-17T12:34",
+            "%y%m%d %H%M,230417 1234,2023-04-17T12:34",
+            "%d.%m.%Y %H:%M,17.04.2023 12:34,2023-04-17T12:34",
+            "%04m%03d,0004017,1970-04-17T00:00",
+            "%a %b %d %Y,monday APRIL 17 2023,2023-04-17T00:00",
+            "%A %B %d %Y,Mon Apr 17 2023,2023-04-17T00:00",
+            "%d/%b/%Y,17/apr/2023,2023-04-17T00:00",
+            "%h %d %Y,SEPTEMBER 01 2023,2023-09-01T00:00",
+            "%B %d %Y,May 01 2023,2023-05-01T00:00",
+            "'%b %e %H:%M:%S %Y','Sep  1 12:00:00 2023',2023-09-01T12:00",
+            "%I %p,01 pm,1970-01-01T13:00",
+            "%r,01:02:03 am,1970-01-01T01:02:03",
+            "%c,mon apr 17 12:34:56 2023,2023-04-17T12:34:56",
+    })
+    public void testParse(final String format, final String text, final String expected) {
+        final PosixTm tm = PosixTimeFormat.compile(format).parse(text, new PosixTm());
+        assertTm(LocalDateTime.parse(expected), tm);
+        assertFalse(tm.hasOffset());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%Y-%m-%d,2023-04-1x,9",
+            "%Y-%m-%d,2023/04/17,4",
+            "%Y-%m-%d,2023-04-17Z,10",
+            "%Y-%m-%d,2023-04,7",
+            "%a %Y,Mox 2023,0",
+            "%Y-%m-%d,2023-13-01,0",
+            "%Y-%m-%d,2023-04-32,0",
+            "%Y %j,2023 366,0",
+            "%H:%M,24:01,0",
+            "%H:%M:%S,23:59:60,0",
+            "%a %Y-%m-%d,Tue 2023-04-17,0",
+            "%I %p,13 PM,0",
+            "%b %Y,Mayo 2023,3",
+            "%b %Y,Ma 2023,0",
+    })
+    public void testParseFailure(final String format, final String text, final int errorIndex) {
+        final DateTimeParseException exception = assertThrows(
+                DateTimeParseException.class, () -> PosixTimeFormat.compile(format).parse(text, new PosixTm()));
+        assertEquals(errorIndex, exception.getErrorIndex());
+        assertEquals(text, exception.getParsedString());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%m/%d/%Y,3/7/2023,2023-03-07T00:00",
+            "%m/%d/%Y,03/07/2023,2023-03-07T00:00",
+            "%H:%M:%S,1:2:3,1970-01-01T01:02:03",
+            "%T,1:2:3,1970-01-01T01:02:03",
+            "%D %R,4/7/23 9:05,2023-04-07T09:05",
+            "%y-%j,23-5,2023-01-05T00:00",
+            "%d.%m.%y,7.4.3,2003-04-07T00:00",
+            "%m%d,0417,1970-04-17T00:00",
+            "%m%d,47,1970-04-07T00:00",
+            "%m%d%H,04171,1970-04-17T01:00",
+            "%Y%m%d%H%M,202304171234,2023-04-17T12:34",
+            "%Y-%m-%dT%H%M,2023-4-7T0934,2023-04-07T09:34",
+            "%Y%m%d,2023035,2023-03-05T00:00",
+            "%Y%m%d,202335,2023-03-05T00:00",
+            "%Y%m%d,120230417,+12023-04-17T00:00",
+            "%C%y%m%d,2023035,2023-03-05T00:00",
+            "%Y%m%d%H%M%S,202345678,2023-04-05T06:07:08",
+            "%Y%m%d-%H,2023035-7,2023-03-05T07:00",
+            "%-m%d,417,1970-04-17T00:00",
+            "%04m-%03d,4-17,1970-04-17T00:00",
+    })
+    public void testParseWithoutLeadingZeros(final String format, final String text, final String expected) {
+        assertTm(LocalDateTime.parse(expected), PosixTimeFormat.compile(format).parse(text, new PosixTm()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'%Y-%m-%d %H:%M','2023-04-17 12:34',2023-04-17T12:34",
+            "'%Y-%m-%d %H:%M','2023-04-17  \t 12:34',2023-04-17T12:34",
+            "'%Y-%m-%d %H:%M','2023-04-1712:34',2023-04-17T12:34",
+            "'%Y-%m-%d%n%H:%M','2023-04-17\r\n12:34',2023-04-17T12:34",
+            "'%Y-%m-%d%t%H:%M','2023-04-17 12:34',2023-04-17T12:34",
+            "'%Y-%m-%d%t%H:%M','2023-04-1712:34',2023-04-17T12:34",
+            "'%b %e %H:%M:%S %Y','Apr 7 12:34:56 2023',2023-04-07T12:34:56",
+            "'%b %e %H:%M:%S %Y','Apr   7  12:34:56\t2023',2023-04-07T12:34:56",
+            "'%d %b %Y','17Apr2023',2023-04-17T00:00",
+            "'%d - %m','17\u000b-\f04',1970-04-17T00:00",
+            "'%5n%Y','\n2023',2023-01-01T00:00",
+            "'%05n%Y','0000 2023',2023-01-01T00:00",
+    })
+    public void testParseWhitespace(final String format, final String text, final String expected) {
+        final PosixTimeFormat compiled = PosixTimeFormat.compile(format);
+        assertTm(LocalDateTime.parse(expected), compiled.parse(text, new PosixTm()));
+        final byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        assertTm(LocalDateTime.parse(expected), compiled.parse(bytes, 0, bytes.length, new PosixTm()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'%Y-%m-%d %H:%M','2023-04-17 x12:34',11",
+            "'%Y-%m-%d %H:%M','2023-04-17 12:34 ',16",
+            "'%d - %m','17 04',3",
+            "'%05n%Y','000 2023',3",
+    })
+    public void testParseWhitespaceFailure(final String format, final String text, final int errorIndex) {
+        final DateTimeParseException exception = assertThrows(
+                DateTimeParseException.class, () -> PosixTimeFormat.compile(format).parse(text, new PosixTm()));
+        assertEquals(errorIndex, exception.getErrorIndex());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%Y-%m-%d,2023-02-30,STRICT,-",
+            "%Y-%m-%d,2023-02-30,SMART,2023-02-28T00:00",
+            "%Y-%m-%d,2023-02-30,LENIENT,2023-03-02T00:00",
+            "%Y-%m-%d,2023-13-01,SMART,-",
+            "%Y-%m-%d,2023-13-01,LENIENT,2024-01-01T00:00",
+            "%y-%m-%d,23-04-17,STRICT,-",
+            "%y-%m-%d,23-04-17,LENIENT,2023-04-17T00:00",
+            "%C%y-%m-%d,2023-04-17,STRICT,2023-04-17T00:00",
+            "%C %Y,19 2023,STRICT,-",
+            "%C %Y,19 2023,SMART,2023-01-01T00:00",
+            "%Y %j,2023 366,SMART,-",
+            "%Y %j,2023 366,LENIENT,2024-01-01T00:00",
+            "%Y-%m-%d %H:%M,2023-04-17 25:30,SMART,-",
+            "%Y-%m-%d %H:%M,2023-04-17 25:30,LENIENT,2023-04-18T01:30",
+            "%Y-%m-%d %H:%M:%S,2023-12-31 23:59:60,LENIENT,2024-01-01T00:00",
+            "%I:%M %p,13:00 PM,STRICT,-",
+            "%I:%M %p,13:00 PM,LENIENT,1970-01-02T01:00",
+            "%I:%M %p,12:30 AM,STRICT,1970-01-01T00:30",
+            "%Y %U %a,2023 15 Mon,SMART,2023-04-10T00:00",
+            "%Y %U %a,2023 01 Sun,STRICT,2023-01-01T00:00",
+            "%Y %U %a,2023 00 Sun,STRICT,-",
+            "%Y %W %a,2023 16 Mon,SMART,2023-04-17T00:00",
+            "%Y %W %a,2023 00 Sun,SMART,2023-01-01T00:00",
+            "%Y %U %w,2023 53 6,STRICT,-",
+            "%Y %U %w,2023 53 6,LENIENT,2024-01-06T00:00",
+            "%Y %U,2023 15,SMART,2023-01-01T00:00",
+            "%Y %U %a,2024 52 Sat,SMART,2025-01-04T00:00",
+            "%Y %U %a,2023 00 Sun,SMART,2022-12-25T00:00",
+            "%Y %U %a,2024 52 Sat,STRICT,-",
+            "%Y %U %a,2023 55 Sun,SMART,-",
+            "%Y %U %a,2023 55 Sun,LENIENT,2024-01-14T00:00",
+            "%y-%m-%d,23-02-29,SMART,-",
+            "%y-%m-%d,23-02-29,LENIENT,-",
+            "%y-%m-%d,24-02-29,SMART,2024-02-29T00:00",
+            "%C%y-%m-%d,2023-04-31,SMART,-",
+            "%Y-%m-%d %H,2023-04-05 24,SMART,2023-04-06T00:00",
+            "%Y-%m-%d %H,2023-12-31 24,SMART,2024-01-01T00:00",
+            "%Y-%m-%d %H,2023-04-05 24,STRICT,-",
+            "%Y-%m-%d %T,2023-04-05 24:00:01,SMART,-",
+    })
+    public void testParseResolverStyle(final String format, final String text, final String resolverStyle, final String expected) {
+        final PosixTimeFormat posixTimeFormat = PosixTimeFormat.compile(format).withResolverStyle(ResolverStyle.valueOf(resolverStyle));
+        if ("-".equals(expected)) {
+            assertThrows(DateTimeParseException.class, () -> posixTimeFormat.parse(text, new PosixTm()));
+        } else {
+            assertTm(LocalDateTime.parse(expected), posixTimeFormat.parse(text, new PosixTm()));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%Y %U %a,SMART",
+            "%Y %U %a,STRICT",
+            "%Y %U %a,LENIENT",
+            "%Y %W %a,SMART",
+            "%Y %W %a,STRICT",
+            "%Y %W %a,LENIENT",
+    })
+    public void testParseWeekOfYearSameAsDateTimeFormatter(final String format, final String resolverStyle) {
+        final PosixTimeFormat posixTimeFormat = PosixTimeFormat.compile(format).withResolverStyle(ResolverStyle.valueOf(resolverStyle));
+        final DateTimeFormatter formatter = posixTimeFormat.toDateTimeFormatter();
+        for (final int year : new int[] { 2021, 2022, 2023, 2024, 2025, 2026 }) {
+            for (int week = 0; week <= 56; week++) {
+                for (final String dayOfWeek : new String[] { "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat" }) {
+                    final String text = String.format("%d %02d %s", year, week, dayOfWeek);
+                    LocalDate expected;
+                    try {
+                        expected = formatter.parse(text, LocalDate::from);
+                    } catch (final DateTimeParseException ex) {
+                        expected = null;
+                    }
+                    final PosixTm tm = new PosixTm();
+                    assertEquals(expected != null, posixTimeFormat.tryParse(text, tm, new ParseResult()), text);
+                    if (expected != null) {
+                        assertTm(expected.atStartOfDay(), tm);
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%y-%m-%d,SMART",
+            "%y-%m-%d,STRICT",
+            "%y-%m-%d,LENIENT",
+            "%C%y-%m-%d,SMART",
+            "%C%y-%m-%d,STRICT",
+            "%C%y-%m-%d,LENIENT",
+            "%Y-%m-%d,SMART",
+            "%Y-%m-%d,STRICT",
+            "%Y-%m-%d,LENIENT",
+    })
+    public void testParseDateSameAsDateTimeFormatter(final String format, final String resolverStyle) {
+        final PosixTimeFormat posixTimeFormat = PosixTimeFormat.compile(format).withResolverStyle(ResolverStyle.valueOf(resolverStyle));
+        for (final int year : new int[] { 1969, 2023, 2024, 2068 }) {
+            // The month starts from 1, as Pad(Value(MonthOfYear)) of DateTimeFormatter does not parse "00".
+            for (int month = 1; month <= 13; month++) {
+                for (int day = 0; day <= 32; day++) {
+                    final String yearText = format.startsWith("%y") ? String.format("%02d", year % 100) : String.valueOf(year);
+                    assertParseSameAsDateTimeFormatter(posixTimeFormat, String.format("%s-%02d-%02d", yearText, month, day));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%Y-%m-%d %T,SMART",
+            "%Y-%m-%d %T,STRICT",
+            "%Y-%m-%d %T,LENIENT",
+            "%y-%m-%d %T,SMART",
+            "%y-%m-%d %T,LENIENT",
+    })
+    public void testParseTimeSameAsDateTimeFormatter(final String format, final String resolverStyle) {
+        final PosixTimeFormat posixTimeFormat = PosixTimeFormat.compile(format).withResolverStyle(ResolverStyle.valueOf(resolverStyle));
+        for (final String date : new String[] { "2023-04-05", "2023-02-28", "2023-12-31", "2024-02-28" }) {
+            for (final int hour : new int[] { 0, 1, 12, 23, 24, 25 }) {
+                for (final int minute : new int[] { 0, 1, 59, 60 }) {
+                    for (final int second : new int[] { 0, 1, 59, 60 }) {
+                        final String dateText = format.startsWith("%y") ? date.substring(2) : date;
+                        assertParseSameAsDateTimeFormatter(posixTimeFormat, String.format("%s %02d:%02d:%02d", dateText, hour, minute, second));
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%G-W%V-%u,2023-W16-1,2023-04-17T00:00",
+            "%G-W%V-%u,2020-W53-7,2021-01-03T00:00",
+            "%G-W%V-%u,2019-W01-1,2018-12-31T00:00",
+            "%G-W%V,2023-W16,2023-04-17T00:00",
+            "%G%V%u,2023167,2023-04-23T00:00",
+            "%g-W%V-%u,23-W16-2,2023-04-18T00:00",
+            "%G-W%V %a,2026-W53 Sun,2027-01-03T00:00",
+            "%G %V %H:%M,2023 01 12:34,2023-01-02T12:34",
+    })
+    public void testParseIsoWeekDate(final String format, final String text, final String expected) {
+        assertTm(LocalDateTime.parse(expected), PosixTimeFormat.compile(format, PosixTimeFormat.Option.GNU_EXTENSION).parse(text, new PosixTm()));
+    }
+
+    @Test
+    public void testParseIsoWeekDateFailure() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%G-W%V-%u", PosixTimeFormat.Option.GNU_EXTENSION);
+        assertThrows(DateTimeParseException.class, () -> format.parse("2023-W53-1", new PosixTm()));
+        assertThrows(DateTimeParseException.class, () -> format.parse("2023-W00-1", new PosixTm()));
+        assertThrows(DateTimeParseException.class, () -> format.parse("2023-W01-8", new PosixTm()));
+        assertTm(LocalDateTime.parse("2024-01-01T00:00"),
+                format.withResolverStyle(ResolverStyle.LENIENT).parse("2023-W53-1", new PosixTm()));
+        assertThrows(DateTimeException.class, () -> PosixTimeFormat.compile("%G-W%V-%u").parse("2023-W16-1", new PosixTm()));
+
+        for (final long epochSecond : EPOCH_SECONDS) {
+            final String formatted = format.format(epochSecond, 0, ZoneOffset.UTC);
+            assertTm(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC).toLocalDate().atStartOfDay(),
+                    format.parse(formatted, new PosixTm()));
+        }
+    }
+
+    @Test
+    public void testResolverStyle() {
+        final PosixTimeFormat smart = PosixTimeFormat.compile("%Y-%m-%d");
+        assertEquals(ResolverStyle.SMART, smart.getResolverStyle());
+        assertSame(smart, smart.withResolverStyle(ResolverStyle.SMART));
+        final PosixTimeFormat strict = smart.withResolverStyle(ResolverStyle.STRICT);
+        assertEquals(ResolverStyle.STRICT, strict.toDateTimeFormatter().getResolverStyle());
+        assertEquals(ResolverStyle.SMART, smart.getResolverStyle());
+    }
+
+    @Test
+    public void testParseOffset() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S %z", PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING);
+        final PosixTm tm = new PosixTm();
+
+        format.parse("2023-04-17 12:34:56 +0900", tm);
+        assertTm(LocalDateTime.of(2023, 4, 17, 12, 34, 56), tm);
+        assertTrue(tm.hasOffset());
+        assertEquals(9 * 3600, tm.getOffsetSeconds());
+
+        format.parse("2023-04-17 12:34:56 -03:30", tm);
+        assertEquals(-(3 * 3600 + 30 * 60), tm.getOffsetSeconds());
+
+        format.parse("2023-04-17 12:34:56 Z", tm);
+        assertTrue(tm.hasOffset());
+        assertEquals(0, tm.getOffsetSeconds());
+
+        // The target is reused, and cleared.
+        PosixTimeFormat.compile("%Y").parse("2000", tm);
+        assertFalse(tm.hasOffset());
+        assertTm(LocalDateTime.of(2000, 1, 1, 0, 0), tm);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "%Y-%m-%d %H:%M:%S",
+            "%4Y%m%d%H%M%S",
+            "%c",
+            "%Y %j %r",
+    })
+    public void testParseEpochSecond(final String format) {
+        final PosixTimeFormat posixTimeFormat = PosixTimeFormat.compile(format);
+        for (final long epochSecond : EPOCH_SECONDS) {
+            final String formatted = posixTimeFormat.format(epochSecond, 0, ZoneOffset.ofHours(9));
+            assertEquals(epochSecond, posixTimeFormat.parseEpochSecond(formatted, ZoneOffset.ofHours(9)));
+            assertEquals(epochSecond * 1000L, posixTimeFormat.parseEpochMillis(formatted, ZoneOffset.ofHours(9)));
+            assertEquals(epochSecond + 9 * 3600, posixTimeFormat.parseEpochSecond(formatted, ZoneOffset.UTC));
+        }
+    }
+
+    @Test
+    public void testParseEpochSecondWithOffset() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S %z", PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING);
+        // The parsed offset takes precedence over the default offset.
+        assertEquals(1681702496L, format.parseEpochSecond("2023-04-17 12:34:56 +0900", ZoneOffset.UTC));
+        assertEquals(1681702496000L, format.parseEpochMillis("2023-04-17 03:34:56 Z", ZoneOffset.ofHours(-5)));
+
+        assertThrows(DateTimeParseException.class, () -> format.parseEpochSecond("2023-04-17 12:34:56", ZoneOffset.UTC));
+        assertThrows(DateTimeParseException.class, () -> PosixTimeFormat.compile("%Y").parseEpochMillis("999999999", ZoneOffset.UTC));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'%b %e %H:%M:%S','Apr  7 12:34:56',2023-06-01T00:00:00,2023-04-07T12:34:56",
+            "'%b %e %H:%M:%S','Dec 31 23:59:59',2024-01-01T00:00:10,2023-12-31T23:59:59",
+            "'%b %e %H:%M:%S','Jan  1 00:00:01',2023-12-31T23:59:00,2024-01-01T00:00:01",
+            "'%b %e %H:%M:%S','Feb 29 12:00:00',2023-12-01T00:00:00,2024-02-29T12:00:00",
+            "'%m/%d','10/01',2023-04-17T00:00:00,2023-10-01T00:00",
+            "'%m/%d','10/31',2023-04-17T00:00:00,2022-10-31T00:00",
+            "'%H:%M','23:59',2023-04-17T00:01:00,2023-04-16T23:59",
+            "'%H:%M','00:01',2023-04-17T23:59:00,2023-04-18T00:01",
+            "'%H:%M','12:34',2023-04-17T06:00:00,2023-04-17T12:34",
+            "'%Y-%m-%d %H:%M','2001-02-03 04:05',2023-04-17T00:00:00,2001-02-03T04:05",
+            "'%y%m%d','010203',2023-04-17T00:00:00,2001-02-03T00:00",
+    })
+    public void testParseWithReference(final String format, final String text, final String reference, final String expected) {
+        final ParseReference parseReference = ParseReference.of(LocalDateTime.parse(reference).toEpochSecond(ZoneOffset.UTC), ZoneOffset.UTC);
+        final PosixTimeFormat posixTimeFormat = PosixTimeFormat.compile(format);
+        assertTm(LocalDateTime.parse(expected), posixTimeFormat.parse(text, parseReference, new PosixTm()));
+
+        final PosixTm tm = new PosixTm();
+        final ParseResult result = new ParseResult();
+        assertTrue(posixTimeFormat.tryParse(text, parseReference, tm, result));
+        assertTm(LocalDateTime.parse(expected), tm);
+    }
+
+    @Test
+    public void testParseWithReferenceEpochSecond() {
+        final ParseReference reference = ParseReference.of(1681702496L, ZoneOffset.ofHours(9));  // 2023-04-17T12:34:56+09:00
+        final PosixTimeFormat format = PosixTimeFormat.compile("%b %e %H:%M:%S");
+        assertEquals(1681702496L, format.parseEpochSecond("Apr 17 12:34:56", reference));
+        assertEquals(1672498800L, format.parseEpochSecond("Jan  1 00:00:00", reference));  // 2023-01-01T00:00:00+09:00
+
+        final ParseResult result = new ParseResult();
+        assertFalse(format.withResolverStyle(ResolverStyle.STRICT).tryParse("Feb 30 00:00:00", reference, new PosixTm(), result));
+        assertEquals(ParseResult.Status.INVALID, result.status());
+        assertThrows(DateTimeParseException.class, () -> format.parseEpochSecond("Apr 17 12:34", reference));
+    }
+
+    @Test
+    public void testParseRegion() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%d/%b/%Y:%H:%M:%S");
+        final String line = "127.0.0.1 - - [17/Apr/2023:12:34:56 +0900] \"GET / HTTP/1.1\" 200";
+
+        assertTm(LocalDateTime.of(2023, 4, 17, 12, 34, 56), format.parse(line, 15, 35, new PosixTm()));
+        assertEquals(1681734896L, format.parseEpochSecond(line, 15, 35, ZoneOffset.UTC));
+        assertEquals(1681734896000L, format.parseEpochMillis(line, 15, 35, ZoneOffset.UTC));
+
+        // The entire region must be parsed, and the error index is in the entire text.
+        final DateTimeParseException exception = assertThrows(
+                DateTimeParseException.class, () -> format.parse(line, 15, 36, new PosixTm()));
+        assertEquals(35, exception.getErrorIndex());
+        assertThrows(DateTimeParseException.class, () -> format.parse(line, 15, 33, new PosixTm()));
+        assertThrows(IndexOutOfBoundsException.class, () -> format.parse(line, 15, line.length() + 1, new PosixTm()));
+    }
+
+    @Test
+    public void testParsePosition() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%d/%b/%Y:%H:%M:%S");
+        final String line = "127.0.0.1 - - [17/Apr/2023:12:34:56 +0900] \"GET / HTTP/1.1\" 200";
+
+        final ParsePosition position = new ParsePosition(15);
+        assertTm(LocalDateTime.of(2023, 4, 17, 12, 34, 56), format.parse(line, position, new PosixTm()));
+        assertEquals(35, position.getIndex());
+        assertEquals(-1, position.getErrorIndex());
+
+        final ParsePosition failing = new ParsePosition(14);
+        assertThrows(DateTimeParseException.class, () -> format.parse(line, failing, new PosixTm()));
+        assertEquals(14, failing.getIndex());
+        assertEquals(14, failing.getErrorIndex());
+    }
+
+    @Test
+    public void testParseBytes() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%d/%b/%Y:%H:%M:%S");
+        final byte[] line = "127.0.0.1 - - [17/Apr/2023:12:34:56 +0900] \"GET / HTTP/1.1\" 200".getBytes(StandardCharsets.US_ASCII);
+
+        assertTm(LocalDateTime.of(2023, 4, 17, 12, 34, 56), format.parse(line, 15, 35, new PosixTm()));
+        assertEquals(1681734896L, format.parseEpochSecond(line, 15, 35, ZoneOffset.UTC));
+        assertEquals(1681734896000L, format.parseEpochMillis(line, 15, 35, ZoneOffset.UTC));
+
+        // The error index is relative to the start.
+        final DateTimeParseException exception = assertThrows(
+                DateTimeParseException.class, () -> format.parse(line, 15, 36, new PosixTm()));
+        assertEquals(20, exception.getErrorIndex());
+        assertEquals("17/Apr/2023:12:34:56 ", exception.getParsedString());
+        assertThrows(IndexOutOfBoundsException.class, () -> format.parse(line, 15, line.length + 1, new PosixTm()));
+    }
+
+    @Test
+    public void testParseByteBuffer() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%d/%b/%Y:%H:%M:%S");
+        final byte[] line = "[17/Apr/2023:12:34:56]".getBytes(StandardCharsets.US_ASCII);
+
+        final ByteBuffer heap = ByteBuffer.wrap(line, 1, 20);
+        assertTm(LocalDateTime.of(2023, 4, 17, 12, 34, 56), format.parse(heap, new PosixTm()));
+        assertEquals(1, heap.position());
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(line.length);
+        direct.put(line).position(1).limit(21);
+        assertEquals(1681734896L, format.parseEpochSecond(direct, ZoneOffset.UTC));
+        assertEquals(1681734896000L, format.parseEpochMillis(direct, ZoneOffset.UTC));
+        assertEquals(1, direct.position());
+    }
+
+    @Test
+    public void testParseUtf8Bytes() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%Y\u5e74%m\u6708%d\u65e5 %H\u6642%M\u5206");
+        final byte[] utf8 = "2023\u5e7404\u670817\u65e5 12\u664234\u5206".getBytes(StandardCharsets.UTF_8);
+        assertTm(LocalDateTime.of(2023, 4, 17, 12, 34), format.parse(utf8, 0, utf8.length, new PosixTm()));
+        assertTm(LocalDateTime.of(2023, 4, 17, 12, 34), format.parse(ByteBuffer.wrap(utf8), new PosixTm()));
+
+        final byte[] utf16 = "2023\u5e7404\u670817\u65e5 12\u664234\u5206".getBytes(StandardCharsets.UTF_16BE);
+        assertThrows(DateTimeParseException.class, () -> format.parse(utf16, 0, utf16.length, new PosixTm()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "%Y-%m-%d,2023-04-x7,MISMATCH,8,%d,6",
+            "%Y-%m-%d,2023-04-1x,TRAILING_TEXT,9,,-1",
+            "%Y-%m-%d,2023/04/17,MISMATCH,4,-,2",
+            "%a %Y,Mox 2023,MISMATCH,0,%a,0",
+            "%Y-%m-%d,2023-04-17Z,TRAILING_TEXT,10,,-1",
+            "%Y-%m-%d,2023-13-01,INVALID,0,,-1",
+            "%m%d%H%M%S,0417x,MISMATCH,4,%H,4",
+            "%Y%m%d%H%M%S,2023040506x708,MISMATCH,10,%M,8",
+            "%m%d%H%M%S,041712345x,TRAILING_TEXT,9,,-1",
+            "%Y-%m-%dT%H:%M:%S,2023-04-17T12:x3:56,MISMATCH,14,%M,12",
+    })
+    public void testTryParseFailure(
+            final String format,
+            final String text,
+            final String status,
+            final int errorIndex,
+            final String failedSpecification,
+            final int failedSpecificationIndex) {
+        final ParseResult result = new ParseResult();
+        assertFalse(PosixTimeFormat.compile(format).tryParse(text, new PosixTm(), result));
+        assertFalse(result.isSuccess());
+        assertEquals(ParseResult.Status.valueOf(status), result.status());
+        assertEquals(errorIndex, result.errorIndex());
+        assertEquals(-1, result.endIndex());
+        assertEquals(failedSpecification, result.failedSpecification());
+        assertEquals(failedSpecificationIndex, result.failedSpecificationIndex());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "'%Y-%m-%d %H:%M:%S','2023-04-17 12:34:56',true",
+            "'%Y-%m-%d %H:%M:%S','2023-4-7  1:2:3',true",
+            "'%Y-%m-%d %H:%M:%S','2023-04-17 24:00:01',false",
+            "'%Y-%m-%d %H:%M:%S','2023-02-32 12:34:56',false",
+            "'%Y-%m-%d %H:%M:%S','2023-04-17 12:34:56 ',false",
+            "'%Y-%m-%d %H:%M:%S','hello',false",
+            "'%Y-%m-%d %H:%M:%S','',false",
+            "'%Y%m%d','20230417',true",
+            "'%Y%m%d','2023041',true",
+            "'%Y%m%d','2023041x',false",
+            "'%a %Y-%m-%d','Mon 2023-04-17',true",
+            "'%a %Y-%m-%d','Tue 2023-04-17',false",
+            "'%b %e %H:%M:%S','Apr  7 12:34:56',true",
+            "'%b %e %H:%M:%S','Apx  7 12:34:56',false",
+            "'%Y\u5e74%m\u6708','2023\u5e7404\u6708',true",
+            "'%Y\u5e74%m\u6708','2023-04',false",
+    })
+    public void testMatches(final String format, final String text, final boolean expected) {
+        final PosixTimeFormat compiled = PosixTimeFormat.compile(format);
+        assertEquals(expected, compiled.matches(text));
+        assertEquals(expected, compiled.tryParse(text, new PosixTm(), new ParseResult()));
+
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected, compiled.matches(bytes, 0, bytes.length));
+        assertEquals(expected, compiled.matches(ByteBuffer.wrap(bytes)));
+
+        final byte[] padded = ("[" + text + "]").getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected, compiled.matches(padded, 1, padded.length - 1));
+    }
+
+    @Test
+    public void testMatchesNotAccepted() {
+        assertThrows(DateTimeException.class, () -> PosixTimeFormat.compile("%Y %z").matches("x"));
+    }
+
+    @Test
+    public void testTryParse() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%d/%b/%Y:%H:%M:%S");
+        final String line = "127.0.0.1 - - [17/Apr/2023:12:34:56 +0900] \"GET / HTTP/1.1\" 200";
+        final PosixTm tm = new PosixTm();
+        final ParseResult result = new ParseResult();
+
+        assertTrue(format.tryParse(line, 15, 35, tm, result));
+        assertTrue(result.isSuccess());
+        assertEquals(35, result.endIndex());
+        assertEquals(-1, result.errorIndex());
+        assertEquals(1681734896L, tm.toEpochSecond(ZoneOffset.UTC));
+
+        // The result is reused.
+        assertFalse(format.tryParse(line, 14, 35, tm, result));
+        assertEquals(ParseResult.Status.MISMATCH, result.status());
+        assertEquals(14, result.errorIndex());
+        assertEquals("%d", result.failedSpecification());
+
+        final byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        assertTrue(format.tryParse(bytes, 15, 35, tm, result));
+        assertFalse(format.tryParse(bytes, 15, 36, tm, result));
+        assertEquals(ParseResult.Status.TRAILING_TEXT, result.status());
+        assertEquals(20, result.errorIndex());
+        assertTrue(format.tryParse(ByteBuffer.wrap(bytes, 15, 20), tm, result));
+        assertTm(LocalDateTime.of(2023, 4, 17, 12, 34, 56), tm);
+
+        // A format not accepted for parsing is not about the input.
+        assertThrows(DateTimeException.class, () -> PosixTimeFormat.compile("%Y %z").tryParse("2023 +0900", tm, result));
+    }
+
+    @Test
+    public void testParseBatch() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S");
+        final CharSequence[] texts = new CharSequence[70];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = format.format(1681734896L + i, 0, ZoneOffset.UTC);
+        }
+        texts[1] = "2023-04-17 12:34:5x";
+        texts[2] = null;
+        texts[65] = "2023-13-17 12:34:56";
+        texts[66] = new StringBuilder("2023-04-17 12:34:56");
+        final long[] values = new long[70];
+        final long[] validity = { -1L, -1L };
+
+        assertEquals(67, format.parseBatch(texts, ZoneOffset.UTC, TimeUnit.MILLISECONDS, values, validity));
+        assertEquals(1681734896000L, values[0]);
+        assertEquals(0L, values[1]);
+        assertEquals(0L, values[2]);
+        assertEquals(1681734896000L + 64 * 1000L, values[64]);
+        assertEquals(1681734896000L, values[66]);
+        assertEquals(~0b110L, validity[0]);
+        assertEquals(0b1111111111111111111111111111111111111111111111111111111111111101L, validity[1]);
+
+        assertEquals(67, format.parseBatch(texts, ZoneOffset.ofHours(9), TimeUnit.SECONDS, values, validity));
+        assertEquals(1681734896L - 9 * 3600, values[0]);
+
+        assertThrows(IllegalArgumentException.class,
+                     () -> format.parseBatch(texts, ZoneOffset.UTC, TimeUnit.MINUTES, values, validity));
+        assertThrows(IllegalArgumentException.class,
+                     () -> format.parseBatch(texts, ZoneOffset.UTC, TimeUnit.SECONDS, new long[69], validity));
+        assertThrows(IllegalArgumentException.class,
+                     () -> format.parseBatch(texts, ZoneOffset.UTC, TimeUnit.SECONDS, values, new long[1]));
+    }
+
+    @Test
+    public void testParseBatchBytes() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%Y%m%d%H%M%S");
+        final byte[] bytes = "2023041712345620230417123457x99999999999999920230417123458".getBytes(StandardCharsets.US_ASCII);
+        final int[] offsets = { 0, 14, 28, 29, 44, 58 };
+        final long[] values = new long[5];
+        final long[] validity = new long[1];
+
+        assertEquals(3, format.parseBatch(bytes, offsets, 5, ZoneOffset.UTC, TimeUnit.NANOSECONDS, values, validity));
+        assertEquals(1681734896_000_000_000L, values[0]);
+        assertEquals(1681734897_000_000_000L, values[1]);
+        assertEquals(1681734898_000_000_000L, values[4]);
+        assertEquals(0b10011L, validity[0]);
+
+        // Nanoseconds from the epoch overflow after 2262.
+        final byte[] far = "99990101000000".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(0, format.parseBatch(far, new int[] { 0, 14 }, 1, ZoneOffset.UTC, TimeUnit.NANOSECONDS, values, validity));
+        assertEquals(1, format.parseBatch(far, new int[] { 0, 14 }, 1, ZoneOffset.UTC, TimeUnit.MICROSECONDS, values, validity));
+        assertEquals(253370764800_000_000L, values[0]);
+    }
+
+    @Test
+    public void testDigitRun() {
+        assertEquals(6, digitRun("%Y%m%d%H%M%S", 0).size());
+        assertEquals(11, digitRun("%Y-%m-%d %H:%M:%S", 0).size());
+        assertEquals(2, digitRun("%H%M", 0).size());
+        assertEquals(4, digitRun("%a %d %H%M", 2).size());
+        assertNull(digitRun("%a %d %H%M", 0));
+        assertNull(digitRun("%Y %b", 0));
+        assertNull(digitRun("%_d%_H", 0));
+    }
+
+    @Test
+    public void testNotAcceptedForParsing() {
+        assertThrows(DateTimeException.class, () -> PosixTimeFormat.compile("%Y %z").parse("2023 +0900", new PosixTm()));
+        assertThrows(DateTimeException.class, () -> PosixTimeFormat.compile("%F").parse("2023-04-17", new PosixTm()));
+        assertTm(LocalDateTime.of(2023, 4, 17, 0, 0),
+                 PosixTimeFormat.compile("%F", PosixTimeFormat.Option.GNU_EXTENSION).parse("2023-04-17", new PosixTm()));
+        assertTm(LocalDateTime.of(2023, 4, 17, 0, 0),
+                 PosixTimeFormat.compile("%F %Z", PosixTimeFormat.Option.GNU_EXTENSION).parse("2023-04-17 JST", new PosixTm()));
+    }
+
+    private static DigitRun digitRun(final String format, final int from) {
+        return DigitRun.of(Tokenizer.tokenize(format).toArray(new Specification[0]), from);
+    }
+
+    private static void assertParseSameAsDateTimeFormatter(final PosixTimeFormat posixTimeFormat, final String text) {
+        LocalDateTime expected;
+        try {
+            final TemporalAccessor parsed = posixTimeFormat.toDateTimeFormatter().parse(text);
+            final LocalTime time = parsed.query(TemporalQueries.localTime());
+            expected = LocalDate.from(parsed).atTime(time == null ? LocalTime.MIDNIGHT : time);
+        } catch (final DateTimeException ex) {
+            expected = null;
+        }
+        final PosixTm tm = new PosixTm();
+        assertEquals(expected != null, posixTimeFormat.tryParse(text, tm, new ParseResult()), text);
+        if (expected != null) {
+            assertTm(expected, tm);
+        }
+    }
+
+    private static void assertTm(final LocalDateTime expected, final PosixTm actual) {
+        assertEquals(expected.getYear(), actual.getYear());
+        assertEquals(expected.getMonthValue(), actual.getMonth());
+        assertEquals(expected.getDayOfMonth(), actual.getDayOfMonth());
+        assertEquals(expected.getDayOfYear(), actual.getDayOfYear());
+        assertEquals(expected.getDayOfWeek().getValue(), actual.getDayOfWeek());
+        assertEquals(expected.getHour(), actual.getHour());
+        assertEquals(expected.getMinute(), actual.getMinute());
+        assertEquals(expected.getSecond(), actual.getSecond());
+        assertEquals(expected.getNano(), actual.getNanoOfSecond());
+    }
+
+    private static final long[] EPOCH_SECONDS = {
+        -62135596800L,  // 0001-01-01T00:00:00Z
+        -2208988800L,  // 1900-01-01T00:00:00Z
+        -1L,
+        0L,
+        43199L,
+        43200L,
+        951782400L,  // 2000-02-29T00:00:00Z
+        1104537600L,
+        1230681600L,
+        1700000000L,
+        4102444799L,  // 2099-12-31T23:59:59Z
+        253402300799L,  // 9999-12-31T23:59:59Z
+    };
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class TestPosixTimeFormatSet {
+    @ParameterizedTest
+    @CsvSource({
+            "2023-04-17 12:34:56,0,2023-04-17T12:34:56",
+            "2023-04-17T12:34:56,1,2023-04-17T12:34:56",
+            "20230417123456,2,2023-04-17T12:34:56",
+            "17/Apr/2023:12:34:56,3,2023-04-17T12:34:56",
+            "'Apr 17 12:34:56 2023',4,2023-04-17T12:34:56",
+            "'Apr  7 12:34:56 2023',4,2023-04-07T12:34:56",
+            "04/17/23 12:34,5,2023-04-17T12:34",
+            "2023-04-17,6,2023-04-17T00:00",
+            "12023-04-17,6,+12023-04-17T00:00",
+            "-2023-04-17 12:34:56,0,-2023-04-17T12:34:56",
+            "12:34:56,7,1970-01-01T12:34:56",
+            "Monday 17 April 2023,8,2023-04-17T00:00",
+            "20230417,9,2023-04-17T00:00",
+    })
+    public void testParse(final String text, final int expectedIndex, final String expected) {
+        final PosixTm tm = new PosixTm();
+        assertEquals(expectedIndex, SET.parse(text, tm));
+        assertEquals(LocalDateTime.parse(expected).toString(), LocalDateTime.of(
+                tm.getYear(), tm.getMonth(), tm.getDayOfMonth(), tm.getHour(), tm.getMinute(), tm.getSecond()).toString());
+    }
+
+    @Test
+    public void testFailure() {
+        final PosixTm tm = new PosixTm();
+        assertEquals(-1, SET.tryParse("2023-04-17 12:34", tm));
+        assertEquals(-1, SET.tryParse("2023-13-17", tm));
+        assertEquals(-1, SET.tryParse("", tm));
+        assertThrows(DateTimeParseException.class, () -> SET.parse("not a timestamp", tm));
+    }
+
+    @Test
+    public void testRegion() {
+        final String line = "<13>Apr 17 12:34:56 2023 host app: message";
+        final PosixTm tm = new PosixTm();
+        assertEquals(4, SET.tryParse(line, 4, 24, tm));
+        assertEquals(17, tm.getDayOfMonth());
+        assertEquals(-1, SET.tryParse(line, 4, 25, tm));
+    }
+
+    @Test
+    public void testSameAsSequentialTries() {
+        final String[] texts = {
+            "2023-04-17 12:34:56", "2023-04-17T12:34:56", "2023-04-17", "20230417", "20230417123456", "202304171234567",
+            "17/Apr/2023:12:34:56", "17/apr/2023:12:34:56", "Apr 17 12:34:56 2023", "apr 17 12:34:56 2023",
+            "04/17/23 12:34", "12:34:56", "12:34", "1:2:3", "Mon 17 Apr 2023", "Monday 17 April 2023", "+2023-04-17",
+            "2023-4-17", "2023--04-17", "x2023-04-17", "2023-04-17x", "AprX 17 12:34:56 2023",
+            "2023-04-17\t 12:34:56", "2023-04-1712:34:56", "Apr\t 7 12:34:56  2023", "Monday  17 April 2023",
+        };
+        for (final String text : texts) {
+            int expected = -1;
+            for (int i = 0; i < SET.size(); i++) {
+                if (SET.get(i).tryParse(text, new PosixTm(), new ParseResult())) {
+                    expected = i;
+                    break;
+                }
+            }
+            assertEquals(expected, SET.tryParse(text, new PosixTm()), text);
+        }
+    }
+
+    @Test
+    public void testShape() {
+        assertShape(true, "[[+-]9{3,22}]", "%Y%m%d");
+        assertShape(true, "[[+-]9{1,18}, '-', 9{1,2}, '-', 9{1,2}, 'T', 9{1,2}, ':', 9{1,2}]", "%Y-%m-%dT%H:%M");
+        assertShape(true, "[9{1,2}, '/', a{3,9}, '/', [+-]9{1,18}]", "%d/%b/%Y");
+        assertShape(false, "[a{3,9}, s*]", "%b %e %H:%M:%S %Y");
+        assertShape(true, "[9{1,2}, ':', 9{1,2}, s*, a{3,9}]", "%H:%M %n%t%b");
+        assertShape(false, "[[+-]9{1,18}, '-', 9{1,2}, '-']", "%Y-%m-%d%n%t%H:%M");
+        assertShape(false, "[9{1,2}, s*, a{3,9}, ':', s*]", "%d %b: %H %M");
+        assertShape(false, "[]", "%a %b");
+        assertShape(false, "[]", "%m%Y");
+        assertShape(false, "[]", "%b%Z");
+        assertShape(false, "[9{1,2}, 'T']", "%HT1%M");
+    }
+
+    @Test
+    public void testTooManyFormats() {
+        final ArrayList<String> formats = new ArrayList<>();
+        for (int i = 0; i < 65; i++) {
+            formats.add("%Y-%m-%d " + i);
+        }
+        assertThrows(IllegalArgumentException.class, () -> PosixTimeFormatSet.compile(formats));
+        assertEquals(64, PosixTimeFormatSet.compile(formats.subList(0, 64)).size());
+    }
+
+    private static void assertShape(final boolean expectedComplete, final String expectedShape, final String format) {
+        final List<ShapeAutomaton.Element> shape = new ArrayList<>();
+        final boolean complete = ShapeAutomaton.shapeOf(Tokenizer.tokenize(format), shape);
+        assertEquals(expectedShape, shape.toString());
+        if (expectedComplete) {
+            assertTrue(complete);
+        } else {
+            assertFalse(complete);
+        }
+    }
+
+    private static final PosixTimeFormatSet SET = PosixTimeFormatSet.compile(Arrays.asList(
+            "%Y-%m-%d %H:%M:%S",
+            "%Y-%m-%dT%H:%M:%S",
+            "%Y%m%d%H%M%S",
+            "%d/%b/%Y:%H:%M:%S",
+            "%b %e %H:%M:%S %Y",
+            "%D %H:%M",
+            "%Y-%m-%d",
+            "%T",
+            "%A %d %B %Y",
+            "%Y%m%d"));
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestTimestampFinder {
+    @ParameterizedTest
+    @CsvSource({
+            "'%Y-%m-%d %H:%M:%S','INFO [main] 2023-04-17 12:34:56 started',12,31,2023-04-17T12:34:56",
+            "'%Y-%m-%dT%H:%M:%S','at=2023-04-17T12:34:56Z',3,22,2023-04-17T12:34:56",
+            "'%d/%b/%Y:%H:%M:%S','127.0.0.1 - - [17/Apr/2023:12:34:56 +0900] \"GET /\"',15,35,2023-04-17T12:34:56",
+            "'%b %e %H:%M:%S','<13>Apr  7 12:34:56 host sshd',4,19,1970-04-07T12:34:56",
+            "'%Y%m%d%H%M%S','id=x;ts=20230417123456;',8,22,2023-04-17T12:34:56",
+            "'[%H:%M]','[99:00] [12:34] [23:45]',8,15,1970-01-01T12:34",
+            "'%Y-%m-%d','2023-13-01 or 2023-04-17',14,24,2023-04-17T00:00",
+    })
+    public void testFind(final String format, final String text, final int start, final int end, final String expected) {
+        final TimestampMatch match = PosixTimeFormat.compile(format).find(text, 0);
+        assertEquals(start, match.start());
+        assertEquals(end, match.end());
+        assertEquals(LocalDateTime.parse(expected).toEpochSecond(ZoneOffset.UTC), match.epochSecond(ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testFindFrom() {
+        final PosixTimeFormat format = PosixTimeFormat.compile("%H:%M:%S");
+        final String text = "from 12:34:56 to 23:45:01.";
+        assertEquals(5, format.find(text, 0).start());
+        assertEquals(5, format.find(text, 5).start());
+        // Leading zeros are not required.
+        assertEquals(6, format.find(text, 6).start());
+        assertEquals(17, format.find(text, 13).start());
+        assertEquals(25, format.find(text, 13).end());
+        assertNull(format.find(text, 19));
+        assertNull(format.find(text, text.length()));
+        assertThrows(IndexOutOfBoundsException.class, () -> format.find(text, text.length() + 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> format.find(text, -1));
+    }
+
+    @Test
+    public void testNotAccepted() {
+        assertThrows(DateTimeException.class, () -> PosixTimeFormat.compile("%Y-%m-%d %z").find("no timestamp", 0));
+    }
+
+    @Test
+    public void testAnchor() {
+        assertEquals("T", anchorOf("%Y-%m-%dT%H:%M:%S"));
+        assertEquals("-", anchorOf("%Y-%m-%d %H:%M:%S"));
+        assertEquals("[", anchorOf("[%d/%b/%Y:%H:%M:%S]"));
+        assertEquals(":", anchorOf("%H:%M UTC"));
+        assertNull(anchorOf("%Y%m%d%H%M%S"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "%Y-%m-%d %H:%M:%S",
+            "%Y-%m-%dT%H:%M",
+            "%d/%b/%Y:%H:%M:%S",
+            "%b %e %H:%M:%S",
+            "%m%d %H:%M",
+            "%a, %d %b %Y",
+            "%H:%M",
+    })
+    public void testSameAsEachPosition(final String format) {
+        final PosixTimeFormat compiled = PosixTimeFormat.compile(format);
+        final Random random = new Random(format.hashCode());
+        final String[] pieces = {
+            "2023-04-17 12:34:56", "2023-4-7T9:5", "17/Apr/2023:12:34:56", "Apr  7 12:34:56", "0417 12:34", "Mon, 17 Apr 2023",
+            "12:34", "99:99", "x", " ", "-", ":", "T", "1", "Apr", "2023",
+        };
+        for (int i = 0; i < 300; i++) {
+            final StringBuilder builder = new StringBuilder();
+            for (int k = random.nextInt(6); k >= 0; k--) {
+                builder.append(pieces[random.nextInt(pieces.length)]);
+            }
+            final String text = builder.toString();
+            final int from = random.nextInt(text.length() + 1);
+
+            final TimestampMatch match = compiled.find(text, from);
+            assertEquals(firstParsed(compiled, text, from), (match == null) ? -1 : match.start(), text);
+        }
+    }
+
+    private static int firstParsed(final PosixTimeFormat format, final String text, final int from) {
+        for (int start = from; start <= text.length(); start++) {
+            try {
+                format.parse(text, new ParsePosition(start), new PosixTm());
+                return start;
+            } catch (final DateTimeParseException ex) {
+                // Not at the start.
+            }
+        }
+        return -1;
+    }
+
+    private static String anchorOf(final String format) {
+        return TimestampFinder.of(ParsePlan.of(Tokenizer.tokenize(format), Options.of())).anchor();
+    }
+}
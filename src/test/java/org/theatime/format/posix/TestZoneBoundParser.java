@@ -0,0 +1,130 @@
+/*
+ * Copyright 2025 Dai MIKURUBE
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.theatime.format.posix;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestZoneBoundParser {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "America/New_York",
+            "Europe/London",
+            "Australia/Lord_Howe",
+            "America/Sao_Paulo",
+            "Asia/Tokyo",
+            "UTC",
+    })
+    public void testSameAsZoneRules(final String zoneId) {
+        final ZoneId zone = ZoneId.of(zoneId);
+        final PosixTimeFormat format = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S");
+        final Random random = new Random(zoneId.hashCode());
+        for (final ZoneBoundParser.TransitionPolicy policy : ZoneBoundParser.TransitionPolicy.values()) {
+            final ZoneBoundParser parser = format.newZoneBoundParser(zone, policy);
+            long localSecond = 946684800L;  // 2000-01-01T00:00:00
+            for (int i = 0; i < 3000; i++) {
+                // Mostly forward in small steps, sometimes jumping back and forth.
+                localSecond += (random.nextInt(50) == 0) ? random.nextInt(100000000) - 50000000 : random.nextInt(3 * 3600);
+                final LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+                final String text = format.format(localSecond, 0, ZoneOffset.UTC);
+
+                final long expected = expectedEpochSecond(zone, localDateTime, policy);
+                final PosixTm tm = new PosixTm();
+                final ParseResult result = new ParseResult();
+                assertEquals(expected != Long.MIN_VALUE, parser.tryParse(text, tm, result), text);
+                if (expected == Long.MIN_VALUE) {
+                    assertEquals(ParseResult.Status.INVALID, result.status());
+                    assertThrows(DateTimeParseException.class, () -> parser.parseEpochSecond(text));
+                } else {
+                    assertEquals(expected, tm.toEpochSecond(ZoneOffset.UTC), text);
+                    assertEquals(zone.getRules().getOffset(Instant.ofEpochSecond(expected)).getTotalSeconds(), tm.getOffsetSeconds(), text);
+                    assertEquals(expected, parser.parseEpochSecond(text), text);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // The gap at the start of daylight saving time in New York.
+            "2023-03-12 01:59:59,EARLIER,1678604399",
+            "2023-03-12 02:30:00,EARLIER,1678602600",
+            "2023-03-12 02:30:00,LATER,1678606200",
+            "2023-03-12 03:00:00,REJECT,1678604400",
+            // The overlap at the end of daylight saving time in New York.
+            "2023-11-05 01:30:00,EARLIER,1699162200",
+            "2023-11-05 01:30:00,LATER,1699165800",
+            "2023-11-05 02:00:00,REJECT,1699167600",
+    })
+    public void testTransition(final String text, final String policy, final long expected) {
+        final ZoneBoundParser parser = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S")
+                .newZoneBoundParser(ZoneId.of("America/New_York"), ZoneBoundParser.TransitionPolicy.valueOf(policy));
+        assertEquals(expected, parser.parseEpochSecond(text));
+    }
+
+    @Test
+    public void testReject() {
+        final ZoneBoundParser parser = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S")
+                .newZoneBoundParser(ZoneId.of("America/New_York"), ZoneBoundParser.TransitionPolicy.REJECT);
+        final ParseResult result = new ParseResult();
+        assertFalse(parser.tryParse("2023-03-12 02:30:00", new PosixTm(), result));
+        assertEquals(ParseResult.Status.INVALID, result.status());
+        assertFalse(parser.tryParse("2023-11-05 01:30:00", new PosixTm(), result));
+        assertThrows(DateTimeParseException.class, () -> parser.parseEpochSecond("2023-11-05 01:59:59"));
+        assertTrue(parser.tryParse("2023-11-05 02:30:00", new PosixTm(), result));
+    }
+
+    @Test
+    public void testParsedOffset() {
+        final ZoneBoundParser parser = PosixTimeFormat.compile("%Y-%m-%d %H:%M:%S %z", PosixTimeFormat.Option.LOWERCASE_Z_FOR_PARSING)
+                .newZoneBoundParser(ZoneId.of("America/New_York"), ZoneBoundParser.TransitionPolicy.REJECT);
+        // The parsed offset takes precedence over the zone, even in a gap.
+        assertEquals(1678606200L, parser.parseEpochSecond("2023-03-12 02:30:00 -0500"));
+        final PosixTm tm = new PosixTm();
+        assertTrue(parser.tryParse("2023-04-17 12:34:56 +0900", tm, new ParseResult()));
+        assertEquals(9 * 3600, tm.getOffsetSeconds());
+    }
+
+    private static long expectedEpochSecond(final ZoneId zone, final LocalDateTime localDateTime, final ZoneBoundParser.TransitionPolicy policy) {
+        final List<ZoneOffset> validOffsets = zone.getRules().getValidOffsets(localDateTime);
+        if (validOffsets.size() == 1) {
+            return localDateTime.toEpochSecond(validOffsets.get(0));
+        }
+        if (policy == ZoneBoundParser.TransitionPolicy.REJECT) {
+            return Long.MIN_VALUE;
+        }
+        final ZoneOffsetTransition transition = zone.getRules().getTransition(localDateTime);
+        final long before = localDateTime.toEpochSecond(transition.getOffsetBefore());
+        final long after = localDateTime.toEpochSecond(transition.getOffsetAfter());
+        return (policy == ZoneBoundParser.TransitionPolicy.EARLIER) ? Math.min(before, after) : Math.max(before, after);
+    }
+}